@@ -0,0 +1,77 @@
+package com.Timbua.backend.config;
+
+import com.Timbua.backend.repository.CanonicalMaterialBatchRepository;
+import com.Timbua.backend.repository.CanonicalMaterialBatchRepository.Assignment;
+import com.Timbua.backend.repository.CanonicalMaterialBatchRepository.MaterialTable;
+import com.Timbua.backend.repository.CanonicalMaterialBatchRepository.UnassignedRow;
+import com.Timbua.backend.service.CanonicalMaterialService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Brings the canonical material taxonomy in line with its seed file, then assigns canonical
+ * material ids to rows that have none. Runs before the material site seed loader so seeded
+ * rows are matched on insert. Rows that still match nothing stay null and are retried on
+ * the next start, which picks up synonyms added to the taxonomy in the meantime.
+ */
+@Component
+@Order(0)
+public class CanonicalMaterialBackfill implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CanonicalMaterialBackfill.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private CanonicalMaterialService canonicalMaterialService;
+
+    @Autowired
+    private CanonicalMaterialBatchRepository canonicalMaterialBatchRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) {
+        canonicalMaterialService.syncTaxonomy();
+        for (MaterialTable table : MaterialTable.values()) {
+            backfill(table);
+        }
+    }
+
+    private void backfill(MaterialTable table) {
+        long afterId = 0;
+        int scanned = 0;
+        int assigned = 0;
+        List<UnassignedRow> page;
+        do {
+            page = canonicalMaterialBatchRepository.findUnassignedPage(table, afterId, BATCH_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Assignment> batch = new ArrayList<>(page.size());
+            for (UnassignedRow row : page) {
+                Long canonicalMaterialId = canonicalMaterialService.matchId(row.texts());
+                if (canonicalMaterialId != null) {
+                    batch.add(new Assignment(row.id(), canonicalMaterialId));
+                }
+            }
+            transactionTemplate.executeWithoutResult(status -> canonicalMaterialBatchRepository.assign(table, batch));
+            scanned += page.size();
+            assigned += batch.size();
+            afterId = page.get(page.size() - 1).id();
+        } while (page.size() == BATCH_SIZE);
+
+        if (scanned > 0) {
+            logger.info("Canonical materials for {}: {} of {} unassigned rows matched", table.getTable(), assigned, scanned);
+        }
+    }
+}
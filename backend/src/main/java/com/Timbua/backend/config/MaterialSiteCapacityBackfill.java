@@ -0,0 +1,61 @@
+package com.Timbua.backend.config;
+
+import com.Timbua.backend.model.MaterialSite;
+import com.Timbua.backend.repository.MaterialSiteBatchRepository;
+import com.Timbua.backend.service.CapacityParser;
+import com.Timbua.backend.service.MaterialSiteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Fills the parsed capacity columns of material sites saved before CapacityParser existed,
+ * or parsed by an older version of it. Works through the table in id order, one committed
+ * batch at a time, and does nothing once every row is on the current parser version.
+ */
+@Component
+@Order(2)
+public class MaterialSiteCapacityBackfill implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaterialSiteCapacityBackfill.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private MaterialSiteBatchRepository materialSiteBatchRepository;
+
+    @Autowired
+    private MaterialSiteService materialSiteService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(String... args) {
+        long afterId = 0;
+        int updated = 0;
+        List<MaterialSite> page;
+        do {
+            page = materialSiteBatchRepository.findCapacityBackfillPage(afterId, CapacityParser.VERSION, BATCH_SIZE);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(CapacityParser::apply);
+            List<MaterialSite> batch = page;
+            transactionTemplate.executeWithoutResult(status -> materialSiteBatchRepository.updateCapacity(batch));
+            updated += page.size();
+            afterId = page.get(page.size() - 1).getId();
+        } while (page.size() == BATCH_SIZE);
+
+        if (updated > 0) {
+            logger.info("Parsed capacity fields of {} material sites", updated);
+            materialSiteService.refreshIndexes();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.Timbua.backend.config;
+
+import com.Timbua.backend.repository.MaterialBatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gives materials saved without an updated_at their creation time, so the catalog's
+ * "updated" sort can page on the plain (updated_at, id) index. Every write path sets the
+ * column now, so this only touches rows from before that; it runs before the web server
+ * starts so no page is served while such rows remain.
+ */
+@Component
+public class MaterialUpdatedAtBackfill implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaterialUpdatedAtBackfill.class);
+
+    @Autowired
+    private MaterialBatchRepository materialBatchRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int filled = materialBatchRepository.fillMissingUpdatedAt();
+        if (filled > 0) {
+            logger.info("Filled updated_at of {} materials from their creation time", filled);
+        }
+    }
+}
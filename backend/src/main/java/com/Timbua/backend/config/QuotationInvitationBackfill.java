@@ -0,0 +1,30 @@
+package com.Timbua.backend.config;
+
+import com.Timbua.backend.repository.QuotationRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Records an invitation time for suppliers invited before those were kept, so their quotes
+ * are still timed for the scorecard. Runs before the web server starts so no quote is
+ * submitted against a missing time.
+ */
+@Component
+public class QuotationInvitationBackfill implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(QuotationInvitationBackfill.class);
+
+    @Autowired
+    private QuotationRequestRepository quotationRequestRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int filled = quotationRequestRepository.fillMissingInvitationTimes();
+        if (filled > 0) {
+            logger.info("Recorded invitation times of {} quotation request suppliers from the request creation", filled);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.Timbua.backend.config;
+
+import com.Timbua.backend.service.SupplierAvailabilityCounter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Recounts every supplier's available materials on startup. Fills the counter for suppliers
+ * saved before it existed and repairs drift from writes made outside the services, such as
+ * manual SQL. Only suppliers whose count is wrong are written.
+ */
+@Component
+@Order(3)
+public class SupplierAvailabilityReconcile implements CommandLineRunner {
+
+    @Autowired
+    private SupplierAvailabilityCounter supplierAvailabilityCounter;
+
+    @Override
+    public void run(String... args) {
+        supplierAvailabilityCounter.reconcile();
+    }
+}
@@ -0,0 +1,38 @@
+package com.Timbua.backend.config;
+
+import com.Timbua.backend.repository.SupplierScorecardRepository;
+import com.Timbua.backend.service.SupplierScorecardService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds the supplier scorecards from the existing quotes and orders the first time the
+ * application starts with them, after which they are only maintained incrementally.
+ * Response times cannot be recovered from history, so seeded scorecards start without them.
+ *
+ * Runs once all singletons exist but before the web server starts, so no live quote or
+ * delivery can create a scorecard first and make the table look already seeded. The seed
+ * itself adds onto any row it meets rather than skipping it.
+ */
+@Component
+public class SupplierScorecardBackfill implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupplierScorecardBackfill.class);
+
+    @Autowired
+    private SupplierScorecardRepository supplierScorecardRepository;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!supplierScorecardRepository.isEmpty()) {
+            return;
+        }
+        int seeded = supplierScorecardRepository.backfill(SupplierScorecardService.HISTOGRAM_SIZE);
+        if (seeded > 0) {
+            logger.info("Seeded scorecards of {} suppliers from quote and order history", seeded);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.Timbua.backend.controller;
+
+import com.Timbua.backend.dto.AutocompleteSuggestionDTO;
+import com.Timbua.backend.service.AutocompleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/autocomplete")
+@CrossOrigin(origins = "*")
+@Tag(name = "Autocomplete", description = "Typeahead completions for search boxes")
+public class AutocompleteController {
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Operation(summary = "Complete a typed prefix",
+            description = "Most popular material names, counties, sub-counties or supplier names with a word starting with the prefix")
+    @GetMapping
+    public ResponseEntity<List<AutocompleteSuggestionDTO>> complete(
+            @Parameter(description = "Field to complete: material, county, subCounty or supplier") @RequestParam String field,
+            @Parameter(description = "Text typed so far; case, accents and punctuation are ignored") @RequestParam(defaultValue = "") String prefix,
+            @Parameter(description = "Maximum number of completions (1-20)") @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(autocompleteService.complete(field, prefix, limit));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.Timbua.backend.controller;
+
+import com.Timbua.backend.ResponseModel;
+import com.Timbua.backend.dto.CanonicalMaterialMatchDTO;
+import com.Timbua.backend.dto.CanonicalMaterialUsageDTO;
+import com.Timbua.backend.model.CanonicalMaterial;
+import com.Timbua.backend.service.CanonicalMaterialService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/canonical-materials")
+@CrossOrigin(origins = "*")
+public class CanonicalMaterialController {
+
+    @Autowired
+    private CanonicalMaterialService canonicalMaterialService;
+
+    @GetMapping
+    public ResponseEntity<ResponseModel<List<CanonicalMaterial>>> taxonomy() {
+        List<CanonicalMaterial> taxonomy = canonicalMaterialService.getTaxonomy();
+        return ResponseEntity.ok(new ResponseModel<>(taxonomy, "OK", "Canonical materials"));
+    }
+
+    // Shows which canonical material a free-text name resolves to, and how confidently
+    @GetMapping("/match")
+    public ResponseEntity<ResponseModel<CanonicalMaterialMatchDTO>> match(@RequestParam String text) {
+        if (text.isBlank()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", "text must not be blank"));
+        }
+        CanonicalMaterialMatchDTO match = canonicalMaterialService.match(text);
+        return ResponseEntity.ok(new ResponseModel<>(match, "OK",
+                match.getCanonicalMaterialId() != null ? "Canonical material matched" : "No canonical material matched"));
+    }
+
+    @GetMapping("/{id}/usage")
+    public ResponseEntity<ResponseModel<CanonicalMaterialUsageDTO>> usage(@PathVariable Long id) {
+        try {
+            CanonicalMaterialUsageDTO usage = canonicalMaterialService.getUsage(id);
+            return ResponseEntity.ok(new ResponseModel<>(usage, "OK", "Canonical material usage"));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ResponseModel<>(null, "NOT_FOUND", ex.getMessage()));
+        }
+    }
+}
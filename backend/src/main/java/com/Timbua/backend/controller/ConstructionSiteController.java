@@ -1,5 +1,6 @@
 package com.Timbua.backend.controller;
 
+import com.Timbua.backend.dto.NearbyMaterialsDTO;
 import com.Timbua.backend.model.ConstructionSite;
 import com.Timbua.backend.service.ConstructionSiteService;
 import org.springframework.http.ResponseEntity;
@@ -49,6 +50,22 @@ public class ConstructionSiteController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    // Material sites and supplier materials around a site, sorted by distance
+    @GetMapping("/{id}/nearby-materials")
+    public ResponseEntity<NearbyMaterialsDTO> getNearbyMaterials(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "25") double radiusKm,
+            @RequestParam(required = false) String material,
+            @RequestParam(defaultValue = "true") boolean availableOnly) {
+        try {
+            return service.findNearbyMaterials(id, radiusKm, material, availableOnly)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     // Update site
     @PutMapping("/{id}")
     public ResponseEntity<ConstructionSite> updateSite(@PathVariable Long id, @RequestBody ConstructionSite site) {
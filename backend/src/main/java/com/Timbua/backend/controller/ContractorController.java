@@ -2,6 +2,7 @@ package com.Timbua.backend.controller;
 
 import com.Timbua.backend.dto.ContractorRequestDTO;
 import com.Timbua.backend.dto.ContractorResponseDTO;
+import com.Timbua.backend.dto.DeltaDTO;
 import com.Timbua.backend.model.Contractor;
 import com.Timbua.backend.model.ContractorDocument;
 import com.Timbua.backend.service.ContractorService;
@@ -9,6 +10,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -60,11 +62,26 @@ public class ContractorController {
 
     // === Standard CRUD ===
     @GetMapping
-    @Operation(summary = "Get all contractors", description = "Get list of all contractors")
-    public ResponseEntity<List<ContractorResponseDTO>> getAllContractors() {
+    @Operation(summary = "Get all contractors", description = "Get list of all contractors; honours If-None-Match with 304")
+    public ResponseEntity<List<ContractorResponseDTO>> getAllContractors(WebRequest request) {
+        // Read before the data, so the ETag never claims a newer list than the body holds
+        String version = contractorService.getContractorsVersion();
+        if (request.checkNotModified(version)) {
+            return null;
+        }
         return ResponseEntity.ok(contractorService.getAllContractors());
     }
 
+    @GetMapping(params = "since")
+    @Operation(summary = "Get contractor changes", description = "Contractors created, updated or deleted since the token of an earlier response")
+    public ResponseEntity<DeltaDTO<ContractorResponseDTO>> getContractorsSince(@RequestParam String since) {
+        try {
+            return ResponseEntity.ok(contractorService.getContractorsSince(since));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/status/{status}")
     @Operation(summary = "Get contractors by status", description = "Get contractors filtered by verification status")
     public ResponseEntity<List<ContractorResponseDTO>> getContractorsByStatus(@PathVariable Contractor.Status status) {
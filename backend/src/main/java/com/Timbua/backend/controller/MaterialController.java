@@ -1,13 +1,24 @@
 package com.Timbua.backend.controller;
 
 import com.Timbua.backend.ResponseModel;
+import com.Timbua.backend.dto.CacheStatsDTO;
+import com.Timbua.backend.dto.CursorPageDTO;
+import com.Timbua.backend.dto.DeltaDTO;
+import com.Timbua.backend.dto.MaterialBatchUpdateResultDTO;
+import com.Timbua.backend.dto.MaterialPatchDTO;
+import com.Timbua.backend.dto.MaterialSummaryDTO;
+import com.Timbua.backend.dto.NearbyMaterialDTO;
+import com.Timbua.backend.dto.PricePointDTO;
 import com.Timbua.backend.model.Material;
 import com.Timbua.backend.service.MaterialService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.http.HttpStatus;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -34,17 +45,152 @@ public class MaterialController {
     }
 
     @GetMapping
-    public ResponseEntity<ResponseModel<List<Material>>> allMaterials() {
+    public ResponseEntity<ResponseModel<List<Material>>> allMaterials(WebRequest request) {
+        // Read before the data, so the ETag never claims a newer list than the body holds
+        String version = materialService.getMaterialsVersion();
+        if (request.checkNotModified(version)) {
+            return null;
+        }
         List<Material> list = materialService.getAllMaterials();
         return ResponseEntity.ok(new ResponseModel<>(list, "OK", "All materials"));
     }
 
+    // Incremental sync: listings created, updated or deleted since the token of an earlier response
+    @GetMapping(params = {"since", "!limit"})
+    public ResponseEntity<ResponseModel<DeltaDTO<Material>>> materialsSince(@RequestParam String since) {
+        try {
+            DeltaDTO<Material> delta = materialService.getMaterialsSince(since);
+            return ResponseEntity.ok(new ResponseModel<>(delta, "OK", "Material changes"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        }
+    }
+
+    // Keyset-paginated catalog, used whenever a page size is given
+    @GetMapping(params = "limit")
+    public ResponseEntity<ResponseModel<CursorPageDTO<MaterialSummaryDTO>>> catalogPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) String unit,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice) {
+        try {
+            CursorPageDTO<MaterialSummaryDTO> page = materialService.getCatalogPage(category, available, unit,
+                    minPrice, maxPrice, sort, cursor, limit);
+            return ResponseEntity.ok(new ResponseModel<>(page, "OK", "Materials page"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/cheapest")
+    public ResponseEntity<ResponseModel<List<MaterialSummaryDTO>>> cheapestOffers(
+            @RequestParam String category,
+            @RequestParam(required = false) String currency,
+            @RequestParam(required = false) String unit,
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<MaterialSummaryDTO> offers = materialService.getCheapestOffers(category, currency, unit, limit);
+            return ResponseEntity.ok(new ResponseModel<>(offers, "OK", "Cheapest offers"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        }
+    }
+
+    // priceWeight 0 orders by distance, 1 by price, anything between blends the two
+    @GetMapping("/nearby")
+    public ResponseEntity<ResponseModel<List<NearbyMaterialDTO>>> nearbyMaterials(
+            @RequestParam double lat,
+            @RequestParam double lng,
+            @RequestParam(defaultValue = "25") double radiusKm,
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "true") boolean availableOnly,
+            @RequestParam(defaultValue = "0") double priceWeight,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            List<NearbyMaterialDTO> nearby = materialService.findNearbyMaterials(lat, lng, radiusKm, category,
+                    availableOnly, priceWeight, limit);
+            return ResponseEntity.ok(new ResponseModel<>(nearby, "OK", "Nearby materials"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/price-history")
+    public ResponseEntity<ResponseModel<List<PricePointDTO>>> priceHistory(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "day") String bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<PricePointDTO> series = materialService.getPriceHistory(id, bucket, from, to);
+            return ResponseEntity.ok(new ResponseModel<>(series, "OK", "Material price history"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        }
+    }
+
+    // Served from the daily rollup, one series per currency
+    @GetMapping("/price-trend")
+    public ResponseEntity<ResponseModel<List<PricePointDTO>>> priceTrend(
+            @RequestParam String category,
+            @RequestParam(required = false) String county,
+            @RequestParam(required = false) String currency,
+            @RequestParam(defaultValue = "week") String bucket,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            List<PricePointDTO> trend = materialService.getPriceTrend(category, county, currency, bucket, from, to);
+            return ResponseEntity.ok(new ResponseModel<>(trend, "OK", "Category price trend"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        }
+    }
+
     @GetMapping("/supplier/{supplierId}")
     public ResponseEntity<ResponseModel<List<Material>>> materialsBySupplier(@PathVariable Long supplierId) {
         List<Material> list = materialService.getMaterialsBySupplier(supplierId);
         return ResponseEntity.ok(new ResponseModel<>(list, "OK", "Supplier materials"));
     }
 
+    @GetMapping("/category/{category}")
+    public ResponseEntity<ResponseModel<List<Material>>> materialsByCategory(@PathVariable String category) {
+        List<Material> list = materialService.getMaterialsByCategory(category);
+        return ResponseEntity.ok(new ResponseModel<>(list, "OK", "Category materials"));
+    }
+
+    // Hit/miss/eviction counters of the material list cache, for sizing it
+    @GetMapping("/cache-stats")
+    public ResponseEntity<ResponseModel<CacheStatsDTO>> cacheStats() {
+        return ResponseEntity.ok(new ResponseModel<>(materialService.getCacheStats(), "OK", "Material cache statistics"));
+    }
+
+    // Bulk stock and price refresh for one supplier's catalog, applied in a single transaction.
+    // Every patch needs expectedUpdatedAt (400 when missing); stale ones come back as conflicts
+    @PatchMapping("/supplier/{supplierId}/batch")
+    public ResponseEntity<ResponseModel<MaterialBatchUpdateResultDTO>> patchMaterials(@PathVariable Long supplierId,
+                                                                                      @RequestBody List<MaterialPatchDTO> patches) {
+        try {
+            MaterialBatchUpdateResultDTO result = materialService.patchMaterials(supplierId, patches);
+            return ResponseEntity.ok(new ResponseModel<>(result, "UPDATED", "Material patches applied"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ResponseModel<>(null, "NOT_FOUND", ex.getMessage()));
+        }
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ResponseModel<Material>> updateMaterial(@PathVariable Long id, @RequestBody Material material) {
         try {
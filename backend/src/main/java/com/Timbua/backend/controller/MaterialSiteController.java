@@ -1,16 +1,32 @@
 package com.Timbua.backend.controller;
 
+import com.Timbua.backend.dto.DeltaDTO;
+import com.Timbua.backend.dto.DistanceResultDTO;
+import com.Timbua.backend.dto.IngestReportDTO;
+import com.Timbua.backend.dto.MaterialSiteClusterDTO;
+import com.Timbua.backend.dto.MaterialSiteFacetsDTO;
+import com.Timbua.backend.dto.MaterialSiteFilterResultDTO;
+import com.Timbua.backend.dto.PagedResponseDTO;
 import com.Timbua.backend.model.MaterialSite;
+import com.Timbua.backend.service.MaterialSiteExportService;
+import com.Timbua.backend.service.MaterialSiteIngestService;
 import com.Timbua.backend.service.MaterialSiteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/material-sites")
@@ -21,13 +37,62 @@ public class MaterialSiteController {
     @Autowired
     private MaterialSiteService materialSiteService;
 
-    @Operation(summary = "Get all material sites", description = "Retrieve a list of all construction material sites with their details")
+    @Autowired
+    private MaterialSiteIngestService materialSiteIngestService;
+
+    @Autowired
+    private MaterialSiteExportService materialSiteExportService;
+
+    @Operation(summary = "Get all material sites", description = "Retrieve a list of all construction material sites with their details; honours If-None-Match with 304")
     @GetMapping
-    public ResponseEntity<List<MaterialSite>> getAllMaterialSites() {
+    public ResponseEntity<List<MaterialSite>> getAllMaterialSites(WebRequest request) {
+        // Read before the data, so the ETag never claims a newer list than the body holds
+        String version = materialSiteService.getMaterialSitesVersion();
+        if (request.checkNotModified(version)) {
+            return null;
+        }
         List<MaterialSite> materialSites = materialSiteService.getAllMaterialSites();
         return ResponseEntity.ok(materialSites);
     }
 
+    @Operation(summary = "Get material site changes", description = "Material sites created, updated or deleted since the token of an earlier response")
+    @GetMapping(params = "since")
+    public ResponseEntity<DeltaDTO<MaterialSite>> getMaterialSitesSince(
+            @Parameter(description = "Token from the previous full or delta response") @RequestParam String since) {
+        try {
+            return ResponseEntity.ok(materialSiteService.getMaterialSitesSince(since));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Export all material sites", description = "Stream the full dataset as CSV, NDJSON or a GeoJSON FeatureCollection, optionally gzip-compressed")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportMaterialSites(
+            @Parameter(description = "Export format: csv, ndjson or geojson") @RequestParam(defaultValue = "csv") String format,
+            @Parameter(description = "Compress the download with gzip") @RequestParam(defaultValue = "false") boolean gzip) {
+        MaterialSiteExportService.Format exportFormat;
+        try {
+            exportFormat = MaterialSiteExportService.Format.of(format);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        String fileName = "material-sites." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out, 8192);
+                materialSiteExportService.export(exportFormat, compressed);
+                compressed.finish();
+            } else {
+                materialSiteExportService.export(exportFormat, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
     @Operation(summary = "Get material site by ID", description = "Retrieve a specific material site by its unique ID")
     @GetMapping("/{id}")
     public ResponseEntity<MaterialSite> getMaterialSiteById(
@@ -53,6 +118,22 @@ public class MaterialSiteController {
         return ResponseEntity.ok(savedMaterialSites);
     }
 
+    @Operation(summary = "Bulk ingest material sites", description = "Stream a CSV (with header row) or NDJSON upload into the database in committed chunks, returning per-row errors and throughput")
+    @PostMapping("/ingest")
+    public ResponseEntity<IngestReportDTO> ingestMaterialSites(
+            @Parameter(description = "Upload format: csv or ndjson. Defaults to the request content type") @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream body) {
+        MaterialSiteIngestService.Format resolved;
+        try {
+            resolved = MaterialSiteIngestService.resolveFormat(format, contentType);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+        IngestReportDTO report = materialSiteIngestService.ingest(body, resolved);
+        return ResponseEntity.ok(report);
+    }
+
     @Operation(summary = "Update material site", description = "Update an existing material site's information")
     @PutMapping("/{id}")
     public ResponseEntity<MaterialSite> updateMaterialSite(
@@ -77,6 +158,89 @@ public class MaterialSiteController {
         return ResponseEntity.ok().build();
     }
 
+    @Operation(summary = "Find nearest material sites", description = "Retrieve the k material sites closest to a point, optionally filtered by material type, ordered by distance")
+    @GetMapping("/nearby")
+    public ResponseEntity<List<DistanceResultDTO<MaterialSite>>> getNearbyMaterialSites(
+            @Parameter(description = "Latitude of the query point") @RequestParam double lat,
+            @Parameter(description = "Longitude of the query point") @RequestParam double lng,
+            @Parameter(description = "Number of sites to return (1-100)") @RequestParam(defaultValue = "10") int k,
+            @Parameter(description = "Optional material type to filter by") @RequestParam(required = false) String material) {
+        try {
+            List<DistanceResultDTO<MaterialSite>> nearby = materialSiteService.findNearestMaterialSites(lat, lng, k, material);
+            return ResponseEntity.ok(nearby);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Map clusters", description = "Pre-aggregated marker clusters (count, centroid, dominant material) for the visible map area at a zoom level")
+    @GetMapping("/clusters")
+    public ResponseEntity<List<MaterialSiteClusterDTO>> getClusters(
+            @Parameter(description = "Visible area as minLng,minLat,maxLng,maxLat", example = "39.5,-4.2,39.9,-3.8") @RequestParam String bbox,
+            @Parameter(description = "Map zoom level (0-16, higher levels use 16)") @RequestParam int zoom) {
+        try {
+            List<MaterialSiteClusterDTO> clusters = materialSiteService.getClusters(bbox, zoom);
+            return ResponseEntity.ok(clusters);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Full-text search", description = "Ranked, typo-tolerant search across material, location, owner, county and sub-county")
+    @GetMapping("/search")
+    public ResponseEntity<PagedResponseDTO<MaterialSite>> searchMaterialSites(
+            @Parameter(description = "Free-text query, e.g. 'timber kisauni'") @RequestParam String q,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        try {
+            PagedResponseDTO<MaterialSite> results = materialSiteService.searchMaterialSites(q, page, size);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Combined facet filter", description = "Filter by any combination of material, county, sub-county, industry size and owner (repeat a parameter to match any of several values) and get facet counts for the remaining values")
+    @GetMapping("/filter")
+    public ResponseEntity<MaterialSiteFilterResultDTO> filterMaterialSites(
+            @Parameter(description = "Material types") @RequestParam(required = false) List<String> material,
+            @Parameter(description = "Counties") @RequestParam(required = false) List<String> county,
+            @Parameter(description = "Sub-counties") @RequestParam(required = false) List<String> subCounty,
+            @Parameter(description = "Industry sizes, e.g. Small industry") @RequestParam(required = false) List<String> sizeOfManufacturingIndustry,
+            @Parameter(description = "Owners, e.g. Community") @RequestParam(required = false) List<String> ownerOfMaterial,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        try {
+            MaterialSiteFilterResultDTO result = materialSiteService.filterMaterialSites(material, county, subCounty,
+                    sizeOfManufacturingIndustry, ownerOfMaterial, page, size);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(summary = "Search by capacity", description = "Find material sites by parsed daily volume, head count and years in operation ranges")
+    @GetMapping("/search/capacity")
+    public ResponseEntity<PagedResponseDTO<MaterialSite>> searchByCapacity(
+            @Parameter(description = "Minimum daily volume the site can reach") @RequestParam(required = false) Double minDailyVolume,
+            @Parameter(description = "Maximum daily volume") @RequestParam(required = false) Double maxDailyVolume,
+            @Parameter(description = "Volume unit: tonnes, units, bags, litres or lorries") @RequestParam(required = false) String unit,
+            @Parameter(description = "Minimum number of people employed") @RequestParam(required = false) Integer minEmployees,
+            @Parameter(description = "Maximum number of people employed") @RequestParam(required = false) Integer maxEmployees,
+            @Parameter(description = "Minimum years in operation") @RequestParam(required = false) Integer minYears,
+            @Parameter(description = "Maximum years in operation") @RequestParam(required = false) Integer maxYears,
+            @Parameter(description = "Optional material type to filter by") @RequestParam(required = false) String material,
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (1-100)") @RequestParam(defaultValue = "20") int size) {
+        try {
+            PagedResponseDTO<MaterialSite> results = materialSiteService.searchByCapacity(minDailyVolume, maxDailyVolume,
+                    unit, minEmployees, maxEmployees, minYears, maxYears, material, page, size);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Search by material", description = "Find material sites by material type (e.g., sand, bricks, cement)")
     @GetMapping("/search/material")
     public ResponseEntity<List<MaterialSite>> getMaterialSitesByMaterial(
@@ -161,4 +325,11 @@ public class MaterialSiteController {
         List<String> subCounties = materialSiteService.getSubCountiesByCounty(county);
         return ResponseEntity.ok(subCounties);
     }
+
+    @Operation(summary = "Get facet counts", description = "Retrieve distinct materials, locations, counties and sub-counties with site counts, plus the county to sub-county tree, in one call")
+    @GetMapping("/facets")
+    public ResponseEntity<MaterialSiteFacetsDTO> getFacets() {
+        MaterialSiteFacetsDTO facets = materialSiteService.getFacets();
+        return ResponseEntity.ok(facets);
+    }
 }
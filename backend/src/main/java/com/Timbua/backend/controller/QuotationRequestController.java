@@ -1,7 +1,9 @@
 package com.Timbua.backend.controller;
 
+import com.Timbua.backend.dto.SupplierRecommendationDTO;
 import com.Timbua.backend.model.QuotationRequest;
 import com.Timbua.backend.service.QuotationRequestService;
+import com.Timbua.backend.service.SupplierRecommendationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -21,9 +23,12 @@ import java.util.List;
 public class QuotationRequestController {
 
     private final QuotationRequestService quotationRequestService;
+    private final SupplierRecommendationService supplierRecommendationService;
 
-    public QuotationRequestController(QuotationRequestService quotationRequestService) {
+    public QuotationRequestController(QuotationRequestService quotationRequestService,
+                                      SupplierRecommendationService supplierRecommendationService) {
         this.quotationRequestService = quotationRequestService;
+        this.supplierRecommendationService = supplierRecommendationService;
     }
 
     // Create quotation request for specific suppliers
@@ -105,6 +110,59 @@ public class QuotationRequestController {
         return ResponseEntity.ok(quotationRequestService.getAllRequests());
     }
 
+    // Suggest suppliers to invite before the request is created
+    @GetMapping("/recommend-suppliers")
+    @Operation(
+            summary = "Recommend suppliers for a quotation request",
+            description = """
+            Ranks suppliers to invite for a material, best first, each with its best matching listing.
+            
+            **Score (0 to 1) blends:**
+            - Catalog match of the listing's name, category and canonical material
+            - Distance from the construction site to the supplier
+            - Price among the matching listings in the requested unit
+            - Listing rating
+            - The supplier's historical quote win rate
+            
+            Listings whose minimum order exceeds the quantity are left out, as are suspended and
+            rejected suppliers. Served from the in-memory catalog indexes.
+            """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recommended suppliers, best first",
+                    content = @Content(schema = @Schema(implementation = SupplierRecommendationDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Missing material or invalid quantity or limit"
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Construction site not found"
+            )
+    })
+    public ResponseEntity<List<SupplierRecommendationDTO>> recommendSuppliers(
+            @Parameter(description = "Material requested", example = "Portland Cement", required = true)
+            @RequestParam String material,
+            @Parameter(description = "Quantity needed", example = "100")
+            @RequestParam(required = false) Double quantity,
+            @Parameter(description = "Unit of the quantity", example = "BAGS")
+            @RequestParam(required = false) String unit,
+            @Parameter(description = "Construction site the material is for", example = "1")
+            @RequestParam(required = false) Long siteId,
+            @Parameter(description = "Maximum number of suppliers (1-50)", example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            return ResponseEntity.ok(supplierRecommendationService.recommendSuppliers(material, quantity, unit, siteId, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (SupplierRecommendationService.SiteNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     // Get requests by contractor
     @GetMapping("/contractor/{contractorId}")
     @Operation(
@@ -1,16 +1,23 @@
 package com.Timbua.backend.controller;
 
 import com.Timbua.backend.ResponseModel;
+import com.Timbua.backend.dto.DeltaDTO;
+import com.Timbua.backend.dto.PagedResponseDTO;
+import com.Timbua.backend.dto.PriceListImportReportDTO;
 import com.Timbua.backend.dto.SupplierRequestDTO;
 import com.Timbua.backend.dto.SupplierResponseDTO;
+import com.Timbua.backend.dto.SupplierScorecardDTO;
 import com.Timbua.backend.model.Material;
 import com.Timbua.backend.model.Supplier;
 import com.Timbua.backend.model.SupplierDocument;
+import com.Timbua.backend.service.PriceListImportService;
+import com.Timbua.backend.service.SupplierScorecardService;
 import com.Timbua.backend.service.SupplierService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
@@ -26,11 +33,16 @@ import java.util.UUID;
 public class SupplierController {
 
     private final SupplierService supplierService;
+    private final PriceListImportService priceListImportService;
+    private final SupplierScorecardService scorecardService;
     private final String uploadDir = "uploads"; // not yet existing
 
     @Autowired
-    public SupplierController(SupplierService supplierService) {
+    public SupplierController(SupplierService supplierService, PriceListImportService priceListImportService,
+                              SupplierScorecardService scorecardService) {
         this.supplierService = supplierService;
+        this.priceListImportService = priceListImportService;
+        this.scorecardService = scorecardService;
         try {
             Path p = Paths.get(uploadDir);
             if (!Files.exists(p)) Files.createDirectories(p);
@@ -74,17 +86,111 @@ public class SupplierController {
     }
 
     @GetMapping
-    public ResponseEntity<ResponseModel<List<SupplierResponseDTO>>> allSuppliers() {
+    public ResponseEntity<ResponseModel<List<SupplierResponseDTO>>> allSuppliers(WebRequest request) {
+        // Read before the data, so the ETag never claims a newer list than the body holds
+        String version = supplierService.getSuppliersVersion();
+        if (request.checkNotModified(version)) {
+            return null;
+        }
         List<SupplierResponseDTO> list = supplierService.getAllSuppliers();
         return ResponseEntity.ok(new ResponseModel<>(list, "OK", "All suppliers"));
     }
 
+    // Incremental sync: suppliers created, updated or deleted since the token of an earlier response
+    @GetMapping(params = "since")
+    public ResponseEntity<ResponseModel<DeltaDTO<SupplierResponseDTO>>> suppliersSince(@RequestParam String since) {
+        try {
+            DeltaDTO<SupplierResponseDTO> delta = supplierService.getSuppliersSince(since);
+            return ResponseEntity.ok(new ResponseModel<>(delta, "OK", "Supplier changes"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        }
+    }
+
+    // Paged replacement for scanning every supplier's catalog for a category
+    @GetMapping("/by-category")
+    public ResponseEntity<ResponseModel<PagedResponseDTO<SupplierResponseDTO>>> suppliersByCategory(
+            @RequestParam String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            PagedResponseDTO<SupplierResponseDTO> suppliers = supplierService.getSuppliersByMaterialCategory(category, page, size);
+            return ResponseEntity.ok(new ResponseModel<>(suppliers, "OK", "Suppliers by material category"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        }
+    }
+
+    // Suppliers with at least one available listing, optionally counted per category
+    @GetMapping("/with-available-materials")
+    public ResponseEntity<ResponseModel<PagedResponseDTO<SupplierResponseDTO>>> suppliersWithAvailableMaterials(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean breakdown) {
+        try {
+            PagedResponseDTO<SupplierResponseDTO> suppliers =
+                    supplierService.getSuppliersWithAvailableMaterials(page, size, breakdown);
+            return ResponseEntity.ok(new ResponseModel<>(suppliers, "OK", "Suppliers with available materials"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        }
+    }
+
+    // Paged, filterable supplier directory
+    @GetMapping("/directory")
+    public ResponseEntity<ResponseModel<PagedResponseDTO<SupplierResponseDTO>>> supplierDirectory(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Boolean verified,
+            @RequestParam(required = false) Integer minYears,
+            @RequestParam(required = false) Integer maxYears,
+            @RequestParam(defaultValue = "name") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            PagedResponseDTO<SupplierResponseDTO> suppliers =
+                    supplierService.getSupplierDirectory(status, verified, minYears, maxYears, sort, page, size);
+            return ResponseEntity.ok(new ResponseModel<>(suppliers, "OK", "Supplier directory"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        }
+    }
+
     @GetMapping("/verified")
     public ResponseEntity<ResponseModel<List<SupplierResponseDTO>>> verifiedSuppliers() {
         List<SupplierResponseDTO> list = supplierService.getVerifiedSuppliers();
         return ResponseEntity.ok(new ResponseModel<>(list, "OK", "Verified suppliers"));
     }
 
+    // Suppliers ranked by win_rate, response_rate, on_time or response_time
+    @GetMapping("/scorecards/leaderboard")
+    public ResponseEntity<ResponseModel<List<SupplierScorecardDTO>>> scorecardLeaderboard(
+            @RequestParam(defaultValue = "win_rate") String metric,
+            @RequestParam(defaultValue = "5") int minSamples,
+            @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<SupplierScorecardDTO> leaderboard = scorecardService.getLeaderboard(metric, minSamples, limit);
+            return ResponseEntity.ok(new ResponseModel<>(leaderboard, "OK", "Supplier leaderboard"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_QUERY", ex.getMessage()));
+        }
+    }
+
+    @GetMapping("/{id}/scorecard")
+    public ResponseEntity<ResponseModel<SupplierScorecardDTO>> getScorecard(@PathVariable Long id) {
+        try {
+            SupplierScorecardDTO scorecard = scorecardService.getScorecard(id);
+            return ResponseEntity.ok(new ResponseModel<>(scorecard, "OK", "Supplier scorecard"));
+        } catch (RuntimeException ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ResponseModel<>(null, "NOT_FOUND", ex.getMessage()));
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ResponseModel<SupplierResponseDTO>> getSupplier(@PathVariable Long id) {
         try {
@@ -189,6 +295,33 @@ public class SupplierController {
         }
     }
 
+    // Bulk create/update from a CSV price list; only rows that differ from the catalog are written
+    @PostMapping("/{supplierId}/materials/price-list")
+    public ResponseEntity<ResponseModel<PriceListImportReportDTO>> uploadPriceList(
+            @PathVariable Long supplierId,
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean deactivateMissing) {
+        try {
+            if (file.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(new ResponseModel<>(null, "NO_FILE", "Uploaded file is empty"));
+            }
+            PriceListImportService.checkFormat(file.getOriginalFilename(), file.getContentType());
+            PriceListImportReportDTO report = priceListImportService.importPriceList(supplierId,
+                    file.getInputStream(), deactivateMissing);
+            return ResponseEntity.ok(new ResponseModel<>(report, "PRICE_LIST_APPLIED", "Price list applied"));
+        } catch (IllegalArgumentException ex) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ResponseModel<>(null, "INVALID_PRICE_LIST", ex.getMessage()));
+        } catch (IOException ex) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ResponseModel<>(null, "ERROR", "Failed to read uploaded file"));
+        } catch (Exception ex) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(new ResponseModel<>(null, "NOT_FOUND", ex.getMessage()));
+        }
+    }
+
     @GetMapping("/{supplierId}/materials")
     public ResponseEntity<ResponseModel<List<Material>>> getSupplierMaterials(@PathVariable Long supplierId) {
         try {
@@ -0,0 +1,26 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Typeahead completion with its popularity")
+public class AutocompleteSuggestionDTO {
+
+    @Schema(description = "Completed value as first entered", example = "Building stones")
+    private String value;
+
+    @Schema(description = "Number of records carrying the value; for suppliers one plus their catalog listings", example = "42")
+    private int popularity;
+
+    public AutocompleteSuggestionDTO() {}
+
+    public AutocompleteSuggestionDTO(String value, int popularity) {
+        this.value = value;
+        this.popularity = popularity;
+    }
+
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+
+    public int getPopularity() { return popularity; }
+    public void setPopularity(int popularity) { this.popularity = popularity; }
+}
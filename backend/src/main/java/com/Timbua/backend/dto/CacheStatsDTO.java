@@ -0,0 +1,63 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Hit, miss and eviction counters of an in-memory cache since startup")
+public class CacheStatsDTO {
+
+    @Schema(description = "Lookups answered from the cache", example = "1520")
+    private long hitCount;
+
+    @Schema(description = "Lookups that had to go to the database", example = "38")
+    private long missCount;
+
+    @Schema(description = "Hits as a fraction of all lookups", example = "0.9756")
+    private double hitRate;
+
+    @Schema(description = "Entries evicted to stay within the size bound or because they expired", example = "4")
+    private long evictionCount;
+
+    @Schema(description = "Total weight (listings) of the evicted entries", example = "830")
+    private long evictionWeight;
+
+    @Schema(description = "Average time spent loading a missed entry, in milliseconds", example = "12.4")
+    private double averageLoadMs;
+
+    @Schema(description = "Number of cached entries", example = "21")
+    private long entries;
+
+    @Schema(description = "Number of listings held across all entries", example = "6480")
+    private long weightedSize;
+
+    @Schema(description = "Maximum number of listings the cache holds before evicting", example = "50000")
+    private long maximumWeight;
+
+    public CacheStatsDTO() {}
+
+    public long getHitCount() { return hitCount; }
+    public void setHitCount(long hitCount) { this.hitCount = hitCount; }
+
+    public long getMissCount() { return missCount; }
+    public void setMissCount(long missCount) { this.missCount = missCount; }
+
+    public double getHitRate() { return hitRate; }
+    public void setHitRate(double hitRate) { this.hitRate = hitRate; }
+
+    public long getEvictionCount() { return evictionCount; }
+    public void setEvictionCount(long evictionCount) { this.evictionCount = evictionCount; }
+
+    public long getEvictionWeight() { return evictionWeight; }
+    public void setEvictionWeight(long evictionWeight) { this.evictionWeight = evictionWeight; }
+
+    public double getAverageLoadMs() { return averageLoadMs; }
+    public void setAverageLoadMs(double averageLoadMs) { this.averageLoadMs = averageLoadMs; }
+
+    public long getEntries() { return entries; }
+    public void setEntries(long entries) { this.entries = entries; }
+
+    public long getWeightedSize() { return weightedSize; }
+    public void setWeightedSize(long weightedSize) { this.weightedSize = weightedSize; }
+
+    public long getMaximumWeight() { return maximumWeight; }
+    public void setMaximumWeight(long maximumWeight) { this.maximumWeight = maximumWeight; }
+}
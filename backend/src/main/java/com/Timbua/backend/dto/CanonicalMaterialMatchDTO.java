@@ -0,0 +1,55 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Canonical material a free-text material name resolves to")
+public class CanonicalMaterialMatchDTO {
+
+    @Schema(description = "Text that was matched", example = "Bulding stones")
+    private String text;
+
+    @Schema(description = "ID of the canonical material, null when nothing matched", example = "11")
+    private Long canonicalMaterialId;
+
+    @Schema(description = "Code of the canonical material", example = "building-stone")
+    private String code;
+
+    @Schema(description = "Name of the canonical material", example = "Building stone")
+    private String name;
+
+    @Schema(description = "Normalised synonym that matched", example = "building stone")
+    private String matchedSynonym;
+
+    @Schema(description = "Match confidence between 0 and 1; below 1 for typos or matches on part of the text", example = "0.929")
+    private double confidence;
+
+    public CanonicalMaterialMatchDTO() {}
+
+    public CanonicalMaterialMatchDTO(String text, Long canonicalMaterialId, String code, String name,
+                                     String matchedSynonym, double confidence) {
+        this.text = text;
+        this.canonicalMaterialId = canonicalMaterialId;
+        this.code = code;
+        this.name = name;
+        this.matchedSynonym = matchedSynonym;
+        this.confidence = confidence;
+    }
+
+    public String getText() { return text; }
+    public void setText(String text) { this.text = text; }
+
+    public Long getCanonicalMaterialId() { return canonicalMaterialId; }
+    public void setCanonicalMaterialId(Long canonicalMaterialId) { this.canonicalMaterialId = canonicalMaterialId; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getMatchedSynonym() { return matchedSynonym; }
+    public void setMatchedSynonym(String matchedSynonym) { this.matchedSynonym = matchedSynonym; }
+
+    public double getConfidence() { return confidence; }
+    public void setConfidence(double confidence) { this.confidence = confidence; }
+}
@@ -0,0 +1,51 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Number of records assigned to a canonical material, per entity")
+public class CanonicalMaterialUsageDTO {
+
+    @Schema(description = "ID of the canonical material", example = "1")
+    private Long canonicalMaterialId;
+
+    @Schema(description = "Code of the canonical material", example = "river-sand")
+    private String code;
+
+    @Schema(description = "Name of the canonical material", example = "River sand")
+    private String name;
+
+    @Schema(description = "Surveyed material sites", example = "14")
+    private long materialSites;
+
+    @Schema(description = "Supplier material listings", example = "32")
+    private long materials;
+
+    @Schema(description = "Order items", example = "120")
+    private long orderItems;
+
+    @Schema(description = "Quotation requests", example = "45")
+    private long quotationRequests;
+
+    public CanonicalMaterialUsageDTO() {}
+
+    public Long getCanonicalMaterialId() { return canonicalMaterialId; }
+    public void setCanonicalMaterialId(Long canonicalMaterialId) { this.canonicalMaterialId = canonicalMaterialId; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getMaterialSites() { return materialSites; }
+    public void setMaterialSites(long materialSites) { this.materialSites = materialSites; }
+
+    public long getMaterials() { return materials; }
+    public void setMaterials(long materials) { this.materials = materials; }
+
+    public long getOrderItems() { return orderItems; }
+    public void setOrderItems(long orderItems) { this.orderItems = orderItems; }
+
+    public long getQuotationRequests() { return quotationRequests; }
+    public void setQuotationRequests(long quotationRequests) { this.quotationRequests = quotationRequests; }
+}
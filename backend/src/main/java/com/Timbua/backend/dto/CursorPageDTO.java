@@ -0,0 +1,42 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "One page of a keyset-paginated listing")
+public class CursorPageDTO<T> {
+
+    @Schema(description = "Items on this page")
+    private List<T> items;
+
+    @Schema(description = "Requested page size", example = "20")
+    private int limit;
+
+    @Schema(description = "Opaque cursor for the next page, null on the last page")
+    private String nextCursor;
+
+    @Schema(description = "Whether more items follow this page")
+    private boolean hasMore;
+
+    public CursorPageDTO() {}
+
+    public CursorPageDTO(List<T> items, int limit, String nextCursor) {
+        this.items = items;
+        this.limit = limit;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
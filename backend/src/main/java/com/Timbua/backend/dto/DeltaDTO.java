@@ -0,0 +1,43 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Rows created, updated or deleted since a sync token")
+public class DeltaDTO<T> {
+
+    @Schema(description = "Token to send as since on the next sync; also the list's ETag", example = "mfx3k2a1-1842")
+    private String token;
+
+    @Schema(description = "True when the since token could no longer be served and items holds the whole dataset; "
+            + "the client should replace its copy instead of merging")
+    private boolean full;
+
+    @Schema(description = "Rows created or updated since the token, in their current state")
+    private List<T> items;
+
+    @Schema(description = "IDs of rows deleted since the token")
+    private List<Long> deletedIds;
+
+    public DeltaDTO() {}
+
+    public DeltaDTO(String token, boolean full, List<T> items, List<Long> deletedIds) {
+        this.token = token;
+        this.full = full;
+        this.items = items;
+        this.deletedIds = deletedIds;
+    }
+
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public boolean isFull() { return full; }
+    public void setFull(boolean full) { this.full = full; }
+
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public List<Long> getDeletedIds() { return deletedIds; }
+    public void setDeletedIds(List<Long> deletedIds) { this.deletedIds = deletedIds; }
+}
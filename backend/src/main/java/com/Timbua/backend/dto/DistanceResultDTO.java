@@ -0,0 +1,27 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A result item together with its distance from the query point")
+public class DistanceResultDTO<T> {
+
+    @Schema(description = "The matched record")
+    private T item;
+
+    @Schema(description = "Great-circle distance from the query point in kilometres", example = "2.431")
+    private double distanceKm;
+
+    public DistanceResultDTO() {}
+
+    public DistanceResultDTO(T item, double distanceKm) {
+        this.item = item;
+        // Round to metres, anything finer is noise for the apps
+        this.distanceKm = Math.round(distanceKm * 1000.0) / 1000.0;
+    }
+
+    public T getItem() { return item; }
+    public void setItem(T item) { this.item = item; }
+
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+}
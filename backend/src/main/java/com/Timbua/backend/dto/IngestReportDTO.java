@@ -0,0 +1,94 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of a streaming material site ingest")
+public class IngestReportDTO {
+
+    @Schema(description = "Data rows read from the upload", example = "50000")
+    private long rowsRead;
+
+    @Schema(description = "Rows written to the database", example = "49987")
+    private long rowsInserted;
+
+    @Schema(description = "Rows rejected by validation or in a failed chunk", example = "13")
+    private long rowsRejected;
+
+    @Schema(description = "Chunks committed", example = "50")
+    private int chunksCommitted;
+
+    @Schema(description = "Chunks rolled back because the database rejected them", example = "0")
+    private int chunksFailed;
+
+    @Schema(description = "False when the upload could not be read to the end; committed chunks are kept")
+    private boolean completed;
+
+    @Schema(description = "Per-row errors, capped at the first 100")
+    private List<RowError> errors;
+
+    @Schema(description = "True when more errors occurred than are listed")
+    private boolean errorsTruncated;
+
+    @Schema(description = "Wall-clock time of the ingest in milliseconds", example = "2140")
+    private long elapsedMs;
+
+    @Schema(description = "Inserted rows per second", example = "23358.4")
+    private double rowsPerSecond;
+
+    public IngestReportDTO() {}
+
+    public long getRowsRead() { return rowsRead; }
+    public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+
+    public long getRowsInserted() { return rowsInserted; }
+    public void setRowsInserted(long rowsInserted) { this.rowsInserted = rowsInserted; }
+
+    public long getRowsRejected() { return rowsRejected; }
+    public void setRowsRejected(long rowsRejected) { this.rowsRejected = rowsRejected; }
+
+    public int getChunksCommitted() { return chunksCommitted; }
+    public void setChunksCommitted(int chunksCommitted) { this.chunksCommitted = chunksCommitted; }
+
+    public int getChunksFailed() { return chunksFailed; }
+    public void setChunksFailed(int chunksFailed) { this.chunksFailed = chunksFailed; }
+
+    public boolean isCompleted() { return completed; }
+    public void setCompleted(boolean completed) { this.completed = completed; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+
+    public double getRowsPerSecond() { return rowsPerSecond; }
+    public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+
+    @Schema(description = "A rejected row")
+    public static class RowError {
+
+        @Schema(description = "Line in the upload where the row starts", example = "1043")
+        private long line;
+
+        @Schema(description = "Why the row was rejected", example = "Invalid latitude: -4.0x")
+        private String message;
+
+        public RowError() {}
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() { return line; }
+        public void setLine(long line) { this.line = line; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
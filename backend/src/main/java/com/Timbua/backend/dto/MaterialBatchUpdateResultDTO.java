@@ -0,0 +1,81 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Outcome of a batch of availability and price patches")
+public class MaterialBatchUpdateResultDTO {
+
+    @Schema(description = "Materials that were changed")
+    private List<Long> updatedIds = new ArrayList<>();
+
+    @Schema(description = "updatedAt stamped on every changed material; send it as expectedUpdatedAt next time",
+            example = "2026-10-12T18:02:11.548210")
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "Materials whose patch matched their current values")
+    private List<Long> unchangedIds = new ArrayList<>();
+
+    @Schema(description = "Patches skipped because the material changed after expectedUpdatedAt")
+    private List<Conflict> conflicts = new ArrayList<>();
+
+    @Schema(description = "IDs that do not exist or belong to another supplier")
+    private List<Long> notFoundIds = new ArrayList<>();
+
+    public MaterialBatchUpdateResultDTO() {}
+
+    public List<Long> getUpdatedIds() { return updatedIds; }
+    public void setUpdatedIds(List<Long> updatedIds) { this.updatedIds = updatedIds; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public List<Long> getUnchangedIds() { return unchangedIds; }
+    public void setUnchangedIds(List<Long> unchangedIds) { this.unchangedIds = unchangedIds; }
+
+    public List<Conflict> getConflicts() { return conflicts; }
+    public void setConflicts(List<Conflict> conflicts) { this.conflicts = conflicts; }
+
+    public List<Long> getNotFoundIds() { return notFoundIds; }
+    public void setNotFoundIds(List<Long> notFoundIds) { this.notFoundIds = notFoundIds; }
+
+    @Schema(description = "A patch skipped because of a concurrent change, with the material's current state")
+    public static class Conflict {
+
+        @Schema(description = "ID of the material", example = "1021")
+        private Long materialId;
+
+        @Schema(description = "Current updatedAt of the material", example = "2026-10-12T17:40:02.001200")
+        private LocalDateTime updatedAt;
+
+        @Schema(description = "Current availability", example = "true")
+        private boolean available;
+
+        @Schema(description = "Current price", example = "1300.0")
+        private double price;
+
+        public Conflict() {}
+
+        public Conflict(Long materialId, LocalDateTime updatedAt, boolean available, double price) {
+            this.materialId = materialId;
+            this.updatedAt = updatedAt;
+            this.available = available;
+            this.price = price;
+        }
+
+        public Long getMaterialId() { return materialId; }
+        public void setMaterialId(Long materialId) { this.materialId = materialId; }
+
+        public LocalDateTime getUpdatedAt() { return updatedAt; }
+        public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+        public boolean isAvailable() { return available; }
+        public void setAvailable(boolean available) { this.available = available; }
+
+        public double getPrice() { return price; }
+        public void setPrice(double price) { this.price = price; }
+    }
+}
@@ -0,0 +1,37 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Availability and/or price change for one catalog listing")
+public class MaterialPatchDTO {
+
+    @Schema(description = "ID of the material to change", example = "1021", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Long materialId;
+
+    @Schema(description = "New availability, omitted to keep the current one", example = "false")
+    private Boolean available;
+
+    @Schema(description = "New price, omitted to keep the current one", example = "1250.0")
+    private Double price;
+
+    @Schema(description = "updatedAt the client last saw (createdAt for a material never updated); when the material "
+            + "changed since, the patch is skipped and reported as a conflict",
+            example = "2026-10-12T08:15:30.123456", requiredMode = Schema.RequiredMode.REQUIRED)
+    private LocalDateTime expectedUpdatedAt;
+
+    public MaterialPatchDTO() {}
+
+    public Long getMaterialId() { return materialId; }
+    public void setMaterialId(Long materialId) { this.materialId = materialId; }
+
+    public Boolean getAvailable() { return available; }
+    public void setAvailable(Boolean available) { this.available = available; }
+
+    public Double getPrice() { return price; }
+    public void setPrice(Double price) { this.price = price; }
+
+    public LocalDateTime getExpectedUpdatedAt() { return expectedUpdatedAt; }
+    public void setExpectedUpdatedAt(LocalDateTime expectedUpdatedAt) { this.expectedUpdatedAt = expectedUpdatedAt; }
+}
@@ -0,0 +1,48 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Material sites aggregated into one map marker at a given zoom level")
+public class MaterialSiteClusterDTO {
+
+    @Schema(description = "Latitude of the centroid of the sites in the cluster", example = "-4.012345")
+    private double latitude;
+
+    @Schema(description = "Longitude of the centroid of the sites in the cluster", example = "39.672954")
+    private double longitude;
+
+    @Schema(description = "Number of sites in the cluster", example = "12")
+    private int count;
+
+    @Schema(description = "Most common material in the cluster", example = "Sand")
+    private String dominantMaterial;
+
+    @Schema(description = "ID of the site when the cluster holds a single site, otherwise null")
+    private Long siteId;
+
+    public MaterialSiteClusterDTO() {}
+
+    public MaterialSiteClusterDTO(double latitude, double longitude, int count, String dominantMaterial, Long siteId) {
+        // Six decimals is ~10cm, plenty for a marker
+        this.latitude = Math.round(latitude * 1e6) / 1e6;
+        this.longitude = Math.round(longitude * 1e6) / 1e6;
+        this.count = count;
+        this.dominantMaterial = dominantMaterial;
+        this.siteId = siteId;
+    }
+
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public String getDominantMaterial() { return dominantMaterial; }
+    public void setDominantMaterial(String dominantMaterial) { this.dominantMaterial = dominantMaterial; }
+
+    public Long getSiteId() { return siteId; }
+    public void setSiteId(Long siteId) { this.siteId = siteId; }
+}
@@ -0,0 +1,82 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+import java.util.Map;
+
+@Schema(description = "Distinct material site facet values with the number of sites for each")
+public class MaterialSiteFacetsDTO {
+
+    @Schema(description = "Material type -> number of sites")
+    private Map<String, Integer> materials;
+
+    @Schema(description = "Material location -> number of sites")
+    private Map<String, Integer> locations;
+
+    @Schema(description = "County -> number of sites")
+    private Map<String, Integer> counties;
+
+    @Schema(description = "Sub-county -> number of sites")
+    private Map<String, Integer> subCounties;
+
+    @Schema(description = "Counties with their sub-counties")
+    private List<CountyFacet> countyTree;
+
+    public MaterialSiteFacetsDTO() {}
+
+    public MaterialSiteFacetsDTO(Map<String, Integer> materials, Map<String, Integer> locations,
+                                 Map<String, Integer> counties, Map<String, Integer> subCounties,
+                                 List<CountyFacet> countyTree) {
+        this.materials = materials;
+        this.locations = locations;
+        this.counties = counties;
+        this.subCounties = subCounties;
+        this.countyTree = countyTree;
+    }
+
+    public Map<String, Integer> getMaterials() { return materials; }
+    public void setMaterials(Map<String, Integer> materials) { this.materials = materials; }
+
+    public Map<String, Integer> getLocations() { return locations; }
+    public void setLocations(Map<String, Integer> locations) { this.locations = locations; }
+
+    public Map<String, Integer> getCounties() { return counties; }
+    public void setCounties(Map<String, Integer> counties) { this.counties = counties; }
+
+    public Map<String, Integer> getSubCounties() { return subCounties; }
+    public void setSubCounties(Map<String, Integer> subCounties) { this.subCounties = subCounties; }
+
+    public List<CountyFacet> getCountyTree() { return countyTree; }
+    public void setCountyTree(List<CountyFacet> countyTree) { this.countyTree = countyTree; }
+
+    @Schema(description = "A county with its site count and sub-county breakdown")
+    public static class CountyFacet {
+
+        @Schema(description = "County name", example = "Kilifi")
+        private String county;
+
+        @Schema(description = "Number of sites in the county", example = "42")
+        private int count;
+
+        @Schema(description = "Sub-county -> number of sites")
+        private Map<String, Integer> subCounties;
+
+        public CountyFacet() {}
+
+        public CountyFacet(String county, int count, Map<String, Integer> subCounties) {
+            this.county = county;
+            this.count = count;
+            this.subCounties = subCounties;
+        }
+
+        public String getCounty() { return county; }
+        public void setCounty(String county) { this.county = county; }
+
+        public int getCount() { return count; }
+        public void setCount(int count) { this.count = count; }
+
+        public Map<String, Integer> getSubCounties() { return subCounties; }
+        public void setSubCounties(Map<String, Integer> subCounties) { this.subCounties = subCounties; }
+    }
+}
@@ -0,0 +1,29 @@
+package com.Timbua.backend.dto;
+
+import com.Timbua.backend.model.MaterialSite;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "Material sites matching a combined facet filter, with counts for the remaining facet values")
+public class MaterialSiteFilterResultDTO {
+
+    @Schema(description = "The requested page of matching sites")
+    private PagedResponseDTO<MaterialSite> results;
+
+    @Schema(description = "Facet name -> value -> number of sites. Each facet's counts ignore that facet's own selection")
+    private Map<String, Map<String, Integer>> facets;
+
+    public MaterialSiteFilterResultDTO() {}
+
+    public MaterialSiteFilterResultDTO(PagedResponseDTO<MaterialSite> results, Map<String, Map<String, Integer>> facets) {
+        this.results = results;
+        this.facets = facets;
+    }
+
+    public PagedResponseDTO<MaterialSite> getResults() { return results; }
+    public void setResults(PagedResponseDTO<MaterialSite> results) { this.results = results; }
+
+    public Map<String, Map<String, Integer>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Integer>> facets) { this.facets = facets; }
+}
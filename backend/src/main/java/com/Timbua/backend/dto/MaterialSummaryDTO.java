@@ -0,0 +1,94 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Catalog listing of a material, without supplier details")
+public class MaterialSummaryDTO {
+
+    @Schema(description = "Material ID", example = "42")
+    private Long id;
+
+    @Schema(description = "Material name", example = "Bamburi Cement 50kg")
+    private String name;
+
+    @Schema(description = "Material category", example = "Cement")
+    private String category;
+
+    @Schema(description = "Unit price", example = "750.0")
+    private double price;
+
+    @Schema(description = "Price currency", example = "KES")
+    private String currency;
+
+    @Schema(description = "Unit the price applies to", example = "bag")
+    private String unit;
+
+    @Schema(description = "Where the material is offered", example = "Mombasa")
+    private String location;
+
+    @Schema(description = "Average rating", example = "4.5")
+    private double rating;
+
+    @Schema(description = "Whether the material is currently available")
+    private boolean available;
+
+    @Schema(description = "ID of the supplier offering the material", example = "7")
+    private Long supplierId;
+
+    @Schema(description = "When the listing was last changed")
+    private LocalDateTime updatedAt;
+
+    public MaterialSummaryDTO() {}
+
+    // Used by JPA constructor projections, argument order matters
+    public MaterialSummaryDTO(Long id, String name, String category, double price, String currency, String unit,
+                              String location, double rating, boolean available, Long supplierId,
+                              LocalDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.category = category;
+        this.price = price;
+        this.currency = currency;
+        this.unit = unit;
+        this.location = location;
+        this.rating = rating;
+        this.available = available;
+        this.supplierId = supplierId;
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public double getPrice() { return price; }
+    public void setPrice(double price) { this.price = price; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getUnit() { return unit; }
+    public void setUnit(String unit) { this.unit = unit; }
+
+    public String getLocation() { return location; }
+    public void setLocation(String location) { this.location = location; }
+
+    public double getRating() { return rating; }
+    public void setRating(double rating) { this.rating = rating; }
+
+    public boolean isAvailable() { return available; }
+    public void setAvailable(boolean available) { this.available = available; }
+
+    public Long getSupplierId() { return supplierId; }
+    public void setSupplierId(Long supplierId) { this.supplierId = supplierId; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,33 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A material listing near the query point")
+public class NearbyMaterialDTO {
+
+    @Schema(description = "The listing")
+    private MaterialSummaryDTO material;
+
+    @Schema(description = "Great-circle distance from the query point to the supplier in kilometres", example = "3.214")
+    private double distanceKm;
+
+    @Schema(description = "Blended distance/price score between 0 and 1, lower is better. Null when sorting by distance only", example = "0.182")
+    private Double score;
+
+    public NearbyMaterialDTO() {}
+
+    public NearbyMaterialDTO(MaterialSummaryDTO material, double distanceKm, Double score) {
+        this.material = material;
+        this.distanceKm = distanceKm;
+        this.score = score != null ? Math.round(score * 1000.0) / 1000.0 : null;
+    }
+
+    public MaterialSummaryDTO getMaterial() { return material; }
+    public void setMaterial(MaterialSummaryDTO material) { this.material = material; }
+
+    public double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(double distanceKm) { this.distanceKm = distanceKm; }
+
+    public Double getScore() { return score; }
+    public void setScore(Double score) { this.score = score; }
+}
@@ -0,0 +1,67 @@
+package com.Timbua.backend.dto;
+
+import com.Timbua.backend.model.Material;
+import com.Timbua.backend.model.MaterialSite;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Material sources and supplier listings around a construction site")
+public class NearbyMaterialsDTO {
+
+    @Schema(description = "Construction site ID", example = "1")
+    private Long siteId;
+
+    @Schema(description = "Construction site name", example = "Nyali Apartments")
+    private String siteName;
+
+    @Schema(description = "Site latitude", example = "-4.0435")
+    private double lat;
+
+    @Schema(description = "Site longitude", example = "39.6682")
+    private double lng;
+
+    @Schema(description = "Search radius in kilometres", example = "25")
+    private double radiusKm;
+
+    @Schema(description = "Surveyed material sites within the radius, closest first")
+    private List<DistanceResultDTO<MaterialSite>> materialSites;
+
+    @Schema(description = "Supplier material listings within the radius, closest first")
+    private List<DistanceResultDTO<Material>> materials;
+
+    public NearbyMaterialsDTO() {}
+
+    public NearbyMaterialsDTO(Long siteId, String siteName, double lat, double lng, double radiusKm,
+                              List<DistanceResultDTO<MaterialSite>> materialSites,
+                              List<DistanceResultDTO<Material>> materials) {
+        this.siteId = siteId;
+        this.siteName = siteName;
+        this.lat = lat;
+        this.lng = lng;
+        this.radiusKm = radiusKm;
+        this.materialSites = materialSites;
+        this.materials = materials;
+    }
+
+    public Long getSiteId() { return siteId; }
+    public void setSiteId(Long siteId) { this.siteId = siteId; }
+
+    public String getSiteName() { return siteName; }
+    public void setSiteName(String siteName) { this.siteName = siteName; }
+
+    public double getLat() { return lat; }
+    public void setLat(double lat) { this.lat = lat; }
+
+    public double getLng() { return lng; }
+    public void setLng(double lng) { this.lng = lng; }
+
+    public double getRadiusKm() { return radiusKm; }
+    public void setRadiusKm(double radiusKm) { this.radiusKm = radiusKm; }
+
+    public List<DistanceResultDTO<MaterialSite>> getMaterialSites() { return materialSites; }
+    public void setMaterialSites(List<DistanceResultDTO<MaterialSite>> materialSites) { this.materialSites = materialSites; }
+
+    public List<DistanceResultDTO<Material>> getMaterials() { return materials; }
+    public void setMaterials(List<DistanceResultDTO<Material>> materials) { this.materials = materials; }
+}
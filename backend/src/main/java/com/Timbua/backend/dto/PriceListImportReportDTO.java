@@ -0,0 +1,65 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Outcome of applying a supplier price list")
+public class PriceListImportReportDTO {
+
+    @Schema(description = "Data rows read from the price list", example = "2400")
+    private long rowsRead;
+
+    @Schema(description = "Rows that did not match an existing material and were created", example = "120")
+    private long created;
+
+    @Schema(description = "Rows that changed the price or another field of an existing material", example = "310")
+    private long updated;
+
+    @Schema(description = "Rows identical to the existing material", example = "1962")
+    private long unchanged;
+
+    @Schema(description = "Existing materials missing from the list that were marked unavailable", example = "4")
+    private long deactivated;
+
+    @Schema(description = "Rows rejected by validation", example = "8")
+    private long rejected;
+
+    @Schema(description = "Per-row errors, capped at the first 100")
+    private List<IngestReportDTO.RowError> errors;
+
+    @Schema(description = "True when more errors occurred than are listed")
+    private boolean errorsTruncated;
+
+    @Schema(description = "Wall-clock time of the import in milliseconds", example = "640")
+    private long elapsedMs;
+
+    public PriceListImportReportDTO() {}
+
+    public long getRowsRead() { return rowsRead; }
+    public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+
+    public long getCreated() { return created; }
+    public void setCreated(long created) { this.created = created; }
+
+    public long getUpdated() { return updated; }
+    public void setUpdated(long updated) { this.updated = updated; }
+
+    public long getUnchanged() { return unchanged; }
+    public void setUnchanged(long unchanged) { this.unchanged = unchanged; }
+
+    public long getDeactivated() { return deactivated; }
+    public void setDeactivated(long deactivated) { this.deactivated = deactivated; }
+
+    public long getRejected() { return rejected; }
+    public void setRejected(long rejected) { this.rejected = rejected; }
+
+    public List<IngestReportDTO.RowError> getErrors() { return errors; }
+    public void setErrors(List<IngestReportDTO.RowError> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+}
@@ -0,0 +1,57 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+@Schema(description = "Prices recorded within one day or week")
+public class PricePointDTO {
+
+    @Schema(description = "First day of the bucket (Monday for weekly buckets)", example = "2025-03-03")
+    private LocalDate bucketStart;
+
+    @Schema(description = "Currency of the prices in this bucket", example = "KES")
+    private String currency;
+
+    @Schema(description = "Average of the prices recorded in the bucket", example = "745.5")
+    private double averagePrice;
+
+    @Schema(description = "Lowest price recorded in the bucket", example = "700.0")
+    private double minPrice;
+
+    @Schema(description = "Highest price recorded in the bucket", example = "790.0")
+    private double maxPrice;
+
+    @Schema(description = "Number of price records in the bucket", example = "6")
+    private long samples;
+
+    public PricePointDTO() {}
+
+    public PricePointDTO(LocalDate bucketStart, String currency, double averagePrice,
+                         double minPrice, double maxPrice, long samples) {
+        this.bucketStart = bucketStart;
+        this.currency = currency;
+        this.averagePrice = Math.round(averagePrice * 100) / 100.0;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.samples = samples;
+    }
+
+    public LocalDate getBucketStart() { return bucketStart; }
+    public void setBucketStart(LocalDate bucketStart) { this.bucketStart = bucketStart; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public double getAveragePrice() { return averagePrice; }
+    public void setAveragePrice(double averagePrice) { this.averagePrice = averagePrice; }
+
+    public double getMinPrice() { return minPrice; }
+    public void setMinPrice(double minPrice) { this.minPrice = minPrice; }
+
+    public double getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(double maxPrice) { this.maxPrice = maxPrice; }
+
+    public long getSamples() { return samples; }
+    public void setSamples(long samples) { this.samples = samples; }
+}
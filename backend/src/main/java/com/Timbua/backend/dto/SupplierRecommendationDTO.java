@@ -0,0 +1,100 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "A supplier recommended for a quotation request, with its best matching listing")
+public class SupplierRecommendationDTO {
+
+    @Schema(description = "Position in the recommendation list", example = "1")
+    private int rank;
+
+    @Schema(description = "Supplier ID", example = "12")
+    private Long supplierId;
+
+    @Schema(description = "Company name", example = "Material Suppliers Ltd")
+    private String companyName;
+
+    @Schema(description = "Whether the supplier is verified", example = "true")
+    private boolean verified;
+
+    @Schema(description = "Blended score between 0 and 1, higher is better", example = "0.812")
+    private double score;
+
+    @Schema(description = "How well the listing matches the requested material, 0 to 1", example = "1.0")
+    private double matchScore;
+
+    @Schema(description = "Distance from the site to the supplier in kilometres, null when either location is unknown",
+            example = "12.4")
+    private Double distanceKm;
+
+    @Schema(description = "Price score among the matching listings in the requested unit, 1 is cheapest", example = "0.66")
+    private double priceScore;
+
+    @Schema(description = "Listing rating out of 5", example = "4.5")
+    private double rating;
+
+    @Schema(description = "Win rate of the supplier's quotes, smoothed for suppliers with few quotes", example = "0.31")
+    private double winRate;
+
+    @Schema(description = "ID of the best matching listing", example = "1021")
+    private Long materialId;
+
+    @Schema(description = "Name of the best matching listing", example = "Portland Cement 50kg")
+    private String materialName;
+
+    @Schema(description = "Listing price", example = "780.0")
+    private double price;
+
+    @Schema(description = "Listing currency", example = "KES")
+    private String currency;
+
+    @Schema(description = "Listing unit", example = "bag")
+    private String unit;
+
+    public SupplierRecommendationDTO() {}
+
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+
+    public Long getSupplierId() { return supplierId; }
+    public void setSupplierId(Long supplierId) { this.supplierId = supplierId; }
+
+    public String getCompanyName() { return companyName; }
+    public void setCompanyName(String companyName) { this.companyName = companyName; }
+
+    public boolean isVerified() { return verified; }
+    public void setVerified(boolean verified) { this.verified = verified; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public double getMatchScore() { return matchScore; }
+    public void setMatchScore(double matchScore) { this.matchScore = matchScore; }
+
+    public Double getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(Double distanceKm) { this.distanceKm = distanceKm; }
+
+    public double getPriceScore() { return priceScore; }
+    public void setPriceScore(double priceScore) { this.priceScore = priceScore; }
+
+    public double getRating() { return rating; }
+    public void setRating(double rating) { this.rating = rating; }
+
+    public double getWinRate() { return winRate; }
+    public void setWinRate(double winRate) { this.winRate = winRate; }
+
+    public Long getMaterialId() { return materialId; }
+    public void setMaterialId(Long materialId) { this.materialId = materialId; }
+
+    public String getMaterialName() { return materialName; }
+    public void setMaterialName(String materialName) { this.materialName = materialName; }
+
+    public double getPrice() { return price; }
+    public void setPrice(double price) { this.price = price; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public String getUnit() { return unit; }
+    public void setUnit(String unit) { this.unit = unit; }
+}
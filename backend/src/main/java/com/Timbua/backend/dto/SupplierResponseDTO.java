@@ -5,6 +5,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Schema(description = "Supplier response DTO (without password)")
 public class SupplierResponseDTO {
@@ -57,6 +58,12 @@ public class SupplierResponseDTO {
     @Schema(description = "Update timestamp")
     private LocalDateTime updatedAt;
 
+    @Schema(description = "Number of catalog listings currently available", example = "42")
+    private int availableMaterialCount;
+
+    @Schema(description = "Available listings per material category, only filled in when requested")
+    private Map<String, Long> availableByCategory;
+
     // Constructor from Entity
     public SupplierResponseDTO(Supplier supplier) {
         this.id = supplier.getId();
@@ -75,6 +82,32 @@ public class SupplierResponseDTO {
         this.verificationDate = supplier.getVerificationDate();
         this.createdAt = supplier.getCreatedAt();
         this.updatedAt = supplier.getUpdatedAt();
+        this.availableMaterialCount = supplier.getAvailableMaterialCount();
+    }
+
+    // Constructor for JPQL projections, so directory queries never load managed entities
+    public SupplierResponseDTO(Long id, String companyName, String businessRegistrationNumber, String contactPerson,
+                               String email, String phone, String website, String description,
+                               Integer yearsInBusiness, String logoUrl, Supplier.Status status, Supplier.Role role,
+                               boolean isVerified, LocalDate verificationDate, LocalDateTime createdAt,
+                               LocalDateTime updatedAt, int availableMaterialCount) {
+        this.id = id;
+        this.companyName = companyName;
+        this.businessRegistrationNumber = businessRegistrationNumber;
+        this.contactPerson = contactPerson;
+        this.email = email;
+        this.phone = phone;
+        this.website = website;
+        this.description = description;
+        this.yearsInBusiness = yearsInBusiness;
+        this.logoUrl = logoUrl;
+        this.status = status;
+        this.role = role;
+        this.isVerified = isVerified;
+        this.verificationDate = verificationDate;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.availableMaterialCount = availableMaterialCount;
     }
 
     // Empty constructor
@@ -128,4 +161,10 @@ public class SupplierResponseDTO {
 
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
+    public int getAvailableMaterialCount() { return availableMaterialCount; }
+    public void setAvailableMaterialCount(int availableMaterialCount) { this.availableMaterialCount = availableMaterialCount; }
+
+    public Map<String, Long> getAvailableByCategory() { return availableByCategory; }
+    public void setAvailableByCategory(Map<String, Long> availableByCategory) { this.availableByCategory = availableByCategory; }
 }
@@ -0,0 +1,102 @@
+package com.Timbua.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Quote and delivery track record of a supplier")
+public class SupplierScorecardDTO {
+
+    @Schema(description = "Position on the leaderboard, only set in leaderboard responses", example = "1")
+    private Integer rank;
+
+    @Schema(description = "Supplier ID", example = "12")
+    private Long supplierId;
+
+    @Schema(description = "Company name", example = "Material Suppliers Ltd")
+    private String companyName;
+
+    @Schema(description = "Quotation requests the supplier was invited to", example = "40")
+    private long invitations;
+
+    @Schema(description = "Quotes the supplier submitted", example = "31")
+    private long quotesSubmitted;
+
+    @Schema(description = "Quotes the contractor accepted", example = "9")
+    private long quotesAccepted;
+
+    @Schema(description = "Quotes submitted per invitation, null without invitations", example = "0.775")
+    private Double responseRate;
+
+    @Schema(description = "Quotes accepted per quote submitted, null without quotes", example = "0.29")
+    private Double winRate;
+
+    @Schema(description = "Quotes with a known response time", example = "28")
+    private long responsesTimed;
+
+    @Schema(description = "Median minutes from invitation to quote, estimated within its histogram bucket",
+            example = "190.5")
+    private Double medianResponseMinutes;
+
+    @Schema(description = "Average minutes from invitation to quote", example = "342.1")
+    private Double averageResponseMinutes;
+
+    @Schema(description = "Delivered orders that had an expected delivery date", example = "8")
+    private long deliveriesMeasured;
+
+    @Schema(description = "Share of measured deliveries made on or before the expected date", example = "0.875")
+    private Double onTimeDeliveryRate;
+
+    @Schema(description = "Average days late per measured delivery, early deliveries count as zero", example = "0.25")
+    private Double averageDaysLate;
+
+    @Schema(description = "When the scorecard last changed")
+    private LocalDateTime updatedAt;
+
+    public SupplierScorecardDTO() {}
+
+    public Integer getRank() { return rank; }
+    public void setRank(Integer rank) { this.rank = rank; }
+
+    public Long getSupplierId() { return supplierId; }
+    public void setSupplierId(Long supplierId) { this.supplierId = supplierId; }
+
+    public String getCompanyName() { return companyName; }
+    public void setCompanyName(String companyName) { this.companyName = companyName; }
+
+    public long getInvitations() { return invitations; }
+    public void setInvitations(long invitations) { this.invitations = invitations; }
+
+    public long getQuotesSubmitted() { return quotesSubmitted; }
+    public void setQuotesSubmitted(long quotesSubmitted) { this.quotesSubmitted = quotesSubmitted; }
+
+    public long getQuotesAccepted() { return quotesAccepted; }
+    public void setQuotesAccepted(long quotesAccepted) { this.quotesAccepted = quotesAccepted; }
+
+    public Double getResponseRate() { return responseRate; }
+    public void setResponseRate(Double responseRate) { this.responseRate = responseRate; }
+
+    public Double getWinRate() { return winRate; }
+    public void setWinRate(Double winRate) { this.winRate = winRate; }
+
+    public long getResponsesTimed() { return responsesTimed; }
+    public void setResponsesTimed(long responsesTimed) { this.responsesTimed = responsesTimed; }
+
+    public Double getMedianResponseMinutes() { return medianResponseMinutes; }
+    public void setMedianResponseMinutes(Double medianResponseMinutes) { this.medianResponseMinutes = medianResponseMinutes; }
+
+    public Double getAverageResponseMinutes() { return averageResponseMinutes; }
+    public void setAverageResponseMinutes(Double averageResponseMinutes) { this.averageResponseMinutes = averageResponseMinutes; }
+
+    public long getDeliveriesMeasured() { return deliveriesMeasured; }
+    public void setDeliveriesMeasured(long deliveriesMeasured) { this.deliveriesMeasured = deliveriesMeasured; }
+
+    public Double getOnTimeDeliveryRate() { return onTimeDeliveryRate; }
+    public void setOnTimeDeliveryRate(Double onTimeDeliveryRate) { this.onTimeDeliveryRate = onTimeDeliveryRate; }
+
+    public Double getAverageDaysLate() { return averageDaysLate; }
+    public void setAverageDaysLate(Double averageDaysLate) { this.averageDaysLate = averageDaysLate; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,58 @@
+package com.Timbua.backend.model;
+
+import jakarta.persistence.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One entry of the material taxonomy. Free-text material fields elsewhere are matched
+ * against the name and synonyms and store the id, so analytics can group and join on it.
+ * Entries are maintained in seed/canonical_materials.csv.
+ */
+@Entity
+@Table(name = "canonical_materials",
+        uniqueConstraints = @UniqueConstraint(columnNames = "code"))
+public class CanonicalMaterial {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String code; // stable slug, e.g. river-sand
+
+    @Column(nullable = false)
+    private String name;
+
+    private String family; // e.g. Sand, Aggregates, Blocks
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "canonical_material_synonyms", joinColumns = @JoinColumn(name = "canonical_material_id"))
+    @Column(name = "synonym", nullable = false)
+    private List<String> synonyms = new ArrayList<>();
+
+    public CanonicalMaterial() {}
+
+    public CanonicalMaterial(String code, String name, String family, List<String> synonyms) {
+        this.code = code;
+        this.name = name;
+        this.family = family;
+        this.synonyms = new ArrayList<>(synonyms);
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getFamily() { return family; }
+    public void setFamily(String family) { this.family = family; }
+
+    public List<String> getSynonyms() { return synonyms; }
+    public void setSynonyms(List<String> synonyms) { this.synonyms = synonyms; }
+}
@@ -0,0 +1,42 @@
+package com.Timbua.backend.model;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * JPA entity listener reporting every write through a repository, so services do not have
+ * to report them themselves. The receiving side registers itself as the sink on startup;
+ * until then, and in code that runs without it, events are dropped.
+ */
+public class ChangeTrackingListener {
+
+    public interface Sink {
+        void saved(Object entity);
+
+        void removed(Object entity);
+    }
+
+    private static volatile Sink sink;
+
+    public static void register(Sink newSink) {
+        sink = newSink;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        Sink current = sink;
+        if (current != null) {
+            current.saved(entity);
+        }
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        Sink current = sink;
+        if (current != null) {
+            current.removed(entity);
+        }
+    }
+}
@@ -9,6 +9,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(ChangeTrackingListener.class)
 @Table(name = "contractors")
 public class Contractor {
 
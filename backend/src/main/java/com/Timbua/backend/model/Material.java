@@ -8,7 +8,14 @@ import org.hibernate.annotations.UpdateTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "materials")
+@EntityListeners(ChangeTrackingListener.class)
+@Table(name = "materials", indexes = {
+        @Index(name = "idx_materials_supplier", columnList = "supplier_id"),
+        @Index(name = "idx_materials_price", columnList = "price, id"),
+        @Index(name = "idx_materials_category_price", columnList = "category, price, id"),
+        @Index(name = "idx_materials_updated", columnList = "updated_at, id"),
+        @Index(name = "idx_materials_canonical", columnList = "canonical_material_id")
+})
 public class Material {
 
     @Id
@@ -41,6 +48,10 @@ public class Material {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Taxonomy entry matched from the name or category, null when nothing matched
+    @Column(name = "canonical_material_id")
+    private Long canonicalMaterialId;
+
     // Constructors
     public Material() {}
 
@@ -189,6 +200,14 @@ public class Material {
         this.updatedAt = updatedAt; 
     }
 
+    public Long getCanonicalMaterialId() { 
+        return canonicalMaterialId; 
+    }
+    
+    public void setCanonicalMaterialId(Long canonicalMaterialId) { 
+        this.canonicalMaterialId = canonicalMaterialId; 
+    }
+
     // toString method for debugging
     @Override
     public String toString() {
@@ -0,0 +1,75 @@
+package com.Timbua.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Daily rollup of the price history per category, county and currency, upserted
+ * alongside the raw rows so trend queries never read material_price_history.
+ * Category and county are stored lower-cased, with '' for a missing value, so the
+ * unique key can be used as an ON CONFLICT target.
+ */
+@Entity
+@Table(name = "material_price_daily",
+        uniqueConstraints = @UniqueConstraint(name = "uk_price_daily_bucket",
+                columnNames = {"category", "county", "currency", "bucket_date"}))
+public class MaterialPriceDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_date", nullable = false)
+    private LocalDate bucketDate;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Column(nullable = false)
+    private String county;
+
+    @Column(nullable = false, length = 8)
+    private String currency;
+
+    @Column(name = "sample_count", nullable = false)
+    private long sampleCount;
+
+    @Column(name = "price_sum", nullable = false)
+    private double priceSum;
+
+    @Column(name = "min_price", nullable = false)
+    private double minPrice;
+
+    @Column(name = "max_price", nullable = false)
+    private double maxPrice;
+
+    public MaterialPriceDaily() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getBucketDate() { return bucketDate; }
+    public void setBucketDate(LocalDate bucketDate) { this.bucketDate = bucketDate; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getCounty() { return county; }
+    public void setCounty(String county) { this.county = county; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public long getSampleCount() { return sampleCount; }
+    public void setSampleCount(long sampleCount) { this.sampleCount = sampleCount; }
+
+    public double getPriceSum() { return priceSum; }
+    public void setPriceSum(double priceSum) { this.priceSum = priceSum; }
+
+    public double getMinPrice() { return minPrice; }
+    public void setMinPrice(double minPrice) { this.minPrice = minPrice; }
+
+    public double getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(double maxPrice) { this.maxPrice = maxPrice; }
+}
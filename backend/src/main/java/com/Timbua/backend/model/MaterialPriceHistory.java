@@ -0,0 +1,66 @@
+package com.Timbua.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One recorded listing price. Rows are only ever inserted (in JDBC batches by
+ * MaterialPriceHistoryRepository); the entity exists to define the table.
+ */
+@Entity
+@Table(name = "material_price_history", indexes = {
+        @Index(name = "idx_price_history_material", columnList = "material_id, recorded_at")
+})
+public class MaterialPriceHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "material_id", nullable = false)
+    private Long materialId;
+
+    @Column(name = "supplier_id")
+    private Long supplierId;
+
+    private String category;
+
+    // Listing location at the time of the change; suppliers have no county of their own
+    private String county;
+
+    @Column(nullable = false)
+    private double price;
+
+    @Column(length = 8)
+    private String currency;
+
+    @Column(name = "recorded_at", nullable = false)
+    private LocalDateTime recordedAt;
+
+    public MaterialPriceHistory() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getMaterialId() { return materialId; }
+    public void setMaterialId(Long materialId) { this.materialId = materialId; }
+
+    public Long getSupplierId() { return supplierId; }
+    public void setSupplierId(Long supplierId) { this.supplierId = supplierId; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public String getCounty() { return county; }
+    public void setCounty(String county) { this.county = county; }
+
+    public double getPrice() { return price; }
+    public void setPrice(double price) { this.price = price; }
+
+    public String getCurrency() { return currency; }
+    public void setCurrency(String currency) { this.currency = currency; }
+
+    public LocalDateTime getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(LocalDateTime recordedAt) { this.recordedAt = recordedAt; }
+}
@@ -4,7 +4,13 @@ import jakarta.persistence.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "material_sites")
+@EntityListeners(ChangeTrackingListener.class)
+@Table(name = "material_sites", indexes = {
+        @Index(name = "idx_material_sites_volume", columnList = "volume_unit, daily_volume_max"),
+        @Index(name = "idx_material_sites_employees", columnList = "employees_max"),
+        @Index(name = "idx_material_sites_years", columnList = "years_in_operation_max"),
+        @Index(name = "idx_material_sites_canonical", columnList = "canonical_material_id")
+})
 public class MaterialSite {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -61,6 +67,37 @@ public class MaterialSite {
     @Column(name = "sub_county")
     private String subCounty;
 
+    // Structured ranges parsed from the free-text capacity answers above (see CapacityParser).
+    // A null max means open-ended, e.g. "Over 100 men".
+    @Column(name = "daily_volume_min")
+    private Double dailyVolumeMin;
+
+    @Column(name = "daily_volume_max")
+    private Double dailyVolumeMax;
+
+    @Column(name = "volume_unit", length = 20)
+    private String volumeUnit; // tonnes, units, bags, litres, lorries
+
+    @Column(name = "employees_min")
+    private Integer employeesMin;
+
+    @Column(name = "employees_max")
+    private Integer employeesMax;
+
+    @Column(name = "years_in_operation_min")
+    private Integer yearsInOperationMin;
+
+    @Column(name = "years_in_operation_max")
+    private Integer yearsInOperationMax;
+
+    // Parser version that produced the columns above, null for rows not parsed yet
+    @Column(name = "capacity_parser_version")
+    private Integer capacityParserVersion;
+
+    // Taxonomy entry the material answer was matched to, null when nothing matched
+    @Column(name = "canonical_material_id")
+    private Long canonicalMaterialId;
+
     // Default constructor
     public MaterialSite() {}
 
@@ -160,4 +197,31 @@ public class MaterialSite {
 
     public String getSubCounty() { return subCounty; }
     public void setSubCounty(String subCounty) { this.subCounty = subCounty; }
+
+    public Double getDailyVolumeMin() { return dailyVolumeMin; }
+    public void setDailyVolumeMin(Double dailyVolumeMin) { this.dailyVolumeMin = dailyVolumeMin; }
+
+    public Double getDailyVolumeMax() { return dailyVolumeMax; }
+    public void setDailyVolumeMax(Double dailyVolumeMax) { this.dailyVolumeMax = dailyVolumeMax; }
+
+    public String getVolumeUnit() { return volumeUnit; }
+    public void setVolumeUnit(String volumeUnit) { this.volumeUnit = volumeUnit; }
+
+    public Integer getEmployeesMin() { return employeesMin; }
+    public void setEmployeesMin(Integer employeesMin) { this.employeesMin = employeesMin; }
+
+    public Integer getEmployeesMax() { return employeesMax; }
+    public void setEmployeesMax(Integer employeesMax) { this.employeesMax = employeesMax; }
+
+    public Integer getYearsInOperationMin() { return yearsInOperationMin; }
+    public void setYearsInOperationMin(Integer yearsInOperationMin) { this.yearsInOperationMin = yearsInOperationMin; }
+
+    public Integer getYearsInOperationMax() { return yearsInOperationMax; }
+    public void setYearsInOperationMax(Integer yearsInOperationMax) { this.yearsInOperationMax = yearsInOperationMax; }
+
+    public Integer getCapacityParserVersion() { return capacityParserVersion; }
+    public void setCapacityParserVersion(Integer capacityParserVersion) { this.capacityParserVersion = capacityParserVersion; }
+
+    public Long getCanonicalMaterialId() { return canonicalMaterialId; }
+    public void setCanonicalMaterialId(Long canonicalMaterialId) { this.canonicalMaterialId = canonicalMaterialId; }
 }
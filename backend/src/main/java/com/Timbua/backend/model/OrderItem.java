@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+        @Index(name = "idx_order_items_canonical", columnList = "canonical_material_id")
+})
 @JsonIgnoreProperties({"order"})
 public class OrderItem {
 
@@ -34,6 +36,10 @@ public class OrderItem {
     private Double taxAmount = 0.0;
     private Double discount = 0.0;
 
+    // Taxonomy entry matched from the material name or category, null when nothing matched
+    @Column(name = "canonical_material_id")
+    private Long canonicalMaterialId;
+
     // ===== Constructors =====
     public OrderItem() {}
 
@@ -113,4 +119,7 @@ public class OrderItem {
         this.discount = discount;
         calculateTotal();
     }
+
+    public Long getCanonicalMaterialId() { return canonicalMaterialId; }
+    public void setCanonicalMaterialId(Long canonicalMaterialId) { this.canonicalMaterialId = canonicalMaterialId; }
 }
@@ -1,13 +1,21 @@
 package com.Timbua.backend.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
-@Table(name = "quotation_requests")
+@Table(name = "quotation_requests", indexes = {
+        @Index(name = "idx_quotation_requests_canonical", columnList = "canonical_material_id")
+})
 public class QuotationRequest {
 
     @Id
@@ -26,6 +34,15 @@ public class QuotationRequest {
     @JsonIgnoreProperties({"materials", "password", "documents", "invitedSuppliers"})  // Exclude sensitive/bidirectional fields
     private List<Supplier> invitedSuppliers = new ArrayList<>();
 
+    // When each supplier was invited, the start of its quote response time. Suppliers can be
+    // added after the request was created, so this is kept per supplier
+    @ElementCollection
+    @CollectionTable(name = "quotation_request_invitations", joinColumns = @JoinColumn(name = "request_id"))
+    @MapKeyColumn(name = "supplier_id")
+    @Column(name = "invited_at", nullable = false)
+    @JsonIgnore
+    private Map<Long, LocalDateTime> invitationTimes = new HashMap<>();
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "contractor_id")
     @JsonIgnoreProperties({"quotationRequests", "password", "documents", "constructionSites"})  // Prevent circular reference
@@ -34,10 +51,18 @@ public class QuotationRequest {
     private Long siteId;           // Site where materials are needed
 
     private String material;
+
+    // Taxonomy entry matched from the material text, null when nothing matched
+    @Column(name = "canonical_material_id")
+    private Long canonicalMaterialId;
     private double quantity;
     private String unit;
     private LocalDate deadline;
 
+    @CreationTimestamp
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
     @Enumerated(EnumType.STRING)
     private Status status = Status.PENDING;
 
@@ -63,16 +88,23 @@ public class QuotationRequest {
     public List<Supplier> getInvitedSuppliers() { return invitedSuppliers; }
     public void setInvitedSuppliers(List<Supplier> invitedSuppliers) { this.invitedSuppliers = invitedSuppliers; }
 
-    // Helper method to add a single supplier
+    // Helper method to add a single supplier, invited now
     public void addInvitedSupplier(Supplier supplier) {
         if (!invitedSuppliers.contains(supplier)) {
             invitedSuppliers.add(supplier);
+            invitationTimes.put(supplier.getId(), LocalDateTime.now());
         }
     }
 
     // Helper method to remove a supplier
     public void removeInvitedSupplier(Supplier supplier) {
         invitedSuppliers.remove(supplier);
+        invitationTimes.remove(supplier.getId());
+    }
+
+    // When the supplier was invited, null if it is not (or no time was recorded)
+    public LocalDateTime getInvitedAt(Long supplierId) {
+        return invitationTimes.get(supplierId);
     }
 
     public Contractor getContractor() { return contractor; }
@@ -102,4 +134,10 @@ public class QuotationRequest {
 
     public List<Quote> getQuotes() { return quotes; }
     public void setQuotes(List<Quote> quotes) { this.quotes = quotes; }
+
+    public Long getCanonicalMaterialId() { return canonicalMaterialId; }
+    public void setCanonicalMaterialId(Long canonicalMaterialId) { this.canonicalMaterialId = canonicalMaterialId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 }
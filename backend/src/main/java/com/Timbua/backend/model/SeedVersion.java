@@ -0,0 +1,85 @@
+package com.Timbua.backend.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * One applied seed data file, recorded so startup only has to compare checksums
+ * instead of looking at the seeded tables.
+ */
+@Entity
+@Table(name = "seed_versions",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"dataset", "version"}))
+public class SeedVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String dataset; // e.g. material_sites
+
+    @Column(nullable = false)
+    private Integer version;
+
+    private String description;
+
+    @Column(name = "script", nullable = false)
+    private String script; // file name, e.g. V1__coastal_survey.csv
+
+    @Column(nullable = false, length = 64)
+    private String checksum; // SHA-256 of the file, hex encoded
+
+    private Integer rowCount;
+
+    // True when the rows were already present and the file was only recorded as applied
+    private boolean baseline = false;
+
+    private LocalDateTime appliedAt;
+
+    public SeedVersion() {}
+
+    public SeedVersion(String dataset, Integer version, String description, String script,
+                       String checksum, Integer rowCount, boolean baseline) {
+        this.dataset = dataset;
+        this.version = version;
+        this.description = description;
+        this.script = script;
+        this.checksum = checksum;
+        this.rowCount = rowCount;
+        this.baseline = baseline;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        appliedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getDataset() { return dataset; }
+    public void setDataset(String dataset) { this.dataset = dataset; }
+
+    public Integer getVersion() { return version; }
+    public void setVersion(Integer version) { this.version = version; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public String getScript() { return script; }
+    public void setScript(String script) { this.script = script; }
+
+    public String getChecksum() { return checksum; }
+    public void setChecksum(String checksum) { this.checksum = checksum; }
+
+    public Integer getRowCount() { return rowCount; }
+    public void setRowCount(Integer rowCount) { this.rowCount = rowCount; }
+
+    public boolean isBaseline() { return baseline; }
+    public void setBaseline(boolean baseline) { this.baseline = baseline; }
+
+    public LocalDateTime getAppliedAt() { return appliedAt; }
+    public void setAppliedAt(LocalDateTime appliedAt) { this.appliedAt = appliedAt; }
+}
@@ -3,6 +3,7 @@ package com.Timbua.backend.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -12,10 +13,15 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@EntityListeners(ChangeTrackingListener.class)
 @Table(name = "suppliers",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"email"}),
                 @UniqueConstraint(columnNames = {"business_registration_number"})
+        },
+        indexes = {
+                @Index(name = "idx_suppliers_available_count", columnList = "available_material_count, id"),
+                @Index(name = "idx_suppliers_directory", columnList = "status, is_verified, years_in_business")
         })
 public class Supplier {
 
@@ -62,6 +68,12 @@ public class Supplier {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Listings currently marked available. Maintained with SQL increments by
+    // SupplierAvailabilityCounter in the transaction that changes them, never written by JPA
+    @ColumnDefault("0")
+    @Column(name = "available_material_count", nullable = false, insertable = false, updatable = false)
+    private int availableMaterialCount;
+
     // Materials supplied by this supplier
     @OneToMany(mappedBy = "supplier", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnoreProperties("supplier")  // Prevent circular reference
@@ -142,6 +154,8 @@ public class Supplier {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public int getAvailableMaterialCount() { return availableMaterialCount; }
+
     public List<Material> getMaterials() { return materials; }
     public void setMaterials(List<Material> materials) { this.materials = materials; }
 
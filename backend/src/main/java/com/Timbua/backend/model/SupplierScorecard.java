@@ -0,0 +1,91 @@
+package com.Timbua.backend.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running quote and delivery totals of one supplier, maintained by SupplierScorecardService
+ * with additive upserts as invitations, quotes and deliveries happen. Rates and the median
+ * response time are derived from these totals when read.
+ */
+@Entity
+@Table(name = "supplier_scorecards")
+public class SupplierScorecard {
+
+    @Id
+    @Column(name = "supplier_id")
+    private Long supplierId;
+
+    @Column(nullable = false)
+    private long invitations;
+
+    @Column(name = "quotes_submitted", nullable = false)
+    private long quotesSubmitted;
+
+    @Column(name = "quotes_accepted", nullable = false)
+    private long quotesAccepted;
+
+    // Quotes whose response time is known, and the sum of those times
+    @Column(name = "responses_timed", nullable = false)
+    private long responsesTimed;
+
+    @Column(name = "response_minutes_sum", nullable = false)
+    private long responseMinutesSum;
+
+    // Response times counted per SupplierScorecardService bucket, for the median
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "response_histogram", nullable = false)
+    private long[] responseHistogram;
+
+    // Delivered orders that had an expected delivery date
+    @Column(name = "deliveries_measured", nullable = false)
+    private long deliveriesMeasured;
+
+    @Column(name = "deliveries_on_time", nullable = false)
+    private long deliveriesOnTime;
+
+    @Column(name = "late_days_sum", nullable = false)
+    private long lateDaysSum;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public SupplierScorecard() {}
+
+    // Getters and Setters
+    public Long getSupplierId() { return supplierId; }
+    public void setSupplierId(Long supplierId) { this.supplierId = supplierId; }
+
+    public long getInvitations() { return invitations; }
+    public void setInvitations(long invitations) { this.invitations = invitations; }
+
+    public long getQuotesSubmitted() { return quotesSubmitted; }
+    public void setQuotesSubmitted(long quotesSubmitted) { this.quotesSubmitted = quotesSubmitted; }
+
+    public long getQuotesAccepted() { return quotesAccepted; }
+    public void setQuotesAccepted(long quotesAccepted) { this.quotesAccepted = quotesAccepted; }
+
+    public long getResponsesTimed() { return responsesTimed; }
+    public void setResponsesTimed(long responsesTimed) { this.responsesTimed = responsesTimed; }
+
+    public long getResponseMinutesSum() { return responseMinutesSum; }
+    public void setResponseMinutesSum(long responseMinutesSum) { this.responseMinutesSum = responseMinutesSum; }
+
+    public long[] getResponseHistogram() { return responseHistogram; }
+    public void setResponseHistogram(long[] responseHistogram) { this.responseHistogram = responseHistogram; }
+
+    public long getDeliveriesMeasured() { return deliveriesMeasured; }
+    public void setDeliveriesMeasured(long deliveriesMeasured) { this.deliveriesMeasured = deliveriesMeasured; }
+
+    public long getDeliveriesOnTime() { return deliveriesOnTime; }
+    public void setDeliveriesOnTime(long deliveriesOnTime) { this.deliveriesOnTime = deliveriesOnTime; }
+
+    public long getLateDaysSum() { return lateDaysSum; }
+    public void setLateDaysSum(long lateDaysSum) { this.lateDaysSum = lateDaysSum; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
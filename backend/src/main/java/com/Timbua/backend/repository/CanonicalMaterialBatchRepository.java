@@ -0,0 +1,77 @@
+package com.Timbua.backend.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to the canonical_material_id columns of the tables holding free-text
+ * material names: paging through unassigned rows for the backfill, writing the ids
+ * back in batches, and counting rows per canonical material on the indexed column.
+ */
+@Repository
+public class CanonicalMaterialBatchRepository {
+
+    // Tables with a canonical_material_id column and the text columns it is matched from, in order of preference
+    public enum MaterialTable {
+        MATERIAL_SITES("material_sites", "material"),
+        MATERIALS("materials", "name", "category"),
+        ORDER_ITEMS("order_items", "material_name", "category"),
+        QUOTATION_REQUESTS("quotation_requests", "material");
+
+        private final String table;
+        private final List<String> textColumns;
+
+        MaterialTable(String table, String... textColumns) {
+            this.table = table;
+            this.textColumns = List.of(textColumns);
+        }
+
+        public String getTable() { return table; }
+    }
+
+    public record UnassignedRow(long id, List<String> texts) {}
+
+    public record Assignment(long id, Long canonicalMaterialId) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CanonicalMaterialBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Next page (by id) of rows without a canonical material id
+     */
+    public List<UnassignedRow> findUnassignedPage(MaterialTable table, long afterId, int limit) {
+        String sql = "SELECT id, " + String.join(", ", table.textColumns) + " FROM " + table.table
+                + " WHERE id > ? AND canonical_material_id IS NULL ORDER BY id LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            List<String> texts = new ArrayList<>(table.textColumns.size());
+            for (String column : table.textColumns) {
+                texts.add(rs.getString(column));
+            }
+            return new UnassignedRow(rs.getLong("id"), texts);
+        }, afterId, limit);
+    }
+
+    public void assign(MaterialTable table, List<Assignment> assignments) {
+        if (assignments.isEmpty()) {
+            return;
+        }
+        String sql = "UPDATE " + table.table + " SET canonical_material_id = ? WHERE id = ?";
+        jdbcTemplate.batchUpdate(sql, assignments, assignments.size(), (ps, assignment) -> {
+            ps.setObject(1, assignment.canonicalMaterialId(), Types.BIGINT);
+            ps.setLong(2, assignment.id());
+        });
+    }
+
+    public long countByCanonicalMaterial(MaterialTable table, Long canonicalMaterialId) {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table.table
+                + " WHERE canonical_material_id = ?", Long.class, canonicalMaterialId);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,12 @@
+package com.Timbua.backend.repository;
+
+import com.Timbua.backend.model.CanonicalMaterial;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CanonicalMaterialRepository extends JpaRepository<CanonicalMaterial, Long> {
+    List<CanonicalMaterial> findAllByOrderByFamilyAscNameAsc();
+}
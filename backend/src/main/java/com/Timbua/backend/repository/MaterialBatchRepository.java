@@ -0,0 +1,212 @@
+package com.Timbua.backend.repository;
+
+import com.Timbua.backend.model.Material;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plain JDBC reads and writes for bulk material changes. Material uses IDENTITY ids, so
+ * Hibernate cannot batch its inserts. Materials returned here are not managed entities and
+ * have no supplier set; callers own index and cache maintenance.
+ */
+@Repository
+public class MaterialBatchRepository {
+
+    private static final String SELECT_COLUMNS = "SELECT id, name, category, price, currency, unit, location, "
+            + "rating, contact, delivery_time, min_order, available, supplier_lat, supplier_lng, created_at, updated_at, "
+            + "canonical_material_id FROM materials ";
+
+    private static final String SELECT_BY_SUPPLIER_SQL = SELECT_COLUMNS + "WHERE supplier_id = ?";
+
+    private static final String SELECT_BY_SUPPLIER_FOR_UPDATE_SQL = SELECT_BY_SUPPLIER_SQL + " ORDER BY id FOR UPDATE";
+
+    private static final String SELECT_FOR_UPDATE_SQL = SELECT_COLUMNS
+            + "WHERE supplier_id = ? AND id = ANY(?) ORDER BY id FOR UPDATE";
+
+    private static final String INSERT_SQL = "INSERT INTO materials (name, category, price, currency, unit, location, "
+            + "rating, contact, delivery_time, min_order, available, supplier_lat, supplier_lng, supplier_id, "
+            + "created_at, updated_at, canonical_material_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL = "UPDATE materials SET name = ?, category = ?, price = ?, currency = ?, "
+            + "unit = ?, location = ?, delivery_time = ?, min_order = ?, available = ?, updated_at = ?, "
+            + "canonical_material_id = ? WHERE id = ?";
+
+    private static final String UPDATE_AVAILABILITY_AND_PRICE_SQL = "UPDATE materials m SET available = u.available, "
+            + "price = u.price, updated_at = u.updated_at "
+            + "FROM unnest(?::bigint[], ?::boolean[], ?::float8[], ?::timestamp[]) AS u(id, available, price, updated_at) "
+            + "WHERE m.id = u.id";
+
+    // Rows written before updated_at was filled on insert; the catalog's updated sort needs it set
+    private static final String FILL_UPDATED_AT_SQL = "UPDATE materials SET updated_at = COALESCE(created_at, now()) "
+            + "WHERE updated_at IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MaterialBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Set updated_at of rows that have none to their creation time, returning how many changed
+     */
+    public int fillMissingUpdatedAt() {
+        return jdbcTemplate.update(FILL_UPDATED_AT_SQL);
+    }
+
+    /**
+     * All of the supplier's materials, locked in id order until the transaction ends
+     */
+    public List<Material> findBySupplierIdForUpdate(Long supplierId) {
+        return jdbcTemplate.query(SELECT_BY_SUPPLIER_FOR_UPDATE_SQL, MaterialBatchRepository::mapMaterial, supplierId);
+    }
+
+    /**
+     * The supplier's materials among ids, locked until the transaction ends. Rows are locked
+     * in id order so concurrent batches cannot deadlock.
+     */
+    public List<Material> findBySupplierIdForUpdate(Long supplierId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_FOR_UPDATE_SQL);
+            ps.setLong(1, supplierId);
+            ps.setArray(2, con.createArrayOf("bigint", ids.toArray()));
+            return ps;
+        }, MaterialBatchRepository::mapMaterial);
+    }
+
+    /**
+     * Insert the materials for a supplier in one JDBC batch and set their generated ids.
+     * createdAt and updatedAt must be set by the caller.
+     */
+    public void insertAll(List<Material> materials, Long supplierId) {
+        if (materials.isEmpty()) {
+            return;
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bindInsert(ps, materials.get(i), supplierId);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return materials.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < materials.size(); i++) {
+            materials.get(i).setId(((Number) generated.get(i).get("id")).longValue());
+        }
+    }
+
+    /**
+     * Write back the editable columns of the materials in one JDBC batch
+     */
+    public void updateAll(List<Material> materials) {
+        if (materials.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, materials, materials.size(), (ps, material) -> {
+            ps.setString(1, material.getName());
+            ps.setString(2, material.getCategory());
+            ps.setDouble(3, material.getPrice());
+            ps.setString(4, material.getCurrency());
+            ps.setString(5, material.getUnit());
+            ps.setString(6, material.getLocation());
+            ps.setString(7, material.getDeliveryTime());
+            ps.setObject(8, material.getMinOrder(), Types.INTEGER);
+            ps.setBoolean(9, material.isAvailable());
+            ps.setTimestamp(10, Timestamp.valueOf(material.getUpdatedAt()));
+            ps.setObject(11, material.getCanonicalMaterialId(), Types.BIGINT);
+            ps.setLong(12, material.getId());
+        });
+    }
+
+    /**
+     * Write availability, price and updatedAt of the materials in a single statement
+     */
+    public void updateAvailabilityAndPrice(List<Material> materials) {
+        if (materials.isEmpty()) {
+            return;
+        }
+        Long[] ids = new Long[materials.size()];
+        Boolean[] available = new Boolean[materials.size()];
+        Double[] prices = new Double[materials.size()];
+        Timestamp[] updatedAt = new Timestamp[materials.size()];
+        for (int i = 0; i < materials.size(); i++) {
+            Material material = materials.get(i);
+            ids[i] = material.getId();
+            available[i] = material.isAvailable();
+            prices[i] = material.getPrice();
+            updatedAt[i] = Timestamp.valueOf(material.getUpdatedAt());
+        }
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(UPDATE_AVAILABILITY_AND_PRICE_SQL);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            ps.setArray(2, con.createArrayOf("boolean", available));
+            ps.setArray(3, con.createArrayOf("float8", prices));
+            ps.setArray(4, con.createArrayOf("timestamp", updatedAt));
+            return ps;
+        });
+    }
+
+    private static Material mapMaterial(ResultSet rs, int rowNum) throws SQLException {
+        Material material = new Material();
+        material.setId(rs.getLong("id"));
+        material.setName(rs.getString("name"));
+        material.setCategory(rs.getString("category"));
+        material.setPrice(rs.getDouble("price"));
+        material.setCurrency(rs.getString("currency"));
+        material.setUnit(rs.getString("unit"));
+        material.setLocation(rs.getString("location"));
+        material.setRating(rs.getDouble("rating"));
+        material.setContact(rs.getString("contact"));
+        material.setDeliveryTime(rs.getString("delivery_time"));
+        material.setMinOrder(rs.getObject("min_order", Integer.class));
+        material.setAvailable(rs.getBoolean("available"));
+        material.setSupplierLat(rs.getObject("supplier_lat", Double.class));
+        material.setSupplierLng(rs.getObject("supplier_lng", Double.class));
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        material.setCreatedAt(createdAt != null ? createdAt.toLocalDateTime() : null);
+        Timestamp updatedAt = rs.getTimestamp("updated_at");
+        material.setUpdatedAt(updatedAt != null ? updatedAt.toLocalDateTime() : null);
+        material.setCanonicalMaterialId(rs.getObject("canonical_material_id", Long.class));
+        return material;
+    }
+
+    private static void bindInsert(PreparedStatement ps, Material material, Long supplierId) throws SQLException {
+        ps.setString(1, material.getName());
+        ps.setString(2, material.getCategory());
+        ps.setDouble(3, material.getPrice());
+        ps.setString(4, material.getCurrency());
+        ps.setString(5, material.getUnit());
+        ps.setString(6, material.getLocation());
+        ps.setDouble(7, material.getRating());
+        ps.setString(8, material.getContact());
+        ps.setString(9, material.getDeliveryTime());
+        ps.setObject(10, material.getMinOrder(), Types.INTEGER);
+        ps.setBoolean(11, material.isAvailable());
+        ps.setObject(12, material.getSupplierLat(), Types.DOUBLE);
+        ps.setObject(13, material.getSupplierLng(), Types.DOUBLE);
+        ps.setLong(14, supplierId);
+        ps.setTimestamp(15, Timestamp.valueOf(material.getCreatedAt()));
+        ps.setTimestamp(16, Timestamp.valueOf(material.getUpdatedAt()));
+        ps.setObject(17, material.getCanonicalMaterialId(), Types.BIGINT);
+    }
+}
@@ -0,0 +1,26 @@
+package com.Timbua.backend.repository;
+
+import com.Timbua.backend.dto.MaterialSummaryDTO;
+
+import java.util.List;
+
+/**
+ * Keyset-paginated catalog reads for materials, implemented with the Criteria API in
+ * MaterialCatalogQueriesImpl and mixed into MaterialRepository.
+ */
+public interface MaterialCatalogQueries {
+
+    enum CatalogSort { PRICE_ASC, PRICE_DESC, UPDATED_DESC }
+
+    record CatalogFilter(String category, Boolean available, String unit, Double minPrice, Double maxPrice) {}
+
+    /**
+     * Position of the last row of the previous page: its sort value (price or updatedAt) and id
+     */
+    record CatalogKey(Object value, Long id) {}
+
+    /**
+     * Up to limit summaries in sort order, starting strictly after the given key (null for the first page)
+     */
+    List<MaterialSummaryDTO> findCatalogPage(CatalogFilter filter, CatalogSort sort, CatalogKey after, int limit);
+}
@@ -0,0 +1,78 @@
+package com.Timbua.backend.repository;
+
+import com.Timbua.backend.dto.MaterialSummaryDTO;
+import com.Timbua.backend.model.Material;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class MaterialCatalogQueriesImpl implements MaterialCatalogQueries {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<MaterialSummaryDTO> findCatalogPage(CatalogFilter filter, CatalogSort sort, CatalogKey after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<MaterialSummaryDTO> query = cb.createQuery(MaterialSummaryDTO.class);
+        Root<Material> m = query.from(Material.class);
+        query.select(cb.construct(MaterialSummaryDTO.class,
+                m.get("id"), m.get("name"), m.get("category"), m.get("price"), m.get("currency"), m.get("unit"),
+                m.get("location"), m.get("rating"), m.get("available"), m.get("supplier").get("id"),
+                m.get("updatedAt")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.category() != null) {
+            predicates.add(cb.equal(m.get("category"), filter.category()));
+        }
+        if (filter.available() != null) {
+            predicates.add(cb.equal(m.get("available"), filter.available()));
+        }
+        if (filter.unit() != null) {
+            predicates.add(cb.equal(m.get("unit"), filter.unit()));
+        }
+        if (filter.minPrice() != null) {
+            predicates.add(cb.ge(m.<Double>get("price"), filter.minPrice()));
+        }
+        if (filter.maxPrice() != null) {
+            predicates.add(cb.le(m.<Double>get("price"), filter.maxPrice()));
+        }
+
+        Path<Long> id = m.get("id");
+        switch (sort) {
+            case PRICE_ASC, PRICE_DESC -> {
+                Path<Double> price = m.get("price");
+                boolean ascending = sort == CatalogSort.PRICE_ASC;
+                if (after != null) {
+                    Double value = (Double) after.value();
+                    // (price, id) > (value, lastId) in sort direction
+                    predicates.add(ascending
+                            ? cb.or(cb.gt(price, value), cb.and(cb.equal(price, value), cb.gt(id, after.id())))
+                            : cb.or(cb.lt(price, value), cb.and(cb.equal(price, value), cb.lt(id, after.id()))));
+                }
+                query.orderBy(ascending ? cb.asc(price) : cb.desc(price), ascending ? cb.asc(id) : cb.desc(id));
+            }
+            case UPDATED_DESC -> {
+                // updated_at is never null (see MaterialUpdatedAtBackfill), so idx_materials_updated serves this
+                Path<LocalDateTime> updatedAt = m.get("updatedAt");
+                if (after != null) {
+                    LocalDateTime value = (LocalDateTime) after.value();
+                    predicates.add(cb.or(cb.lessThan(updatedAt, value),
+                            cb.and(cb.equal(updatedAt, value), cb.lt(id, after.id()))));
+                }
+                query.orderBy(cb.desc(updatedAt), cb.desc(id));
+            }
+        }
+
+        query.where(predicates.toArray(new Predicate[0]));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
@@ -0,0 +1,121 @@
+package com.Timbua.backend.repository;
+
+import com.Timbua.backend.dto.PricePointDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC access to the append-only price history and its daily rollup. Writes are
+ * batched; reads return series already grouped into day or week buckets by Postgres.
+ */
+@Repository
+public class MaterialPriceHistoryRepository {
+
+    public record PriceRecord(Long materialId, Long supplierId, String category, String county,
+                              double price, String currency, LocalDateTime recordedAt) {}
+
+    // Prices of one (day, category, county, currency) bucket, aggregated before upserting
+    public record DailyRollup(LocalDate bucketDate, String category, String county, String currency,
+                              long sampleCount, double priceSum, double minPrice, double maxPrice) {}
+
+    private static final String INSERT_SQL = "INSERT INTO material_price_history "
+            + "(material_id, supplier_id, category, county, price, currency, recorded_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_DAILY_SQL = "INSERT INTO material_price_daily "
+            + "(bucket_date, category, county, currency, sample_count, price_sum, min_price, max_price) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (category, county, currency, bucket_date) DO UPDATE SET "
+            + "sample_count = material_price_daily.sample_count + EXCLUDED.sample_count, "
+            + "price_sum = material_price_daily.price_sum + EXCLUDED.price_sum, "
+            + "min_price = LEAST(material_price_daily.min_price, EXCLUDED.min_price), "
+            + "max_price = GREATEST(material_price_daily.max_price, EXCLUDED.max_price)";
+
+    private static final String MATERIAL_SERIES_SQL = "SELECT CAST(date_trunc(?, recorded_at) AS date) AS bucket, "
+            + "COALESCE(currency, '') AS currency, AVG(price) AS average_price, MIN(price) AS min_price, "
+            + "MAX(price) AS max_price, COUNT(*) AS samples FROM material_price_history "
+            + "WHERE material_id = ? AND recorded_at >= ? AND recorded_at < ? GROUP BY 1, 2 ORDER BY 1, 2";
+
+    private static final RowMapper<PricePointDTO> PRICE_POINT_MAPPER = (rs, rowNum) -> new PricePointDTO(
+            rs.getObject("bucket", LocalDate.class),
+            rs.getString("currency"),
+            rs.getDouble("average_price"),
+            rs.getDouble("min_price"),
+            rs.getDouble("max_price"),
+            rs.getLong("samples"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MaterialPriceHistoryRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<PriceRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, records, records.size(), (ps, record) -> {
+            ps.setLong(1, record.materialId());
+            ps.setObject(2, record.supplierId(), Types.BIGINT);
+            ps.setString(3, record.category());
+            ps.setString(4, record.county());
+            ps.setDouble(5, record.price());
+            ps.setString(6, record.currency());
+            ps.setTimestamp(7, Timestamp.valueOf(record.recordedAt()));
+        });
+    }
+
+    public void upsertDaily(List<DailyRollup> rollups) {
+        if (rollups.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPSERT_DAILY_SQL, rollups, rollups.size(), (ps, rollup) -> {
+            ps.setObject(1, rollup.bucketDate());
+            ps.setString(2, rollup.category());
+            ps.setString(3, rollup.county());
+            ps.setString(4, rollup.currency());
+            ps.setLong(5, rollup.sampleCount());
+            ps.setDouble(6, rollup.priceSum());
+            ps.setDouble(7, rollup.minPrice());
+            ps.setDouble(8, rollup.maxPrice());
+        });
+    }
+
+    /**
+     * Price series of one listing, bucketed by "day" or "week", over [from, to)
+     */
+    public List<PricePointDTO> findMaterialSeries(long materialId, String bucket, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(MATERIAL_SERIES_SQL, PRICE_POINT_MAPPER, bucket, materialId,
+                Timestamp.valueOf(from.atStartOfDay()), Timestamp.valueOf(to.atStartOfDay()));
+    }
+
+    /**
+     * Category price series from the daily rollup, bucketed by "day" or "week", over [from, to).
+     * Category, county and currency must already be normalised the way the rollup stores them.
+     */
+    public List<PricePointDTO> findTrend(String category, String county, String currency, String bucket,
+                                         LocalDate from, LocalDate to) {
+        StringBuilder sql = new StringBuilder("SELECT CAST(date_trunc(?, CAST(bucket_date AS timestamp)) AS date) AS bucket, "
+                + "currency, SUM(price_sum) / SUM(sample_count) AS average_price, MIN(min_price) AS min_price, "
+                + "MAX(max_price) AS max_price, SUM(sample_count) AS samples FROM material_price_daily "
+                + "WHERE category = ? AND bucket_date >= ? AND bucket_date < ?");
+        List<Object> args = new ArrayList<>(List.of(bucket, category, from, to));
+        if (county != null) {
+            sql.append(" AND county = ?");
+            args.add(county);
+        }
+        if (currency != null) {
+            sql.append(" AND currency = ?");
+            args.add(currency);
+        }
+        sql.append(" GROUP BY 1, 2 ORDER BY 1, 2");
+        return jdbcTemplate.query(sql.toString(), PRICE_POINT_MAPPER, args.toArray());
+    }
+}
@@ -1,13 +1,37 @@
 package com.Timbua.backend.repository;
 
 import com.Timbua.backend.model.Material;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface MaterialRepository extends JpaRepository<Material, Long> {
+public interface MaterialRepository extends JpaRepository<Material, Long>, MaterialCatalogQueries {
     List<Material> findBySupplierId(Long supplierId);
     List<Material> findByCategory(String category);
+
+    // Row locked until the transaction ends, so availability deltas are taken from the committed value
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Material m WHERE m.id = :id")
+    Optional<Material> findByIdForUpdate(@Param("id") Long id);
+
+    // Used to build the in-memory catalog indexes, fetches the supplier in the same query
+    @Query("SELECT m FROM Material m JOIN FETCH m.supplier")
+    List<Material> findAllWithSupplier();
+
+    // id, name and supplier id of every listing, for the autocomplete tries
+    @Query("SELECT m.id, m.name, s.id FROM Material m LEFT JOIN m.supplier s")
+    List<Object[]> findAutocompleteValues();
+
+    // supplier id, category and number of available listings, for the per-category breakdown
+    @Query("SELECT m.supplier.id, m.category, COUNT(m) FROM Material m "
+            + "WHERE m.available = true AND m.supplier.id IN :supplierIds GROUP BY m.supplier.id, m.category")
+    List<Object[]> countAvailableByCategory(@Param("supplierIds") Collection<Long> supplierIds);
 }
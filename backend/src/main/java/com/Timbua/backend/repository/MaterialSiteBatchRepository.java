@@ -0,0 +1,120 @@
+package com.Timbua.backend.repository;
+
+import com.Timbua.backend.model.MaterialSite;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Plain JDBC writes for material sites. MaterialSite uses IDENTITY ids, which stops
+ * Hibernate from batching inserts, so bulk loads go through JDBC batches instead.
+ * Callers are responsible for refreshing MaterialSiteService's in-memory indexes.
+ */
+@Repository
+public class MaterialSiteBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO material_sites (questionnaire_no, research_assistant_no, "
+            + "material, material_location, latitude, longitude, material_used_in, size_of_manufacturing_industry, "
+            + "period_of_manufacture, owner_of_material, material_usage, number_of_people_employed, similar_locations, "
+            + "volume_produced_per_day, comments, county, sub_county, daily_volume_min, daily_volume_max, volume_unit, "
+            + "employees_min, employees_max, years_in_operation_min, years_in_operation_max, capacity_parser_version, "
+            + "canonical_material_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_UNPARSED_SQL = "SELECT id, volume_produced_per_day, number_of_people_employed, "
+            + "period_of_manufacture FROM material_sites "
+            + "WHERE id > ? AND (capacity_parser_version IS NULL OR capacity_parser_version < ?) ORDER BY id LIMIT ?";
+
+    private static final String UPDATE_CAPACITY_SQL = "UPDATE material_sites SET daily_volume_min = ?, daily_volume_max = ?, "
+            + "volume_unit = ?, employees_min = ?, employees_max = ?, years_in_operation_min = ?, "
+            + "years_in_operation_max = ?, capacity_parser_version = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MaterialSiteBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Insert the sites in JDBC batches of batchSize. Generated ids are not read back.
+     */
+    public void insertAll(List<MaterialSite> sites, int batchSize) {
+        if (sites.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, sites, batchSize, MaterialSiteBatchRepository::bindInsert);
+    }
+
+    /**
+     * Next page (by id) of sites whose capacity columns were not parsed by the given parser
+     * version. Only the id and the free-text capacity answers are loaded.
+     */
+    public List<MaterialSite> findCapacityBackfillPage(long afterId, int parserVersion, int limit) {
+        return jdbcTemplate.query(SELECT_UNPARSED_SQL, (rs, rowNum) -> {
+            MaterialSite site = new MaterialSite();
+            site.setId(rs.getLong("id"));
+            site.setVolumeProducedPerDay(rs.getString("volume_produced_per_day"));
+            site.setNumberOfPeopleEmployed(rs.getString("number_of_people_employed"));
+            site.setPeriodOfManufacture(rs.getString("period_of_manufacture"));
+            return site;
+        }, afterId, parserVersion, limit);
+    }
+
+    /**
+     * Write back the parsed capacity columns of the given sites in one JDBC batch
+     */
+    public void updateCapacity(List<MaterialSite> sites) {
+        if (sites.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(UPDATE_CAPACITY_SQL, sites, sites.size(), (ps, site) -> {
+            bindCapacity(ps, 1, site);
+            ps.setLong(9, site.getId());
+        });
+    }
+
+    /**
+     * Cheap emptiness check that stops at the first row
+     */
+    public boolean hasAnyRows() {
+        Boolean exists = jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM material_sites)", Boolean.class);
+        return Boolean.TRUE.equals(exists);
+    }
+
+    private static void bindInsert(PreparedStatement ps, MaterialSite site) throws SQLException {
+        ps.setObject(1, site.getQuestionnaireNo(), Types.INTEGER);
+        ps.setString(2, site.getResearchAssistantNo());
+        ps.setString(3, site.getMaterial());
+        ps.setString(4, site.getMaterialLocation());
+        ps.setObject(5, site.getLatitude(), Types.NUMERIC);
+        ps.setObject(6, site.getLongitude(), Types.NUMERIC);
+        ps.setString(7, site.getMaterialUsedIn());
+        ps.setString(8, site.getSizeOfManufacturingIndustry());
+        ps.setString(9, site.getPeriodOfManufacture());
+        ps.setString(10, site.getOwnerOfMaterial());
+        ps.setString(11, site.getMaterialUsage());
+        ps.setString(12, site.getNumberOfPeopleEmployed());
+        ps.setString(13, site.getSimilarLocations());
+        ps.setString(14, site.getVolumeProducedPerDay());
+        ps.setString(15, site.getComments());
+        ps.setString(16, site.getCounty());
+        ps.setString(17, site.getSubCounty());
+        bindCapacity(ps, 18, site);
+        ps.setObject(26, site.getCanonicalMaterialId(), Types.BIGINT);
+    }
+
+    // Binds the eight parsed capacity columns starting at the given parameter index
+    private static void bindCapacity(PreparedStatement ps, int index, MaterialSite site) throws SQLException {
+        ps.setObject(index, site.getDailyVolumeMin(), Types.DOUBLE);
+        ps.setObject(index + 1, site.getDailyVolumeMax(), Types.DOUBLE);
+        ps.setString(index + 2, site.getVolumeUnit());
+        ps.setObject(index + 3, site.getEmployeesMin(), Types.INTEGER);
+        ps.setObject(index + 4, site.getEmployeesMax(), Types.INTEGER);
+        ps.setObject(index + 5, site.getYearsInOperationMin(), Types.INTEGER);
+        ps.setObject(index + 6, site.getYearsInOperationMax(), Types.INTEGER);
+        ps.setObject(index + 7, site.getCapacityParserVersion(), Types.INTEGER);
+    }
+}
@@ -2,13 +2,18 @@ package com.Timbua.backend.repository;
 
 import com.Timbua.backend.model.MaterialSite;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface MaterialSiteRepository extends JpaRepository<MaterialSite, Long> {
+public interface MaterialSiteRepository extends JpaRepository<MaterialSite, Long>, JpaSpecificationExecutor<MaterialSite> {
 
     List<MaterialSite> findByMaterialContainingIgnoreCase(String material);
 
@@ -37,4 +42,16 @@ public interface MaterialSiteRepository extends JpaRepository<MaterialSite, Long
 
     @Query("SELECT DISTINCT ms.subCounty FROM MaterialSite ms WHERE ms.county = :county AND ms.subCounty IS NOT NULL ORDER BY ms.subCounty")
     List<String> findSubCountiesByCounty(String county);
+
+    // id, material, county and sub-county of every site, for the autocomplete tries
+    @Query("SELECT ms.id, ms.material, ms.county, ms.subCounty FROM MaterialSite ms")
+    List<Object[]> findAutocompleteValues();
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT ms FROM MaterialSite ms ORDER BY ms.id")
+    Stream<MaterialSite> streamAllOrderById();
 }
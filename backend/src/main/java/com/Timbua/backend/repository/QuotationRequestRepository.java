@@ -2,9 +2,11 @@ package com.Timbua.backend.repository;
 
 import com.Timbua.backend.model.QuotationRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -25,4 +27,15 @@ public interface QuotationRequestRepository extends JpaRepository<QuotationReque
     // Find pending requests for a supplier
     @Query("SELECT qr FROM QuotationRequest qr JOIN qr.invitedSuppliers s WHERE s.id = :supplierId AND qr.status = 'PENDING'")
     List<QuotationRequest> findPendingRequestsForSupplier(@Param("supplierId") Long supplierId);
+
+    // Invitations saved before invitation times were kept start at the request's creation,
+    // the best time known for them
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO quotation_request_invitations (request_id, supplier_id, invited_at) "
+            + "SELECT qrs.request_id, qrs.supplier_id, qr.created_at FROM quotation_request_suppliers qrs "
+            + "JOIN quotation_requests qr ON qr.id = qrs.request_id "
+            + "WHERE qr.created_at IS NOT NULL AND NOT EXISTS (SELECT 1 FROM quotation_request_invitations i "
+            + "WHERE i.request_id = qrs.request_id AND i.supplier_id = qrs.supplier_id)", nativeQuery = true)
+    int fillMissingInvitationTimes();
 }
@@ -0,0 +1,12 @@
+package com.Timbua.backend.repository;
+
+import com.Timbua.backend.model.SeedVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface SeedVersionRepository extends JpaRepository<SeedVersion, Long> {
+    List<SeedVersion> findByDatasetOrderByVersionAsc(String dataset);
+}
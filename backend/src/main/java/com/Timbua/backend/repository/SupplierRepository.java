@@ -1,16 +1,76 @@
 package com.Timbua.backend.repository;
 
+import com.Timbua.backend.dto.SupplierResponseDTO;
 import com.Timbua.backend.model.Supplier;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
+
+    // Directory rows are selected straight into the DTO; null filters match every supplier
+    String DIRECTORY_SELECT = "SELECT new com.Timbua.backend.dto.SupplierResponseDTO(s.id, s.companyName, "
+            + "s.businessRegistrationNumber, s.contactPerson, s.email, s.phone, s.website, s.description, "
+            + "s.yearsInBusiness, s.logoUrl, s.status, s.role, s.isVerified, s.verificationDate, s.createdAt, "
+            + "s.updatedAt, s.availableMaterialCount) FROM Supplier s ";
+    String DIRECTORY_FILTER = "WHERE (:status IS NULL OR s.status = :status) "
+            + "AND (:verified IS NULL OR s.isVerified = :verified) "
+            + "AND (:minYears IS NULL OR s.yearsInBusiness >= :minYears) "
+            + "AND (:maxYears IS NULL OR s.yearsInBusiness <= :maxYears)";
+
     boolean existsByEmail(String email);
     boolean existsByBusinessRegistrationNumber(String businessRegistrationNumber);
     Optional<Supplier> findByEmail(String email); // Make sure this exists
     List<Supplier> findByIsVerifiedTrue();
+
+    // id and company name of every supplier, for the autocomplete tries
+    @Query("SELECT s.id, s.companyName FROM Supplier s")
+    List<Object[]> findAutocompleteValues();
+
+    @Query(value = DIRECTORY_SELECT + DIRECTORY_FILTER,
+            countQuery = "SELECT COUNT(s) FROM Supplier s " + DIRECTORY_FILTER)
+    Page<SupplierResponseDTO> findDirectory(@Param("status") Supplier.Status status, @Param("verified") Boolean verified,
+                                            @Param("minYears") Integer minYears, @Param("maxYears") Integer maxYears,
+                                            Pageable pageable);
+
+    @Query(DIRECTORY_SELECT + DIRECTORY_FILTER)
+    List<SupplierResponseDTO> findDirectory(@Param("status") Supplier.Status status, @Param("verified") Boolean verified,
+                                            @Param("minYears") Integer minYears, @Param("maxYears") Integer maxYears,
+                                            Sort sort);
+
+    // id, company name, status and verification of the given suppliers, for recommendations
+    @Query("SELECT s.id, s.companyName, s.status, s.isVerified FROM Supplier s WHERE s.id IN :ids")
+    List<Object[]> findRecommendationInfo(@Param("ids") Collection<Long> ids);
+
+    // Suppliers with at least one available listing, served by idx_suppliers_available_count
+    @Query(value = "SELECT s FROM Supplier s WHERE s.availableMaterialCount > 0 ORDER BY s.id",
+            countQuery = "SELECT COUNT(s) FROM Supplier s WHERE s.availableMaterialCount > 0")
+    Page<Supplier> findWithAvailableMaterials(Pageable pageable);
+
+    @Query("SELECT s FROM Supplier s WHERE s.availableMaterialCount > 0 ORDER BY s.id")
+    List<Supplier> findAllWithAvailableMaterials();
+
+    // Atomic in the database, so concurrent catalog writes for one supplier never lose an update
+    @Modifying
+    @Query(value = "UPDATE suppliers SET available_material_count = GREATEST(available_material_count + :delta, 0) "
+            + "WHERE id = :id", nativeQuery = true)
+    int adjustAvailableMaterialCount(@Param("id") Long id, @Param("delta") int delta);
+
+    // Recounts from the materials table, touching only the suppliers that drifted
+    @Modifying
+    @Query(value = "UPDATE suppliers s SET available_material_count = c.available "
+            + "FROM (SELECT sp.id, COUNT(m.id) AS available FROM suppliers sp "
+            + "LEFT JOIN materials m ON m.supplier_id = sp.id AND m.available GROUP BY sp.id) c "
+            + "WHERE c.id = s.id AND s.available_material_count IS DISTINCT FROM c.available", nativeQuery = true)
+    int reconcileAvailableMaterialCounts();
 }
\ No newline at end of file
@@ -0,0 +1,183 @@
+package com.Timbua.backend.repository;
+
+import com.Timbua.backend.model.SupplierScorecard;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to the supplier scorecards. Every change is an additive upsert, so concurrent
+ * quotes and deliveries of one supplier never overwrite each other's counts and no row has
+ * to be read first. The response histogram is added element-wise.
+ */
+@Repository
+public class SupplierScorecardRepository {
+
+    // Change to one supplier's totals; histogram holds per-bucket increments
+    public record Delta(long supplierId, long invitations, long quotesSubmitted, long quotesAccepted,
+                        long responsesTimed, long responseMinutesSum, long[] histogram,
+                        long deliveriesMeasured, long deliveriesOnTime, long lateDaysSum) {}
+
+    // Metrics the leaderboard can rank by, with the SQL of the value and of its sample size
+    public enum Ranking {
+        WIN_RATE("sc.quotes_accepted::float8 / sc.quotes_submitted", "sc.quotes_submitted", "DESC"),
+        RESPONSE_RATE("sc.quotes_submitted::float8 / sc.invitations", "sc.invitations", "DESC"),
+        ON_TIME_RATE("sc.deliveries_on_time::float8 / sc.deliveries_measured", "sc.deliveries_measured", "DESC"),
+        RESPONSE_TIME("sc.response_minutes_sum::float8 / sc.responses_timed", "sc.responses_timed", "ASC");
+
+        private final String value;
+        private final String samples;
+        private final String direction;
+
+        Ranking(String value, String samples, String direction) {
+            this.value = value;
+            this.samples = samples;
+            this.direction = direction;
+        }
+    }
+
+    public record RankedScorecard(SupplierScorecard scorecard, String companyName) {}
+
+    private static final String COLUMNS = "sc.supplier_id, sc.invitations, sc.quotes_submitted, sc.quotes_accepted, "
+            + "sc.responses_timed, sc.response_minutes_sum, sc.response_histogram, sc.deliveries_measured, "
+            + "sc.deliveries_on_time, sc.late_days_sum, sc.updated_at";
+
+    private static final String UPSERT_SQL = "INSERT INTO supplier_scorecards AS sc (supplier_id, invitations, "
+            + "quotes_submitted, quotes_accepted, responses_timed, response_minutes_sum, response_histogram, "
+            + "deliveries_measured, deliveries_on_time, late_days_sum, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (supplier_id) DO UPDATE SET "
+            + "invitations = sc.invitations + EXCLUDED.invitations, "
+            + "quotes_submitted = sc.quotes_submitted + EXCLUDED.quotes_submitted, "
+            + "quotes_accepted = sc.quotes_accepted + EXCLUDED.quotes_accepted, "
+            + "responses_timed = sc.responses_timed + EXCLUDED.responses_timed, "
+            + "response_minutes_sum = sc.response_minutes_sum + EXCLUDED.response_minutes_sum, "
+            + "response_histogram = (SELECT array_agg(COALESCE(current_count, 0) + COALESCE(added, 0) ORDER BY bucket) "
+            + "FROM unnest(sc.response_histogram, EXCLUDED.response_histogram) WITH ORDINALITY "
+            + "AS h(current_count, added, bucket)), "
+            + "deliveries_measured = sc.deliveries_measured + EXCLUDED.deliveries_measured, "
+            + "deliveries_on_time = sc.deliveries_on_time + EXCLUDED.deliveries_on_time, "
+            + "late_days_sum = sc.late_days_sum + EXCLUDED.late_days_sum, "
+            + "updated_at = EXCLUDED.updated_at";
+
+    // Totals rebuilt from the quote and order tables; response times are not recoverable there
+    private static final String BACKFILL_SQL = "INSERT INTO supplier_scorecards AS sc (supplier_id, invitations, "
+            + "quotes_submitted, quotes_accepted, responses_timed, response_minutes_sum, response_histogram, "
+            + "deliveries_measured, deliveries_on_time, late_days_sum, updated_at) "
+            + "SELECT s.id, "
+            + "(SELECT COUNT(*) FROM quotation_request_suppliers qrs WHERE qrs.supplier_id = s.id), "
+            + "(SELECT COUNT(*) FROM quotes q WHERE q.supplier_id = s.id), "
+            + "(SELECT COUNT(*) FROM quotes q WHERE q.supplier_id = s.id AND q.status = 'ACCEPTED'), "
+            + "0, 0, array_fill(0::bigint, ARRAY[?]), d.measured, d.on_time, d.late_days, now() "
+            + "FROM suppliers s CROSS JOIN LATERAL (SELECT COUNT(*) AS measured, "
+            + "COUNT(*) FILTER (WHERE o.actual_delivery_date <= o.expected_delivery_date) AS on_time, "
+            + "COALESCE(SUM(GREATEST(o.actual_delivery_date - o.expected_delivery_date, 0)), 0) AS late_days "
+            + "FROM orders o WHERE o.supplier_id = s.id AND o.expected_delivery_date IS NOT NULL "
+            + "AND o.actual_delivery_date IS NOT NULL) d "
+            + "ON CONFLICT (supplier_id) DO UPDATE SET "
+            + "invitations = sc.invitations + EXCLUDED.invitations, "
+            + "quotes_submitted = sc.quotes_submitted + EXCLUDED.quotes_submitted, "
+            + "quotes_accepted = sc.quotes_accepted + EXCLUDED.quotes_accepted, "
+            + "deliveries_measured = sc.deliveries_measured + EXCLUDED.deliveries_measured, "
+            + "deliveries_on_time = sc.deliveries_on_time + EXCLUDED.deliveries_on_time, "
+            + "late_days_sum = sc.late_days_sum + EXCLUDED.late_days_sum, "
+            + "updated_at = EXCLUDED.updated_at";
+
+    private static final RowMapper<SupplierScorecard> SCORECARD_MAPPER = (rs, rowNum) -> {
+        SupplierScorecard scorecard = new SupplierScorecard();
+        scorecard.setSupplierId(rs.getLong("supplier_id"));
+        scorecard.setInvitations(rs.getLong("invitations"));
+        scorecard.setQuotesSubmitted(rs.getLong("quotes_submitted"));
+        scorecard.setQuotesAccepted(rs.getLong("quotes_accepted"));
+        scorecard.setResponsesTimed(rs.getLong("responses_timed"));
+        scorecard.setResponseMinutesSum(rs.getLong("response_minutes_sum"));
+        Array histogram = rs.getArray("response_histogram");
+        Long[] counts = histogram != null ? (Long[]) histogram.getArray() : new Long[0];
+        long[] buckets = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            buckets[i] = counts[i] != null ? counts[i] : 0;
+        }
+        scorecard.setResponseHistogram(buckets);
+        scorecard.setDeliveriesMeasured(rs.getLong("deliveries_measured"));
+        scorecard.setDeliveriesOnTime(rs.getLong("deliveries_on_time"));
+        scorecard.setLateDaysSum(rs.getLong("late_days_sum"));
+        scorecard.setUpdatedAt(rs.getTimestamp("updated_at").toLocalDateTime());
+        return scorecard;
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SupplierScorecardRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void apply(List<Delta> deltas, LocalDateTime now) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        jdbcTemplate.batchUpdate(UPSERT_SQL, deltas, deltas.size(), (ps, delta) -> {
+            Long[] histogram = new Long[delta.histogram().length];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = delta.histogram()[i];
+            }
+            ps.setLong(1, delta.supplierId());
+            ps.setLong(2, delta.invitations());
+            ps.setLong(3, delta.quotesSubmitted());
+            ps.setLong(4, delta.quotesAccepted());
+            ps.setLong(5, delta.responsesTimed());
+            ps.setLong(6, delta.responseMinutesSum());
+            ps.setArray(7, ps.getConnection().createArrayOf("bigint", histogram));
+            ps.setLong(8, delta.deliveriesMeasured());
+            ps.setLong(9, delta.deliveriesOnTime());
+            ps.setLong(10, delta.lateDaysSum());
+            ps.setTimestamp(11, updatedAt);
+        });
+    }
+
+    public Optional<SupplierScorecard> findBySupplierId(long supplierId) {
+        List<SupplierScorecard> rows = jdbcTemplate.query("SELECT " + COLUMNS + " FROM supplier_scorecards sc "
+                + "WHERE sc.supplier_id = ?", SCORECARD_MAPPER, supplierId);
+        return rows.stream().findFirst();
+    }
+
+    /**
+     * Best scorecards by the ranking, among suppliers with at least minSamples behind it
+     */
+    public List<RankedScorecard> findLeaderboard(Ranking ranking, long minSamples, int limit) {
+        String sql = "SELECT " + COLUMNS + ", s.company_name FROM supplier_scorecards sc "
+                + "JOIN suppliers s ON s.id = sc.supplier_id "
+                + "WHERE " + ranking.samples + " >= GREATEST(?, 1) "
+                + "ORDER BY " + ranking.value + " " + ranking.direction + ", " + ranking.samples + " DESC, sc.supplier_id "
+                + "LIMIT ?";
+        return jdbcTemplate.query(sql, (rs, rowNum) ->
+                new RankedScorecard(SCORECARD_MAPPER.mapRow(rs, rowNum), rs.getString("company_name")), minSamples, limit);
+    }
+
+    /**
+     * supplier id, quotes submitted and quotes accepted of every scorecard
+     */
+    public List<long[]> findWinCounts() {
+        return jdbcTemplate.query("SELECT supplier_id, quotes_submitted, quotes_accepted FROM supplier_scorecards",
+                (rs, rowNum) -> new long[] {rs.getLong(1), rs.getLong(2), rs.getLong(3)});
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM supplier_scorecards)", Boolean.class));
+    }
+
+    /**
+     * Seed scorecards from the existing quotes and orders; history is added onto rows that
+     * already exist, the same way live changes are
+     */
+    public int backfill(int histogramBuckets) {
+        return jdbcTemplate.update(BACKFILL_SQL, histogramBuckets);
+    }
+}
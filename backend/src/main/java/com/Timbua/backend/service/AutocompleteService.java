@@ -0,0 +1,269 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.AutocompleteSuggestionDTO;
+import com.Timbua.backend.model.Material;
+import com.Timbua.backend.model.MaterialSite;
+import com.Timbua.backend.model.Supplier;
+import com.Timbua.backend.repository.MaterialRepository;
+import com.Timbua.backend.repository.MaterialSiteRepository;
+import com.Timbua.backend.repository.SupplierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Typeahead completions for material names, counties, sub-counties and supplier names.
+ *
+ * One PrefixTrie per field, weighted by how many records carry each value: material names
+ * count material sites and catalog listings alike, and a supplier counts one plus its
+ * listings. Built lazily from id/value projections and kept current from the write paths,
+ * which report saved and deleted records here (catalog and supplier changes after commit).
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AutocompleteService.class);
+
+    public static final int MAX_LIMIT = 20;
+
+    public enum Field {
+        MATERIAL, COUNTY, SUB_COUNTY, SUPPLIER;
+
+        public static Field of(String field) {
+            String wanted = field.trim().replace("-", "").replace("_", "").toUpperCase(Locale.ROOT);
+            for (Field value : values()) {
+                if (value.name().replace("_", "").equals(wanted)) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported field: " + field
+                    + " (expected material, county, subCounty or supplier)");
+        }
+    }
+
+    private record SiteValues(String material, String county, String subCounty) {}
+
+    private record ListingValues(String name, Long supplierId) {}
+
+    private final MaterialSiteRepository materialSiteRepository;
+    private final MaterialRepository materialRepository;
+    private final SupplierRepository supplierRepository;
+
+    private final Map<Field, PrefixTrie> tries = new EnumMap<>(Field.class);
+    // Current values per record, so an update can take back what the previous version added
+    private final Map<Long, SiteValues> sitesById = new HashMap<>();
+    private final Map<Long, ListingValues> listingsById = new HashMap<>();
+    private final Map<Long, String> supplierNamesById = new HashMap<>();
+    private final Map<Long, Set<Long>> listingIdsBySupplier = new HashMap<>();
+    private final Object indexLock = new Object();
+    private volatile boolean indexesLoaded = false;
+
+    public AutocompleteService(MaterialSiteRepository materialSiteRepository,
+                               MaterialRepository materialRepository,
+                               SupplierRepository supplierRepository) {
+        this.materialSiteRepository = materialSiteRepository;
+        this.materialRepository = materialRepository;
+        this.supplierRepository = supplierRepository;
+        for (Field field : Field.values()) {
+            tries.put(field, new PrefixTrie(MAX_LIMIT));
+        }
+    }
+
+    /**
+     * Most popular values of the field with a word starting with prefix
+     */
+    public List<AutocompleteSuggestionDTO> complete(String field, String prefix, int limit) {
+        Field target = Field.of(field);
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        ensureIndexesLoaded();
+        return tries.get(target).complete(prefix, limit).stream()
+                .map(completion -> new AutocompleteSuggestionDTO(completion.value(), completion.weight()))
+                .toList();
+    }
+
+    // Material site writes are not transactional, so these apply immediately
+    public void onSiteSaved(MaterialSite site) {
+        synchronized (indexLock) {
+            if (indexesLoaded) {
+                indexSite(site.getId(), new SiteValues(site.getMaterial(), site.getCounty(), site.getSubCounty()));
+            }
+        }
+    }
+
+    public void onSiteDeleted(Long siteId) {
+        synchronized (indexLock) {
+            if (indexesLoaded) {
+                indexSite(siteId, null);
+            }
+        }
+    }
+
+    public void onMaterialSaved(Material material) {
+        ListingValues values = new ListingValues(material.getName(),
+                material.getSupplier() != null ? material.getSupplier().getId() : null);
+        Long id = material.getId();
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (indexLock) {
+                if (indexesLoaded) {
+                    indexListing(id, values);
+                }
+            }
+        });
+    }
+
+    public void onMaterialsSaved(Collection<Material> materials) {
+        materials.forEach(this::onMaterialSaved);
+    }
+
+    public void onMaterialDeleted(Long materialId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (indexLock) {
+                if (indexesLoaded) {
+                    indexListing(materialId, null);
+                }
+            }
+        });
+    }
+
+    public void onSupplierSaved(Supplier supplier) {
+        Long id = supplier.getId();
+        String name = supplier.getCompanyName();
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (indexLock) {
+                if (indexesLoaded) {
+                    indexSupplier(id, name);
+                }
+            }
+        });
+    }
+
+    // The supplier's listings are deleted with it
+    public void onSupplierDeleted(Long supplierId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (indexLock) {
+                if (indexesLoaded) {
+                    Set<Long> ids = listingIdsBySupplier.get(supplierId);
+                    if (ids != null) {
+                        List.copyOf(ids).forEach(id -> indexListing(id, null));
+                    }
+                    indexSupplier(supplierId, null);
+                }
+            }
+        });
+    }
+
+    /**
+     * Drop the tries so they are rebuilt from the tables on next use.
+     * Needed after writes that bypass the services (e.g. bulk JDBC inserts).
+     */
+    public void refreshIndexes() {
+        synchronized (indexLock) {
+            indexesLoaded = false;
+        }
+    }
+
+    private void ensureIndexesLoaded() {
+        if (indexesLoaded) {
+            return;
+        }
+        synchronized (indexLock) {
+            if (indexesLoaded) {
+                return;
+            }
+            tries.values().forEach(PrefixTrie::clear);
+            sitesById.clear();
+            listingsById.clear();
+            supplierNamesById.clear();
+            listingIdsBySupplier.clear();
+            for (Object[] row : supplierRepository.findAutocompleteValues()) {
+                indexSupplier((Long) row[0], (String) row[1]);
+            }
+            for (Object[] row : materialRepository.findAutocompleteValues()) {
+                indexListing((Long) row[0], new ListingValues((String) row[1], (Long) row[2]));
+            }
+            for (Object[] row : materialSiteRepository.findAutocompleteValues()) {
+                indexSite((Long) row[0], new SiteValues((String) row[1], (String) row[2], (String) row[3]));
+            }
+            indexesLoaded = true;
+            logger.debug("Autocomplete tries loaded: {} materials, {} counties, {} sub-counties, {} suppliers",
+                    tries.get(Field.MATERIAL).size(), tries.get(Field.COUNTY).size(),
+                    tries.get(Field.SUB_COUNTY).size(), tries.get(Field.SUPPLIER).size());
+        }
+    }
+
+    // Caller holds indexLock; next == null removes the site
+    private void indexSite(Long id, SiteValues next) {
+        SiteValues previous = next != null ? sitesById.put(id, next) : sitesById.remove(id);
+        if (Objects.equals(previous, next)) {
+            return;
+        }
+        if (previous != null) {
+            adjust(Field.MATERIAL, previous.material(), -1);
+            adjust(Field.COUNTY, previous.county(), -1);
+            adjust(Field.SUB_COUNTY, previous.subCounty(), -1);
+        }
+        if (next != null) {
+            adjust(Field.MATERIAL, next.material(), 1);
+            adjust(Field.COUNTY, next.county(), 1);
+            adjust(Field.SUB_COUNTY, next.subCounty(), 1);
+        }
+    }
+
+    // Caller holds indexLock; next == null removes the listing
+    private void indexListing(Long id, ListingValues next) {
+        ListingValues previous = next != null ? listingsById.put(id, next) : listingsById.remove(id);
+        if (Objects.equals(previous, next)) {
+            return;
+        }
+        if (previous != null) {
+            adjust(Field.MATERIAL, previous.name(), -1);
+            if (previous.supplierId() != null) {
+                Set<Long> ids = listingIdsBySupplier.get(previous.supplierId());
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        listingIdsBySupplier.remove(previous.supplierId());
+                    }
+                }
+                adjust(Field.SUPPLIER, supplierNamesById.get(previous.supplierId()), -1);
+            }
+        }
+        if (next != null) {
+            adjust(Field.MATERIAL, next.name(), 1);
+            if (next.supplierId() != null) {
+                listingIdsBySupplier.computeIfAbsent(next.supplierId(), key -> new HashSet<>()).add(id);
+                adjust(Field.SUPPLIER, supplierNamesById.get(next.supplierId()), 1);
+            }
+        }
+    }
+
+    // Caller holds indexLock; name == null removes the supplier
+    private void indexSupplier(Long id, String name) {
+        String previous = name != null ? supplierNamesById.put(id, name) : supplierNamesById.remove(id);
+        if (Objects.equals(previous, name)) {
+            return;
+        }
+        Set<Long> listings = listingIdsBySupplier.get(id);
+        int weight = 1 + (listings != null ? listings.size() : 0);
+        adjust(Field.SUPPLIER, previous, -weight);
+        adjust(Field.SUPPLIER, name, weight);
+    }
+
+    private void adjust(Field field, String value, int delta) {
+        if (value != null) {
+            tries.get(field).adjust(value, delta);
+        }
+    }
+}
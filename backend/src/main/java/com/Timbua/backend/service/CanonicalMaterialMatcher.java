@@ -0,0 +1,184 @@
+package com.Timbua.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maps free-text material names ("Bulding stones", "Tmber/wood", "Sand (Pit Sand Soil") to
+ * canonical material ids.
+ *
+ * Names and synonyms are normalised (lower case, punctuation and stop words dropped, simple
+ * plurals folded) before comparing. A text is first looked up whole, then by its word
+ * windows from longest to shortest, so "Cement building material - Vent blocks" matches the
+ * "vent blocks" synonym. At each step an exact phrase wins; otherwise synonyms sharing
+ * trigrams with the phrase are checked by edit distance to absorb typos.
+ * Built once and then only read, so it can be shared between threads.
+ */
+public class CanonicalMaterialMatcher {
+
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "or", "of", "the", "for", "from",
+            "to", "with", "that", "in");
+    private static final double MIN_TRIGRAM_SIMILARITY = 0.3;
+
+    public record Match(Long canonicalMaterialId, double confidence, String synonym) {}
+
+    private final Map<String, Long> idsByPhrase = new HashMap<>();
+    private final List<String> phrases = new ArrayList<>();
+    private final Map<String, List<Integer>> phrasesByTrigram = new HashMap<>();
+    private int maxPhraseWords = 1;
+
+    /**
+     * Register the synonyms of a canonical material. A phrase already claimed by another
+     * material keeps its first owner.
+     */
+    public void add(Long canonicalMaterialId, List<String> synonyms) {
+        for (String synonym : synonyms) {
+            String phrase = normalise(synonym);
+            if (phrase.isEmpty() || idsByPhrase.putIfAbsent(phrase, canonicalMaterialId) != null) {
+                continue;
+            }
+            int index = phrases.size();
+            phrases.add(phrase);
+            for (String gram : TrigramIndex.trigrams(phrase)) {
+                phrasesByTrigram.computeIfAbsent(gram, key -> new ArrayList<>()).add(index);
+            }
+            maxPhraseWords = Math.max(maxPhraseWords, phrase.split(" ").length);
+        }
+    }
+
+    public Match match(String text) {
+        String normalised = normalise(text);
+        if (normalised.isEmpty()) {
+            return null;
+        }
+        String[] words = normalised.split(" ");
+        for (int size = Math.min(words.length, maxPhraseWords); size >= 1; size--) {
+            // Coverage of the text by the window discounts matches on a small part of it
+            double coverage = 0.5 + 0.5 * size / words.length;
+            for (int start = 0; start + size <= words.length; start++) {
+                String window = String.join(" ", Arrays.copyOfRange(words, start, start + size));
+                Long id = idsByPhrase.get(window);
+                if (id != null) {
+                    return new Match(id, round(coverage), window);
+                }
+            }
+            for (int start = 0; start + size <= words.length; start++) {
+                String window = String.join(" ", Arrays.copyOfRange(words, start, start + size));
+                Match fuzzy = closestPhrase(window);
+                if (fuzzy != null) {
+                    return new Match(fuzzy.canonicalMaterialId(), round(fuzzy.confidence() * coverage), fuzzy.synonym());
+                }
+            }
+        }
+        return null;
+    }
+
+    // Synonym within the allowed edit distance of the phrase, candidates narrowed by shared trigrams
+    private Match closestPhrase(String phrase) {
+        int allowed = allowedEdits(phrase.length());
+        if (allowed == 0) {
+            return null;
+        }
+        Set<String> grams = TrigramIndex.trigrams(phrase);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            List<Integer> owners = phrasesByTrigram.get(gram);
+            if (owners != null) {
+                for (Integer owner : owners) {
+                    shared.merge(owner, 1, Integer::sum);
+                }
+            }
+        }
+        String best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            String candidate = phrases.get(entry.getKey());
+            int union = grams.size() + TrigramIndex.trigrams(candidate).size() - entry.getValue();
+            if ((double) entry.getValue() / union < MIN_TRIGRAM_SIMILARITY) {
+                continue;
+            }
+            int distance = levenshtein(phrase, candidate, allowed);
+            if (distance < bestDistance || (distance == bestDistance && candidate.compareTo(best) < 0)) {
+                best = candidate;
+                bestDistance = distance;
+            }
+        }
+        if (best == null || bestDistance > allowed) {
+            return null;
+        }
+        double similarity = 1.0 - (double) bestDistance / Math.max(phrase.length(), best.length());
+        return new Match(idsByPhrase.get(best), similarity, best);
+    }
+
+    // Short words get no typo allowance, otherwise "sand" would match "band"
+    private static int allowedEdits(int length) {
+        if (length <= 4) {
+            return 0;
+        }
+        return length <= 8 ? 1 : 2;
+    }
+
+    /**
+     * Edit distance between a and b, or limit + 1 once it is known to exceed limit
+     */
+    static int levenshtein(String a, String b, int limit) {
+        if (Math.abs(a.length() - b.length()) > limit) {
+            return limit + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > limit) {
+                return limit + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Lower-case words without accents, punctuation, stop words or a plural "s"
+     */
+    public static String normalise(String text) {
+        if (text == null || text.isBlank()) {
+            return "";
+        }
+        String plain = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        StringBuilder result = new StringBuilder();
+        for (String word : plain.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() < 2 || STOP_WORDS.contains(word)) {
+                continue;
+            }
+            if (word.length() > 4 && word.endsWith("s") && !word.endsWith("ss")) {
+                word = word.substring(0, word.length() - 1);
+            }
+            if (result.length() > 0) {
+                result.append(' ');
+            }
+            result.append(word);
+        }
+        return result.toString();
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,223 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.CanonicalMaterialMatchDTO;
+import com.Timbua.backend.dto.CanonicalMaterialUsageDTO;
+import com.Timbua.backend.model.CanonicalMaterial;
+import com.Timbua.backend.model.Material;
+import com.Timbua.backend.model.MaterialSite;
+import com.Timbua.backend.model.OrderItem;
+import com.Timbua.backend.model.QuotationRequest;
+import com.Timbua.backend.repository.CanonicalMaterialBatchRepository;
+import com.Timbua.backend.repository.CanonicalMaterialBatchRepository.MaterialTable;
+import com.Timbua.backend.repository.CanonicalMaterialRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * The canonical material taxonomy and the matcher built from it.
+ *
+ * Write paths call assign(...) so every material site, listing, order item and quotation
+ * request stores the id of the canonical material its free text resolves to; rows written
+ * before the taxonomy existed are filled in by CanonicalMaterialBackfill.
+ */
+@Service
+public class CanonicalMaterialService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CanonicalMaterialService.class);
+
+    private static final String TAXONOMY_FILE = "seed/canonical_materials.csv";
+
+    private final CanonicalMaterialRepository canonicalMaterialRepository;
+    private final CanonicalMaterialBatchRepository canonicalMaterialBatchRepository;
+    private final TransactionTemplate syncTransaction;
+
+    private final Object loadLock = new Object();
+    private volatile CanonicalMaterialMatcher matcher;
+    private volatile Map<Long, CanonicalMaterial> materialsById = Map.of();
+
+    public CanonicalMaterialService(CanonicalMaterialRepository canonicalMaterialRepository,
+                                    CanonicalMaterialBatchRepository canonicalMaterialBatchRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.canonicalMaterialRepository = canonicalMaterialRepository;
+        this.canonicalMaterialBatchRepository = canonicalMaterialBatchRepository;
+        // Never join a caller's transaction: its rollback must not undo taxonomy rows the matcher already uses
+        this.syncTransaction = new TransactionTemplate(transactionManager);
+        this.syncTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Insert or update the taxonomy entries of the bundled taxonomy file (matched by code),
+     * then rebuild the matcher. Entries only present in the database are kept.
+     */
+    public void syncTaxonomy() {
+        List<CanonicalMaterial> entries = readTaxonomyFile();
+        int[] changes = new int[1];
+        syncTransaction.executeWithoutResult(status -> {
+            Map<String, CanonicalMaterial> existing = canonicalMaterialRepository.findAll().stream()
+                    .collect(Collectors.toMap(CanonicalMaterial::getCode, Function.identity()));
+            for (CanonicalMaterial entry : entries) {
+                CanonicalMaterial current = existing.get(entry.getCode());
+                if (current == null) {
+                    canonicalMaterialRepository.save(entry);
+                    changes[0]++;
+                } else if (!current.getName().equals(entry.getName())
+                        || !Objects.equals(current.getFamily(), entry.getFamily())
+                        || !new ArrayList<>(current.getSynonyms()).equals(entry.getSynonyms())) {
+                    current.setName(entry.getName());
+                    current.setFamily(entry.getFamily());
+                    current.setSynonyms(new ArrayList<>(entry.getSynonyms()));
+                    canonicalMaterialRepository.save(current);
+                    changes[0]++;
+                }
+            }
+        });
+        if (changes[0] > 0) {
+            logger.info("Canonical material taxonomy: {} entries added or changed", changes[0]);
+        }
+        reload();
+    }
+
+    public void assign(MaterialSite site) {
+        site.setCanonicalMaterialId(matchId(site.getMaterial()));
+    }
+
+    public void assign(Material material) {
+        material.setCanonicalMaterialId(matchId(material.getName(), material.getCategory()));
+    }
+
+    public void assign(OrderItem item) {
+        item.setCanonicalMaterialId(matchId(item.getMaterialName(), item.getCategory()));
+    }
+
+    public void assign(QuotationRequest request) {
+        request.setCanonicalMaterialId(matchId(request.getMaterial()));
+    }
+
+    /**
+     * Canonical material id of the first text that matches, or null
+     */
+    public Long matchId(String... texts) {
+        return matchId(Arrays.asList(texts));
+    }
+
+    public Long matchId(List<String> texts) {
+        CanonicalMaterialMatcher current = matcher();
+        for (String text : texts) {
+            CanonicalMaterialMatcher.Match match = current.match(text);
+            if (match != null) {
+                return match.canonicalMaterialId();
+            }
+        }
+        return null;
+    }
+
+    public CanonicalMaterialMatchDTO match(String text) {
+        CanonicalMaterialMatcher.Match match = matcher().match(text);
+        if (match == null) {
+            return new CanonicalMaterialMatchDTO(text, null, null, null, null, 0);
+        }
+        CanonicalMaterial material = materialsById.get(match.canonicalMaterialId());
+        return new CanonicalMaterialMatchDTO(text, material.getId(), material.getCode(), material.getName(),
+                match.synonym(), match.confidence());
+    }
+
+    public List<CanonicalMaterial> getTaxonomy() {
+        return canonicalMaterialRepository.findAllByOrderByFamilyAscNameAsc();
+    }
+
+    /**
+     * Records per entity assigned to the canonical material, counted on the indexed id column
+     */
+    public CanonicalMaterialUsageDTO getUsage(Long id) {
+        CanonicalMaterial material = canonicalMaterialRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Canonical material not found with id: " + id));
+        CanonicalMaterialUsageDTO usage = new CanonicalMaterialUsageDTO();
+        usage.setCanonicalMaterialId(material.getId());
+        usage.setCode(material.getCode());
+        usage.setName(material.getName());
+        usage.setMaterialSites(canonicalMaterialBatchRepository.countByCanonicalMaterial(MaterialTable.MATERIAL_SITES, id));
+        usage.setMaterials(canonicalMaterialBatchRepository.countByCanonicalMaterial(MaterialTable.MATERIALS, id));
+        usage.setOrderItems(canonicalMaterialBatchRepository.countByCanonicalMaterial(MaterialTable.ORDER_ITEMS, id));
+        usage.setQuotationRequests(canonicalMaterialBatchRepository.countByCanonicalMaterial(MaterialTable.QUOTATION_REQUESTS, id));
+        return usage;
+    }
+
+    private CanonicalMaterialMatcher matcher() {
+        CanonicalMaterialMatcher current = matcher;
+        if (current == null) {
+            synchronized (loadLock) {
+                if (matcher == null) {
+                    reload();
+                }
+                current = matcher;
+            }
+        }
+        return current;
+    }
+
+    // Builds a new matcher from the table and swaps it in; readers keep using the old one meanwhile
+    private void reload() {
+        synchronized (loadLock) {
+            List<CanonicalMaterial> all = canonicalMaterialRepository.findAll();
+            all.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+            CanonicalMaterialMatcher built = new CanonicalMaterialMatcher();
+            Map<Long, CanonicalMaterial> byId = new HashMap<>();
+            for (CanonicalMaterial material : all) {
+                List<String> phrases = new ArrayList<>();
+                phrases.add(material.getName());
+                phrases.addAll(material.getSynonyms());
+                built.add(material.getId(), phrases);
+                byId.put(material.getId(), material);
+            }
+            materialsById = byId;
+            matcher = built;
+            logger.debug("Canonical material matcher built from {} entries", all.size());
+        }
+    }
+
+    private static List<CanonicalMaterial> readTaxonomyFile() {
+        ClassPathResource resource = new ClassPathResource(TAXONOMY_FILE);
+        List<CanonicalMaterial> entries = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)))) {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                return entries;
+            }
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.size() < 4 || record.get(0) == null || record.get(1) == null) {
+                    throw new IllegalStateException(TAXONOMY_FILE + " line " + reader.getRecordLine()
+                            + ": expected code,name,family,synonyms");
+                }
+                List<String> synonyms = record.get(3) == null ? List.of() : Arrays.stream(record.get(3).split("\\|"))
+                        .map(String::trim)
+                        .filter(s -> !s.isEmpty())
+                        .toList();
+                entries.add(new CanonicalMaterial(record.get(0).trim(), record.get(1).trim(), record.get(2), synonyms));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + TAXONOMY_FILE, e);
+        }
+        return entries;
+    }
+}
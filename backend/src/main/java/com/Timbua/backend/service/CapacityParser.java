@@ -0,0 +1,176 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.model.MaterialSite;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Turns the free-text survey capacity answers into numeric ranges:
+ * <ul>
+ *   <li>volumeProducedPerDay: "150-500 units per day", "7 tonnes per 2 days", "400 tons"</li>
+ *   <li>numberOfPeopleEmployed: "21-50 men. 1-10 women", "Over 100 men" (men and women are summed)</li>
+ *   <li>periodOfManufacture: "5-9 years", "1 year", "Over 50 years"</li>
+ * </ul>
+ * "Over N" gives an open-ended range with a null max. Answers that cannot be read leave
+ * their columns null.
+ */
+public final class CapacityParser {
+
+    // Bump when the rules change so the backfill job re-parses existing rows
+    public static final int VERSION = 1;
+
+    private static final Pattern RANGE = Pattern.compile(
+            "(over|above|more than|>)?\\s*(\\d+(?:\\.\\d+)?)(?:\\s*(?:-|\\u2013|to)\\s*(\\d+(?:\\.\\d+)?))?\\s*(?!per\\b)([a-z]+)?");
+    private static final Pattern PERIOD = Pattern.compile("per\\s*(\\d+)?\\s*(day|week|month)s?|(daily|weekly|monthly)");
+
+    private static final Map<String, String> VOLUME_UNITS = Map.ofEntries(
+            Map.entry("t", "tonnes"), Map.entry("ton", "tonnes"), Map.entry("tons", "tonnes"),
+            Map.entry("tonne", "tonnes"), Map.entry("tonnes", "tonnes"),
+            Map.entry("unit", "units"), Map.entry("units", "units"), Map.entry("piece", "units"),
+            Map.entry("pieces", "units"), Map.entry("pcs", "units"), Map.entry("block", "units"),
+            Map.entry("blocks", "units"), Map.entry("door", "units"), Map.entry("doors", "units"),
+            Map.entry("frame", "units"), Map.entry("frames", "units"),
+            Map.entry("bag", "bags"), Map.entry("bags", "bags"),
+            Map.entry("litre", "litres"), Map.entry("litres", "litres"), Map.entry("liter", "litres"),
+            Map.entry("liters", "litres"),
+            Map.entry("lorry", "lorries"), Map.entry("lorries", "lorries"), Map.entry("truck", "lorries"),
+            Map.entry("trucks", "lorries"));
+
+    private CapacityParser() {}
+
+    public record Range(Double min, Double max, String unit) {}
+
+    /**
+     * Parse all three capacity answers of the site into its structured columns
+     */
+    public static void apply(MaterialSite site) {
+        Range volume = parseDailyVolume(site.getVolumeProducedPerDay());
+        site.setDailyVolumeMin(volume != null ? volume.min() : null);
+        site.setDailyVolumeMax(volume != null ? volume.max() : null);
+        site.setVolumeUnit(volume != null ? volume.unit() : null);
+
+        Range employees = parseHeadcount(site.getNumberOfPeopleEmployed());
+        site.setEmployeesMin(toInteger(employees != null ? employees.min() : null));
+        site.setEmployeesMax(toInteger(employees != null ? employees.max() : null));
+
+        Range years = parseYears(site.getPeriodOfManufacture());
+        site.setYearsInOperationMin(toInteger(years != null ? years.min() : null));
+        site.setYearsInOperationMax(toInteger(years != null ? years.max() : null));
+
+        site.setCapacityParserVersion(VERSION);
+    }
+
+    /**
+     * Volume normalised to a per-day figure. Answers without a period are taken as per day,
+     * which is what the survey question asked.
+     */
+    public static Range parseDailyVolume(String text) {
+        String value = normalise(text);
+        if (value == null) {
+            return null;
+        }
+        Matcher matcher = RANGE.matcher(value);
+        if (!matcher.find()) {
+            return null;
+        }
+        Range range = toRange(matcher);
+        String unit = matcher.group(4) != null ? VOLUME_UNITS.get(matcher.group(4)) : null;
+
+        double days = 1;
+        Matcher period = PERIOD.matcher(value.substring(matcher.end()));
+        if (period.find()) {
+            String name = period.group(2) != null ? period.group(2) : period.group(3);
+            double count = period.group(1) != null ? Double.parseDouble(period.group(1)) : 1;
+            days = count * (name.startsWith("week") ? 7 : name.startsWith("month") ? 30 : 1);
+        }
+        if (days <= 0) {
+            return null;
+        }
+        return new Range(perDay(range.min(), days), perDay(range.max(), days), unit);
+    }
+
+    /**
+     * Total head count across all the groups mentioned, e.g. men and women
+     */
+    public static Range parseHeadcount(String text) {
+        String value = normalise(text);
+        if (value == null) {
+            return null;
+        }
+        Matcher matcher = RANGE.matcher(value);
+        double min = 0;
+        double max = 0;
+        boolean openEnded = false;
+        boolean found = false;
+        while (matcher.find()) {
+            Range range = toRange(matcher);
+            found = true;
+            min += range.min();
+            if (range.max() == null) {
+                openEnded = true;
+            } else {
+                max += range.max();
+            }
+        }
+        return found ? new Range(min, openEnded ? null : max, "people") : null;
+    }
+
+    /**
+     * Years in operation; answers given in months are rounded down to whole years
+     */
+    public static Range parseYears(String text) {
+        String value = normalise(text);
+        if (value == null) {
+            return null;
+        }
+        Matcher matcher = RANGE.matcher(value);
+        if (!matcher.find()) {
+            return null;
+        }
+        Range range = toRange(matcher);
+        String unit = matcher.group(4);
+        if (unit != null && unit.startsWith("month")) {
+            return new Range(Math.floor(range.min() / 12),
+                    range.max() != null ? Math.floor(range.max() / 12) : null, "years");
+        }
+        return new Range(range.min(), range.max(), "years");
+    }
+
+    private static Range toRange(Matcher matcher) {
+        double first = Double.parseDouble(matcher.group(2));
+        if (matcher.group(1) != null) {
+            return new Range(first, null, null);
+        }
+        double second = matcher.group(3) != null ? Double.parseDouble(matcher.group(3)) : first;
+        return new Range(Math.min(first, second), Math.max(first, second), null);
+    }
+
+    /**
+     * Canonical name for a volume unit given in a query, e.g. "tons" -> "tonnes"
+     */
+    public static String normaliseVolumeUnit(String unit) {
+        String value = normalise(unit);
+        if (value == null) {
+            return null;
+        }
+        return VOLUME_UNITS.getOrDefault(value, value);
+    }
+
+    private static String normalise(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        return text.toLowerCase(Locale.ROOT).trim();
+    }
+
+    private static Double perDay(Double amount, double days) {
+        return amount != null ? amount / days : null;
+    }
+
+    private static Integer toInteger(Double value) {
+        return value != null ? (int) Math.round(value) : null;
+    }
+}
@@ -0,0 +1,149 @@
+package com.Timbua.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Price-ordered sets of listings per (category, currency) and per (category, currency, unit).
+ *
+ * Prices are only ranked within one currency. Updates are O(log n) tree operations and the
+ * k cheapest listings are the first k entries of one set. Category, currency and unit are
+ * matched case-insensitively. Not thread-safe, callers hold their own lock.
+ */
+public class CategoryPriceIndex {
+
+    private record Entry(double price, long id) {}
+
+    private record Indexed(Entry entry, String categoryKey, String currencyKey, String unitKey) {}
+
+    private static final Comparator<Entry> BY_PRICE = Comparator.comparingDouble(Entry::price)
+            .thenComparingLong(Entry::id);
+
+    private final Map<String, NavigableSet<Entry>> byCategory = new HashMap<>();
+    private final Map<String, NavigableSet<Entry>> byCategoryAndUnit = new HashMap<>();
+    // category -> currency -> listings, to pick the default currency of a category
+    private final Map<String, TreeMap<String, Integer>> currenciesByCategory = new HashMap<>();
+    private final Map<Long, Indexed> indexedById = new HashMap<>();
+
+    public void put(Long id, String category, String currency, String unit, double price) {
+        remove(id);
+        String categoryKey = key(category);
+        if (categoryKey == null) {
+            return;
+        }
+        Entry entry = new Entry(price, id);
+        String currencyKey = currencyKey(currency);
+        String unitKey = key(unit);
+        byCategory.computeIfAbsent(compositeKey(categoryKey, currencyKey), key -> new TreeSet<>(BY_PRICE)).add(entry);
+        if (unitKey != null) {
+            byCategoryAndUnit.computeIfAbsent(compositeKey(categoryKey, currencyKey, unitKey),
+                    key -> new TreeSet<>(BY_PRICE)).add(entry);
+        }
+        currenciesByCategory.computeIfAbsent(categoryKey, key -> new TreeMap<>()).merge(currencyKey, 1, Integer::sum);
+        indexedById.put(id, new Indexed(entry, categoryKey, currencyKey, unitKey));
+    }
+
+    public void remove(Long id) {
+        Indexed indexed = indexedById.remove(id);
+        if (indexed == null) {
+            return;
+        }
+        removeFrom(byCategory, compositeKey(indexed.categoryKey(), indexed.currencyKey()), indexed.entry());
+        if (indexed.unitKey() != null) {
+            removeFrom(byCategoryAndUnit, compositeKey(indexed.categoryKey(), indexed.currencyKey(), indexed.unitKey()),
+                    indexed.entry());
+        }
+        TreeMap<String, Integer> currencies = currenciesByCategory.get(indexed.categoryKey());
+        if (currencies != null) {
+            currencies.computeIfPresent(indexed.currencyKey(), (currency, count) -> count > 1 ? count - 1 : null);
+            if (currencies.isEmpty()) {
+                currenciesByCategory.remove(indexed.categoryKey());
+            }
+        }
+    }
+
+    public void clear() {
+        byCategory.clear();
+        byCategoryAndUnit.clear();
+        currenciesByCategory.clear();
+        indexedById.clear();
+    }
+
+    /**
+     * Ids of the cheapest listings in a category and currency, optionally for one unit,
+     * cheapest first. Without a currency, the one most of the category's listings use is
+     * taken, so listings in other currencies are never ranked against it.
+     */
+    public List<Long> cheapest(String category, String currency, String unit, int limit) {
+        String categoryKey = key(category);
+        String unitKey = key(unit);
+        if (categoryKey == null) {
+            return List.of();
+        }
+        String currencyKey = currency != null && !currency.isBlank() ? currencyKey(currency) : mainCurrency(categoryKey);
+        if (currencyKey == null) {
+            return List.of();
+        }
+        NavigableSet<Entry> entries = unitKey == null
+                ? byCategory.get(compositeKey(categoryKey, currencyKey))
+                : byCategoryAndUnit.get(compositeKey(categoryKey, currencyKey, unitKey));
+        if (entries == null) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(Math.min(limit, entries.size()));
+        Iterator<Entry> iterator = entries.iterator();
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add(iterator.next().id());
+        }
+        return ids;
+    }
+
+    // Currency with the most listings in the category, the alphabetically first on a tie
+    private String mainCurrency(String categoryKey) {
+        TreeMap<String, Integer> currencies = currenciesByCategory.get(categoryKey);
+        if (currencies == null) {
+            return null;
+        }
+        String main = null;
+        int mainCount = 0;
+        for (Map.Entry<String, Integer> entry : currencies.entrySet()) {
+            if (entry.getValue() > mainCount) {
+                main = entry.getKey();
+                mainCount = entry.getValue();
+            }
+        }
+        return main;
+    }
+
+    private static void removeFrom(Map<String, NavigableSet<Entry>> sets, String key, Entry entry) {
+        NavigableSet<Entry> set = sets.get(key);
+        if (set != null) {
+            set.remove(entry);
+            if (set.isEmpty()) {
+                sets.remove(key);
+            }
+        }
+    }
+
+    private static String compositeKey(String... keys) {
+        return String.join("\u0000", keys);
+    }
+
+    // Listings without a currency form their own group
+    private static String currencyKey(String currency) {
+        String key = key(currency);
+        return key != null ? key : "";
+    }
+
+    private static String key(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,82 @@
+package com.Timbua.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Inverted index from material category to the suppliers listing it.
+ *
+ * Each supplier entry counts the supplier's listings in the category, so it only goes away
+ * with the last of them. Suppliers are kept in id order, which gives stable pages.
+ * Categories are matched case-insensitively. Not thread-safe, callers hold their own lock.
+ */
+public class CategorySupplierIndex {
+
+    private record Indexed(String categoryKey, Long supplierId) {}
+
+    private final Map<String, TreeMap<Long, Integer>> suppliersByCategory = new HashMap<>();
+    private final Map<Long, Indexed> indexedByMaterial = new HashMap<>();
+
+    public void put(Long materialId, String category, Long supplierId) {
+        remove(materialId);
+        String categoryKey = key(category);
+        if (categoryKey == null || supplierId == null) {
+            return;
+        }
+        suppliersByCategory.computeIfAbsent(categoryKey, key -> new TreeMap<>()).merge(supplierId, 1, Integer::sum);
+        indexedByMaterial.put(materialId, new Indexed(categoryKey, supplierId));
+    }
+
+    public void remove(Long materialId) {
+        Indexed indexed = indexedByMaterial.remove(materialId);
+        if (indexed == null) {
+            return;
+        }
+        TreeMap<Long, Integer> suppliers = suppliersByCategory.get(indexed.categoryKey());
+        if (suppliers == null) {
+            return;
+        }
+        suppliers.computeIfPresent(indexed.supplierId(), (id, count) -> count > 1 ? count - 1 : null);
+        if (suppliers.isEmpty()) {
+            suppliersByCategory.remove(indexed.categoryKey());
+        }
+    }
+
+    public void clear() {
+        suppliersByCategory.clear();
+        indexedByMaterial.clear();
+    }
+
+    public int supplierCount(String category) {
+        TreeMap<Long, Integer> suppliers = suppliersByCategory.get(key(category));
+        return suppliers != null ? suppliers.size() : 0;
+    }
+
+    /**
+     * Ids of the suppliers listing the category, in id order, skipping the first offset
+     */
+    public List<Long> supplierIds(String category, int offset, int limit) {
+        TreeMap<Long, Integer> suppliers = suppliersByCategory.get(key(category));
+        if (suppliers == null || offset >= suppliers.size()) {
+            return List.of();
+        }
+        List<Long> ids = new ArrayList<>(Math.min(limit, suppliers.size() - offset));
+        Iterator<Long> iterator = suppliers.keySet().iterator();
+        for (int skipped = 0; skipped < offset; skipped++) {
+            iterator.next();
+        }
+        while (iterator.hasNext() && ids.size() < limit) {
+            ids.add(iterator.next());
+        }
+        return ids;
+    }
+
+    private static String key(String value) {
+        return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,202 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.DeltaDTO;
+import com.Timbua.backend.model.ChangeTrackingListener;
+import com.Timbua.backend.model.Contractor;
+import com.Timbua.backend.model.Material;
+import com.Timbua.backend.model.MaterialSite;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Version counters and recent change logs of the datasets clients poll in full.
+ *
+ * Every committed create, update or delete bumps its dataset's version and is logged with
+ * it, so the version doubles as an ETag and as a sync token: a delta is the set of ids
+ * logged after the token. The log keeps the latest MAX_RETAINED_CHANGES entries per
+ * dataset; older tokens, tokens from before a restart and tokens from before a bulk write
+ * that bypassed the tracking are answered with the full dataset instead.
+ *
+ * Changes are only published after the transaction's afterCommit actions ran, so a reader
+ * that saw a token never gets data from a cache or index that is older than it. Writes made
+ * through repositories arrive from ChangeTrackingListener; JDBC batch writes report here
+ * themselves.
+ */
+@Component
+public class ChangeTracker implements ChangeTrackingListener.Sink {
+
+    private static final int MAX_RETAINED_CHANGES = 10_000;
+
+    public enum Dataset { MATERIAL_SITES, MATERIALS, SUPPLIERS, CONTRACTORS }
+
+    private record Change(long version, Long id, boolean deleted) {}
+
+    private record Changes(String token, Map<Long, Boolean> deletedById) {}
+
+    // Tokens only make sense within one run of the application
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Dataset, Log> logs = new EnumMap<>(Dataset.class);
+
+    public ChangeTracker() {
+        for (Dataset dataset : Dataset.values()) {
+            logs.put(dataset, new Log());
+        }
+        ChangeTrackingListener.register(this);
+    }
+
+    @Override
+    public void saved(Object entity) {
+        Dataset dataset = datasetOf(entity);
+        if (dataset != null) {
+            recordSaved(dataset, idOf(entity));
+        }
+    }
+
+    @Override
+    public void removed(Object entity) {
+        Dataset dataset = datasetOf(entity);
+        if (dataset != null) {
+            recordDeleted(dataset, idOf(entity));
+        }
+    }
+
+    private static Dataset datasetOf(Object entity) {
+        if (entity instanceof MaterialSite) {
+            return Dataset.MATERIAL_SITES;
+        } else if (entity instanceof Material) {
+            return Dataset.MATERIALS;
+        } else if (entity instanceof com.Timbua.backend.model.Supplier) {
+            return Dataset.SUPPLIERS;
+        } else if (entity instanceof Contractor) {
+            return Dataset.CONTRACTORS;
+        }
+        return null;
+    }
+
+    private static Long idOf(Object entity) {
+        if (entity instanceof MaterialSite site) {
+            return site.getId();
+        } else if (entity instanceof Material material) {
+            return material.getId();
+        } else if (entity instanceof com.Timbua.backend.model.Supplier supplier) {
+            return supplier.getId();
+        }
+        return ((Contractor) entity).getId();
+    }
+
+    public void recordSaved(Dataset dataset, Long id) {
+        TransactionCallbacks.afterCommitCallbacks(() -> logs.get(dataset).append(id, false));
+    }
+
+    public void recordSaved(Dataset dataset, Collection<Long> ids) {
+        List<Long> copy = List.copyOf(ids);
+        TransactionCallbacks.afterCommitCallbacks(() -> copy.forEach(id -> logs.get(dataset).append(id, false)));
+    }
+
+    public void recordDeleted(Dataset dataset, Long id) {
+        TransactionCallbacks.afterCommitCallbacks(() -> logs.get(dataset).append(id, true));
+    }
+
+    /**
+     * Forget the log after a write that bypassed the tracking; every earlier token gets a full response
+     */
+    public void invalidate(Dataset dataset) {
+        TransactionCallbacks.afterCommitCallbacks(() -> logs.get(dataset).reset());
+    }
+
+    /**
+     * Current version of the dataset, read it before the data it describes
+     */
+    public String token(Dataset dataset) {
+        return epoch + "-" + logs.get(dataset).version();
+    }
+
+    /**
+     * Rows of the dataset changed since the token, or the whole dataset when the token can no
+     * longer be served. Rows logged as saved that no longer load are reported as deleted.
+     */
+    public <T> DeltaDTO<T> delta(Dataset dataset, String since, Supplier<List<T>> loadAll,
+                                 Function<Collection<Long>, List<T>> loadByIds, Function<T, Long> idOf) {
+        Changes changes = changesSince(dataset, since);
+        if (changes.deletedById() == null) {
+            return new DeltaDTO<>(changes.token(), true, loadAll.get(), List.of());
+        }
+        List<Long> savedIds = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        changes.deletedById().forEach((id, deleted) -> (deleted ? deletedIds : savedIds).add(id));
+        List<T> items = savedIds.isEmpty() ? List.of() : loadByIds.apply(savedIds);
+        if (items.size() < savedIds.size()) {
+            Set<Long> loaded = items.stream().map(idOf).collect(Collectors.toSet());
+            savedIds.stream().filter(id -> !loaded.contains(id)).forEach(deletedIds::add);
+        }
+        return new DeltaDTO<>(changes.token(), false, items, deletedIds);
+    }
+
+    private Changes changesSince(Dataset dataset, String since) {
+        int separator = since.lastIndexOf('-');
+        long version;
+        try {
+            version = Long.parseLong(since.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid since token: " + since);
+        }
+        if (separator < 0 || version < 0) {
+            throw new IllegalArgumentException("Invalid since token: " + since);
+        }
+        Log log = logs.get(dataset);
+        synchronized (log) {
+            String token = epoch + "-" + log.version;
+            if (!since.substring(0, separator).equals(epoch) || version < log.floor || version > log.version) {
+                return new Changes(token, null);
+            }
+            // Latest state per id, most recently changed first
+            Map<Long, Boolean> deletedById = new LinkedHashMap<>();
+            Iterator<Change> newestFirst = log.changes.descendingIterator();
+            while (newestFirst.hasNext()) {
+                Change change = newestFirst.next();
+                if (change.version() <= version) {
+                    break;
+                }
+                deletedById.putIfAbsent(change.id(), change.deleted());
+            }
+            return new Changes(token, deletedById);
+        }
+    }
+
+    private static final class Log {
+        private final ArrayDeque<Change> changes = new ArrayDeque<>();
+        private long version;
+        // Oldest token whose changes are all still in the log
+        private long floor;
+
+        synchronized long version() {
+            return version;
+        }
+
+        synchronized void append(Long id, boolean deleted) {
+            version++;
+            changes.addLast(new Change(version, id, deleted));
+            if (changes.size() > MAX_RETAINED_CHANGES) {
+                floor = changes.removeFirst().version();
+            }
+        }
+
+        synchronized void reset() {
+            version++;
+            changes.clear();
+            floor = version;
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.Timbua.backend.service;
 
+import com.Timbua.backend.dto.DistanceResultDTO;
+import com.Timbua.backend.dto.NearbyMaterialsDTO;
 import com.Timbua.backend.model.ConstructionSite;
 import com.Timbua.backend.model.Contractor;
+import com.Timbua.backend.model.Coordinates;
+import com.Timbua.backend.model.Material;
+import com.Timbua.backend.model.MaterialSite;
 import com.Timbua.backend.repository.ConstructionSiteRepository;
 import com.Timbua.backend.repository.ContractorRepository;
 import org.springframework.stereotype.Service;
@@ -9,18 +14,27 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @Service
 @Transactional
 public class ConstructionSiteService {
 
+    private static final double MAX_NEARBY_RADIUS_KM = 200.0;
+
     private final ConstructionSiteRepository siteRepository;
     private final ContractorRepository contractorRepository;
+    private final MaterialSiteService materialSiteService;
+    private final MaterialCatalogIndexService catalogIndexService;
 
     public ConstructionSiteService(ConstructionSiteRepository siteRepository, 
-                                  ContractorRepository contractorRepository) {
+                                  ContractorRepository contractorRepository,
+                                  MaterialSiteService materialSiteService,
+                                  MaterialCatalogIndexService catalogIndexService) {
         this.siteRepository = siteRepository;
         this.contractorRepository = contractorRepository;
+        this.materialSiteService = materialSiteService;
+        this.catalogIndexService = catalogIndexService;
     }
 
     /**
@@ -167,4 +181,52 @@ public class ConstructionSiteService {
                 .filter(site -> site.getStatus() == status)
                 .toList();
     }
+
+    /**
+     * Material sites and supplier listings within radiusKm of a site, closest first.
+     * Returns empty if the site does not exist.
+     */
+    @Transactional(readOnly = true)
+    public Optional<NearbyMaterialsDTO> findNearbyMaterials(Long siteId, double radiusKm, String material,
+                                                            boolean availableOnly) {
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm must be greater than 0 and at most " + MAX_NEARBY_RADIUS_KM);
+        }
+        Optional<ConstructionSite> found = siteRepository.findById(siteId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        ConstructionSite site = found.get();
+        Coordinates coordinates = site.getCoordinates();
+        if (coordinates == null) {
+            throw new IllegalArgumentException("Construction site " + siteId + " has no coordinates");
+        }
+        double lat = coordinates.getLat();
+        double lng = coordinates.getLng();
+
+        List<DistanceResultDTO<MaterialSite>> materialSites =
+                materialSiteService.findMaterialSitesWithinRadius(lat, lng, radiusKm, material);
+
+        List<DistanceResultDTO<Material>> materials = catalogIndexService
+                .findWithinRadius(lat, lng, radiusKm, catalogFilter(material, availableOnly)).stream()
+                .map(n -> new DistanceResultDTO<>(n.value(), n.distanceKm()))
+                .toList();
+
+        return Optional.of(new NearbyMaterialsDTO(site.getId(), site.getName(), lat, lng, radiusKm,
+                materialSites, materials));
+    }
+
+    private static Predicate<Material> catalogFilter(String material, boolean availableOnly) {
+        String needle = material == null || material.isBlank() ? null : material.trim().toLowerCase();
+        return m -> {
+            if (availableOnly && !m.isAvailable()) {
+                return false;
+            }
+            if (needle == null) {
+                return true;
+            }
+            return (m.getName() != null && m.getName().toLowerCase().contains(needle))
+                    || (m.getCategory() != null && m.getCategory().toLowerCase().contains(needle));
+        };
+    }
 }
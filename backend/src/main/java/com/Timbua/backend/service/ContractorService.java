@@ -2,6 +2,7 @@ package com.Timbua.backend.service;
 
 import com.Timbua.backend.dto.ContractorRequestDTO;
 import com.Timbua.backend.dto.ContractorResponseDTO;
+import com.Timbua.backend.dto.DeltaDTO;
 import com.Timbua.backend.model.Contractor;
 import com.Timbua.backend.model.ContractorDocument;
 import com.Timbua.backend.repository.ContractorDocumentRepository;
@@ -27,13 +28,16 @@ public class ContractorService {
     private final ContractorRepository contractorRepository;
     private final ContractorDocumentRepository documentRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ChangeTracker changeTracker;
 
     public ContractorService(ContractorRepository contractorRepository,
                              ContractorDocumentRepository documentRepository,
-                             PasswordEncoder passwordEncoder) {
+                             PasswordEncoder passwordEncoder,
+                             ChangeTracker changeTracker) {
         this.contractorRepository = contractorRepository;
         this.documentRepository = documentRepository;
         this.passwordEncoder = passwordEncoder;
+        this.changeTracker = changeTracker;
     }
 
     /**
@@ -288,6 +292,20 @@ public class ContractorService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Version of the contractor list, used as its ETag and as a sync token
+     */
+    public String getContractorsVersion() {
+        return changeTracker.token(ChangeTracker.Dataset.CONTRACTORS);
+    }
+
+    @Transactional(readOnly = true)
+    public DeltaDTO<ContractorResponseDTO> getContractorsSince(String since) {
+        return changeTracker.delta(ChangeTracker.Dataset.CONTRACTORS, since, this::getAllContractors,
+                ids -> contractorRepository.findAllById(ids).stream().map(this::convertToDTO).toList(),
+                ContractorResponseDTO::getId);
+    }
+
     @Transactional(readOnly = true)
     public List<ContractorResponseDTO> getContractorsByStatus(Contractor.Status status) {
         logger.debug("Retrieving contractors by status: {}", status);
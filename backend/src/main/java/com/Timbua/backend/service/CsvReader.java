@@ -0,0 +1,124 @@
+package com.Timbua.backend.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal streaming RFC 4180 reader: one record at a time, quoted fields may contain
+ * commas, doubled quotes and line breaks.
+ *
+ * An unquoted empty field is returned as null and a quoted empty field ("") as an empty
+ * string, so data files can tell missing survey answers apart from blank ones.
+ */
+public class CsvReader implements Closeable {
+
+    private final PushbackReader reader;
+    private final StringBuilder field = new StringBuilder();
+    private int line = 1;
+    private int recordLine = 0;
+    private boolean started = false;
+
+    public CsvReader(Reader reader) {
+        this.reader = new PushbackReader(reader, 1);
+    }
+
+    /**
+     * Next non-blank record, or null at the end of the input
+     */
+    public List<String> readRecord() throws IOException {
+        List<String> record;
+        do {
+            record = readRawRecord();
+        } while (record != null && record.size() == 1 && record.get(0) == null);
+        return record;
+    }
+
+    /**
+     * Line number on which the last returned record started
+     */
+    public int getRecordLine() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readRawRecord() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean inQuotes = false;
+        while (true) {
+            if (inQuotes) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine);
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == ',') {
+                fields.add(takeField(quoted));
+                quoted = false;
+            } else if (c == '\n' || c == '\r' || c == -1) {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n' && next != -1) {
+                        reader.unread(next);
+                    }
+                }
+                if (c != -1) {
+                    line++;
+                }
+                fields.add(takeField(quoted));
+                return fields;
+            } else if (c == '"' && !quoted && field.length() == 0) {
+                quoted = true;
+                inQuotes = true;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private String takeField(boolean quoted) {
+        String value = !quoted && field.length() == 0 ? null : field.toString();
+        field.setLength(0);
+        return value;
+    }
+
+    // Reads one char, skipping a leading byte order mark
+    private int read() throws IOException {
+        int c = reader.read();
+        if (!started) {
+            started = true;
+            if (c == '\uFEFF') {
+                c = reader.read();
+            }
+        }
+        return c;
+    }
+}
@@ -0,0 +1,45 @@
+package com.Timbua.backend.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Counterpart of CsvReader: strings are always quoted and nulls are written as empty
+ * unquoted fields, so files written here read back with nulls and blanks intact.
+ */
+public class CsvWriter {
+
+    private final Writer writer;
+
+    public CsvWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void writeRecord(List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values.get(i);
+            if (value == null) {
+                continue;
+            }
+            if (value instanceof BigDecimal decimal) {
+                writer.write(decimal.toPlainString());
+            } else if (value instanceof Number || value instanceof Boolean) {
+                writer.write(value.toString());
+            } else {
+                writer.write('"');
+                writer.write(value.toString().replace("\"", "\"\""));
+                writer.write('"');
+            }
+        }
+        writer.write('\n');
+    }
+
+    public void flush() throws IOException {
+        writer.flush();
+    }
+}
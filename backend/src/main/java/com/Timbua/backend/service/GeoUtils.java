@@ -0,0 +1,38 @@
+package com.Timbua.backend.service;
+
+/**
+ * Small geodesy helpers shared by the in-memory spatial indexes.
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    // Length of one degree of latitude (and of longitude at the equator)
+    public static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoUtils() {}
+
+    /**
+     * Great-circle distance between two points in kilometres
+     */
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Validate a coordinate pair coming from a request
+     */
+    public static void validateCoordinates(double lat, double lng) {
+        if (Double.isNaN(lat) || lat < -90 || lat > 90) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        if (Double.isNaN(lng) || lng < -180 || lng > 180) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+    }
+}
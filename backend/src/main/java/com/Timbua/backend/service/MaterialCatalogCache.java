@@ -0,0 +1,99 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.CacheStatsDTO;
+import com.Timbua.backend.model.Material;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the material list lookups (all, by supplier, by category).
+ *
+ * Entries are weighed by the number of listings they hold, so the bound is on listings
+ * rather than on entries, and Caffeine's W-TinyLFU policy keeps the frequently read lists.
+ * Writers report the supplier and categories they touched; only those entries are dropped,
+ * after the transaction commits. Expiry is only a safety net for writes that bypass the
+ * services.
+ */
+@Component
+public class MaterialCatalogCache {
+
+    private static final long MAX_CACHED_LISTINGS = 50_000;
+    private static final Duration EXPIRE_AFTER_WRITE = Duration.ofMinutes(10);
+
+    private enum Scope { ALL, SUPPLIER, CATEGORY }
+
+    private record Key(Scope scope, Object value) {}
+
+    private static final Key ALL = new Key(Scope.ALL, null);
+
+    private final Cache<Key, List<Material>> cache = Caffeine.newBuilder()
+            .maximumWeight(MAX_CACHED_LISTINGS)
+            .weigher((Key key, List<Material> materials) -> Math.max(1, materials.size()))
+            .expireAfterWrite(EXPIRE_AFTER_WRITE)
+            .recordStats()
+            .build();
+
+    public List<Material> getAll(Supplier<List<Material>> loader) {
+        return cache.get(ALL, key -> List.copyOf(loader.get()));
+    }
+
+    public List<Material> getBySupplier(Long supplierId, Supplier<List<Material>> loader) {
+        return cache.get(new Key(Scope.SUPPLIER, supplierId), key -> List.copyOf(loader.get()));
+    }
+
+    public List<Material> getByCategory(String category, Supplier<List<Material>> loader) {
+        return cache.get(new Key(Scope.CATEGORY, category), key -> List.copyOf(loader.get()));
+    }
+
+    /**
+     * Drop the lists a material write can change: the full list, the supplier's list and the
+     * list of every category given (pass both the old and new category on a re-categorisation).
+     */
+    public void evictAfterCommit(Long supplierId, String... categories) {
+        evictAfterCommit(supplierId, Arrays.asList(categories));
+    }
+
+    public void evictAfterCommit(Long supplierId, Collection<String> categories) {
+        List<Key> keys = new ArrayList<>(categories.size() + 2);
+        keys.add(ALL);
+        if (supplierId != null) {
+            keys.add(new Key(Scope.SUPPLIER, supplierId));
+        }
+        categories.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(category -> keys.add(new Key(Scope.CATEGORY, category)));
+        TransactionCallbacks.afterCommit(() -> cache.invalidateAll(keys));
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    public CacheStatsDTO getStats() {
+        CacheStats stats = cache.stats();
+        CacheStatsDTO dto = new CacheStatsDTO();
+        dto.setHitCount(stats.hitCount());
+        dto.setMissCount(stats.missCount());
+        dto.setHitRate(stats.hitRate());
+        dto.setEvictionCount(stats.evictionCount());
+        dto.setEvictionWeight(stats.evictionWeight());
+        dto.setAverageLoadMs(stats.averageLoadPenalty() / 1_000_000.0);
+        dto.setEntries(cache.estimatedSize());
+        cache.policy().eviction().ifPresent(eviction -> {
+            dto.setWeightedSize(eviction.weightedSize().orElse(0));
+            dto.setMaximumWeight(eviction.getMaximum());
+        });
+        return dto;
+    }
+}
@@ -0,0 +1,297 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.DistanceResultDTO;
+import com.Timbua.backend.dto.MaterialSummaryDTO;
+import com.Timbua.backend.model.Material;
+import com.Timbua.backend.repository.MaterialRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * In-memory indexes over the supplier material catalog.
+ *
+ * Built lazily from the materials table on first use and maintained from the write paths in
+ * MaterialService and SupplierService, which report every saved or deleted material here.
+ */
+@Service
+public class MaterialCatalogIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaterialCatalogIndexService.class);
+
+    private static final double SPATIAL_CELL_SIZE_DEG = 0.05;
+
+    private final MaterialRepository materialRepository;
+
+    private final SpatialGridIndex<Material> spatialIndex = new SpatialGridIndex<>(SPATIAL_CELL_SIZE_DEG);
+    // Available listings only
+    private final CategoryPriceIndex priceIndex = new CategoryPriceIndex();
+    private final CategorySupplierIndex categorySupplierIndex = new CategorySupplierIndex();
+    private final Map<Long, Material> materialsById = new HashMap<>();
+    private final Map<Long, Long> supplierIdByMaterial = new HashMap<>();
+    private final Map<Long, Set<Long>> materialIdsBySupplier = new HashMap<>();
+    // Listings by canonical material and by the normalised words of their name and category
+    private final Map<Long, Set<Long>> materialIdsByCanonical = new HashMap<>();
+    private final Map<String, Set<Long>> materialIdsByWord = new HashMap<>();
+    private final Map<Long, MatchKeys> matchKeysByMaterial = new HashMap<>();
+    private final Object indexLock = new Object();
+    private volatile boolean indexesLoaded = false;
+
+    public record SupplierPage(List<Long> supplierIds, int total) {}
+
+    // Snapshot of an available listing that matched a recommendation query
+    public record MatchedListing(Long materialId, Long supplierId, String name, String category, String unit,
+                                 double price, String currency, double rating, Double lat, Double lng,
+                                 Integer minOrder, boolean canonicalMatch, Set<String> words) {}
+
+    private record MatchKeys(Long canonicalMaterialId, Set<String> words) {}
+
+    public MaterialCatalogIndexService(MaterialRepository materialRepository) {
+        this.materialRepository = materialRepository;
+    }
+
+    /**
+     * Record a created or updated material once the current transaction commits
+     */
+    public void onMaterialSaved(Material material) {
+        Long supplierId = material.getSupplier() != null ? material.getSupplier().getId() : null;
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (indexLock) {
+                if (indexesLoaded) {
+                    indexMaterial(material, supplierId);
+                }
+            }
+        });
+    }
+
+    public void onMaterialsSaved(Collection<Material> materials) {
+        materials.forEach(this::onMaterialSaved);
+    }
+
+    public void onMaterialDeleted(Long materialId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (indexLock) {
+                if (indexesLoaded) {
+                    unindexMaterial(materialId);
+                }
+            }
+        });
+    }
+
+    public void onSupplierDeleted(Long supplierId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (indexLock) {
+                if (indexesLoaded) {
+                    Set<Long> ids = materialIdsBySupplier.get(supplierId);
+                    if (ids != null) {
+                        List.copyOf(ids).forEach(this::unindexMaterial);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Materials listed within radiusKm of a point, closest first
+     */
+    public List<SpatialGridIndex.Neighbour<Material>> findWithinRadius(double lat, double lng, double radiusKm,
+                                                                      Predicate<Material> filter) {
+        ensureIndexesLoaded();
+        return spatialIndex.withinRadius(lat, lng, radiusKm, filter);
+    }
+
+    /**
+     * Cheapest available listings in a category and currency, optionally restricted to one
+     * unit; without a currency, the category's most used one
+     */
+    public List<MaterialSummaryDTO> findCheapest(String category, String currency, String unit, int limit) {
+        ensureIndexesLoaded();
+        synchronized (indexLock) {
+            List<Long> ids = priceIndex.cheapest(category, currency, unit, limit);
+            List<MaterialSummaryDTO> offers = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                offers.add(toSummary(materialsById.get(id)));
+            }
+            return offers;
+        }
+    }
+
+    /**
+     * One page of the ids of the suppliers listing the category, in id order, with their total
+     */
+    public SupplierPage findSuppliersByCategory(String category, int offset, int limit) {
+        ensureIndexesLoaded();
+        synchronized (indexLock) {
+            return new SupplierPage(categorySupplierIndex.supplierIds(category, offset, limit),
+                    categorySupplierIndex.supplierCount(category));
+        }
+    }
+
+    /**
+     * Summaries of the listings within radiusKm of a point, closest first
+     */
+    public List<DistanceResultDTO<MaterialSummaryDTO>> findSummariesWithinRadius(double lat, double lng, double radiusKm,
+                                                                                Predicate<Material> filter) {
+        List<SpatialGridIndex.Neighbour<Material>> neighbours = findWithinRadius(lat, lng, radiusKm, filter);
+        synchronized (indexLock) {
+            List<DistanceResultDTO<MaterialSummaryDTO>> results = new ArrayList<>(neighbours.size());
+            for (SpatialGridIndex.Neighbour<Material> neighbour : neighbours) {
+                results.add(new DistanceResultDTO<>(toSummary(neighbour.value()), neighbour.distanceKm()));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Available listings of a supplier that carry the canonical material or share at least one
+     * word with the query, looked up in the canonical and word indexes
+     */
+    public List<MatchedListing> findMatchingListings(Long canonicalMaterialId, Set<String> words) {
+        ensureIndexesLoaded();
+        synchronized (indexLock) {
+            Set<Long> ids = new HashSet<>();
+            if (canonicalMaterialId != null) {
+                ids.addAll(materialIdsByCanonical.getOrDefault(canonicalMaterialId, Set.of()));
+            }
+            for (String word : words) {
+                ids.addAll(materialIdsByWord.getOrDefault(word, Set.of()));
+            }
+            List<MatchedListing> listings = new ArrayList<>(ids.size());
+            for (Long id : ids) {
+                Material m = materialsById.get(id);
+                Long supplierId = supplierIdByMaterial.get(id);
+                if (m == null || supplierId == null || !m.isAvailable()) {
+                    continue;
+                }
+                MatchKeys keys = matchKeysByMaterial.get(id);
+                listings.add(new MatchedListing(id, supplierId, m.getName(), m.getCategory(), m.getUnit(), m.getPrice(),
+                        m.getCurrency(), m.getRating(), m.getSupplierLat(), m.getSupplierLng(), m.getMinOrder(),
+                        canonicalMaterialId != null && canonicalMaterialId.equals(keys.canonicalMaterialId()),
+                        keys.words()));
+            }
+            return listings;
+        }
+    }
+
+    /**
+     * Normalised words used to match listings, see CanonicalMaterialMatcher.normalise
+     */
+    public static Set<String> matchWords(String... texts) {
+        Set<String> words = new HashSet<>();
+        for (String text : texts) {
+            String normalised = CanonicalMaterialMatcher.normalise(text);
+            if (!normalised.isEmpty()) {
+                words.addAll(Arrays.asList(normalised.split(" ")));
+            }
+        }
+        return words;
+    }
+
+    // Caller holds indexLock
+    private MaterialSummaryDTO toSummary(Material m) {
+        return new MaterialSummaryDTO(m.getId(), m.getName(), m.getCategory(), m.getPrice(), m.getCurrency(),
+                m.getUnit(), m.getLocation(), m.getRating(), m.isAvailable(), supplierIdByMaterial.get(m.getId()),
+                m.getUpdatedAt());
+    }
+
+    /**
+     * Drop the indexes so they are rebuilt from the table on next use
+     */
+    public void refreshIndexes() {
+        synchronized (indexLock) {
+            indexesLoaded = false;
+        }
+    }
+
+    private void ensureIndexesLoaded() {
+        if (indexesLoaded) {
+            return;
+        }
+        synchronized (indexLock) {
+            if (indexesLoaded) {
+                return;
+            }
+            spatialIndex.clear();
+            priceIndex.clear();
+            categorySupplierIndex.clear();
+            materialsById.clear();
+            supplierIdByMaterial.clear();
+            materialIdsBySupplier.clear();
+            materialIdsByCanonical.clear();
+            materialIdsByWord.clear();
+            matchKeysByMaterial.clear();
+            List<Material> materials = materialRepository.findAllWithSupplier();
+            for (Material material : materials) {
+                indexMaterial(material, material.getSupplier() != null ? material.getSupplier().getId() : null);
+            }
+            indexesLoaded = true;
+            logger.debug("Material catalog indexes loaded with {} materials", materials.size());
+        }
+    }
+
+    private void indexMaterial(Material material, Long supplierId) {
+        Long id = material.getId();
+        unindexMaterial(id);
+        materialsById.put(id, material);
+        if (material.isAvailable()) {
+            priceIndex.put(id, material.getCategory(), material.getCurrency(), material.getUnit(), material.getPrice());
+        }
+        categorySupplierIndex.put(id, material.getCategory(), supplierId);
+        if (supplierId != null) {
+            supplierIdByMaterial.put(id, supplierId);
+            materialIdsBySupplier.computeIfAbsent(supplierId, key -> new HashSet<>()).add(id);
+        }
+        if (material.getSupplierLat() != null && material.getSupplierLng() != null) {
+            spatialIndex.put(id, material.getSupplierLat(), material.getSupplierLng(), material);
+        }
+        MatchKeys keys = new MatchKeys(material.getCanonicalMaterialId(),
+                Set.copyOf(matchWords(material.getName(), material.getCategory())));
+        matchKeysByMaterial.put(id, keys);
+        if (keys.canonicalMaterialId() != null) {
+            materialIdsByCanonical.computeIfAbsent(keys.canonicalMaterialId(), key -> new HashSet<>()).add(id);
+        }
+        for (String word : keys.words()) {
+            materialIdsByWord.computeIfAbsent(word, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    private void unindexMaterial(Long id) {
+        spatialIndex.remove(id);
+        priceIndex.remove(id);
+        categorySupplierIndex.remove(id);
+        materialsById.remove(id);
+        MatchKeys keys = matchKeysByMaterial.remove(id);
+        if (keys != null) {
+            if (keys.canonicalMaterialId() != null) {
+                removeFrom(materialIdsByCanonical, keys.canonicalMaterialId(), id);
+            }
+            for (String word : keys.words()) {
+                removeFrom(materialIdsByWord, word, id);
+            }
+        }
+        Long supplierId = supplierIdByMaterial.remove(id);
+        if (supplierId != null) {
+            removeFrom(materialIdsBySupplier, supplierId, id);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> index, K key, Long id) {
+        Set<Long> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
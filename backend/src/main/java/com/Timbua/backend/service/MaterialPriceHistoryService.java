@@ -0,0 +1,243 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.PricePointDTO;
+import com.Timbua.backend.model.Material;
+import com.Timbua.backend.repository.MaterialPriceHistoryRepository;
+import com.Timbua.backend.repository.MaterialPriceHistoryRepository.DailyRollup;
+import com.Timbua.backend.repository.MaterialPriceHistoryRepository.PriceRecord;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Captures listing prices into the append-only material_price_history table.
+ *
+ * Write paths hand over a price once their transaction commits; the records are queued and
+ * written by a scheduled flush in JDBC batches, together with upserts of the daily rollup
+ * that the trend endpoint reads. Reads therefore lag writes by up to one flush interval.
+ * When the queue fills faster than that, an extra flush is started on the scheduler; the
+ * committing thread never writes, and records that find the queue full are dropped and counted.
+ */
+@Service
+public class MaterialPriceHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaterialPriceHistoryService.class);
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    // Queue size at which a flush is started without waiting for the next interval
+    private static final int EARLY_FLUSH_THRESHOLD = QUEUE_CAPACITY / 2;
+    private static final int FLUSH_BATCH_SIZE = 500;
+    private static final long FLUSH_INTERVAL_MS = 2000;
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+    private static final int DEFAULT_RANGE_DAYS = 90;
+    private static final int MAX_RANGE_DAYS = 731;
+
+    private record RollupKey(LocalDate bucketDate, String category, String county, String currency) {}
+
+    private final MaterialPriceHistoryRepository priceHistoryRepository;
+    private final TransactionTemplate writeTransaction;
+    private final TaskScheduler taskScheduler;
+    private final BlockingQueue<PriceRecord> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+    private final AtomicBoolean earlyFlushScheduled = new AtomicBoolean();
+    private final AtomicLong droppedRecords = new AtomicLong();
+    private final Object flushLock = new Object();
+    // Batch whose write failed, retried ahead of the queue on the next flush
+    private final List<PriceRecord> failedBatch = new ArrayList<>();
+    private int failedAttempts = 0;
+
+    public MaterialPriceHistoryService(MaterialPriceHistoryRepository priceHistoryRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       TaskScheduler taskScheduler) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.taskScheduler = taskScheduler;
+        // Each flush writes in its own transaction, never joining one its thread may still hold
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Record the current price of the material once the current transaction commits
+     */
+    public void recordPrice(Material material) {
+        PriceRecord record = toRecord(material, LocalDateTime.now());
+        TransactionCallbacks.afterCommit(() -> enqueue(record));
+    }
+
+    public void recordPrices(Collection<Material> materials) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PriceRecord> records = materials.stream().map(m -> toRecord(m, now)).toList();
+        TransactionCallbacks.afterCommit(() -> records.forEach(this::enqueue));
+    }
+
+    @Scheduled(fixedDelay = FLUSH_INTERVAL_MS)
+    public void flush() {
+        synchronized (flushLock) {
+            List<PriceRecord> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+            while (true) {
+                if (!failedBatch.isEmpty()) {
+                    batch.addAll(failedBatch);
+                    failedBatch.clear();
+                } else {
+                    queue.drainTo(batch, FLUSH_BATCH_SIZE);
+                }
+                if (batch.isEmpty()) {
+                    return;
+                }
+                try {
+                    write(batch);
+                    failedAttempts = 0;
+                } catch (DataAccessException e) {
+                    if (++failedAttempts < MAX_WRITE_ATTEMPTS) {
+                        logger.warn("Writing {} price history records failed, will retry", batch.size(), e);
+                        failedBatch.addAll(batch);
+                    } else {
+                        logger.error("Dropping {} price history records after {} failed attempts",
+                                batch.size(), failedAttempts, e);
+                        failedAttempts = 0;
+                    }
+                    return;
+                }
+                batch.clear();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Records dropped because the queue was full, since startup
+     */
+    public long getDroppedCount() {
+        return droppedRecords.get();
+    }
+
+    /**
+     * Price series of one listing in day or week buckets. to is inclusive; the range
+     * defaults to the last 90 days.
+     */
+    public List<PricePointDTO> getPriceHistory(Long materialId, String bucket, LocalDate from, LocalDate to) {
+        String unit = parseBucket(bucket);
+        LocalDate end = to != null ? to.plusDays(1) : LocalDate.now().plusDays(1);
+        LocalDate start = resolveStart(from, end);
+        return priceHistoryRepository.findMaterialSeries(materialId, unit, start, end);
+    }
+
+    /**
+     * Category price series in day or week buckets, read from the daily rollup
+     */
+    public List<PricePointDTO> getPriceTrend(String category, String county, String currency, String bucket,
+                                             LocalDate from, LocalDate to) {
+        if (category == null || category.isBlank()) {
+            throw new IllegalArgumentException("category is required");
+        }
+        String unit = parseBucket(bucket);
+        LocalDate end = to != null ? to.plusDays(1) : LocalDate.now().plusDays(1);
+        LocalDate start = resolveStart(from, end);
+        return priceHistoryRepository.findTrend(rollupKey(category),
+                county == null || county.isBlank() ? null : rollupKey(county),
+                currency == null || currency.isBlank() ? null : currencyKey(currency),
+                unit, start, end);
+    }
+
+    // Runs on the committing thread, so it must not wait for the database
+    private void enqueue(PriceRecord record) {
+        if (!queue.offer(record)) {
+            long dropped = droppedRecords.incrementAndGet();
+            logger.error("Price history queue full, dropped price {} of material {} ({} dropped so far)",
+                    record.price(), record.materialId(), dropped);
+        }
+        if (queue.size() >= EARLY_FLUSH_THRESHOLD && earlyFlushScheduled.compareAndSet(false, true)) {
+            taskScheduler.schedule(() -> {
+                earlyFlushScheduled.set(false);
+                flush();
+            }, Instant.now());
+        }
+    }
+
+    private void write(List<PriceRecord> batch) {
+        Map<RollupKey, double[]> totals = new LinkedHashMap<>();
+        for (PriceRecord record : batch) {
+            RollupKey key = new RollupKey(record.recordedAt().toLocalDate(), rollupKey(record.category()),
+                    rollupKey(record.county()), currencyKey(record.currency()));
+            double[] total = totals.get(key);
+            if (total == null) {
+                totals.put(key, new double[] {1, record.price(), record.price(), record.price()});
+            } else {
+                total[0]++;
+                total[1] += record.price();
+                total[2] = Math.min(total[2], record.price());
+                total[3] = Math.max(total[3], record.price());
+            }
+        }
+        List<DailyRollup> rollups = new ArrayList<>(totals.size());
+        totals.forEach((key, total) -> rollups.add(new DailyRollup(key.bucketDate(), key.category(), key.county(),
+                key.currency(), (long) total[0], total[1], total[2], total[3])));
+
+        writeTransaction.executeWithoutResult(status -> {
+            priceHistoryRepository.insertAll(batch);
+            priceHistoryRepository.upsertDaily(rollups);
+        });
+    }
+
+    private static PriceRecord toRecord(Material material, LocalDateTime recordedAt) {
+        Long supplierId = material.getSupplier() != null ? material.getSupplier().getId() : null;
+        return new PriceRecord(material.getId(), supplierId, material.getCategory(), material.getLocation(),
+                material.getPrice(), material.getCurrency(), recordedAt);
+    }
+
+    private static String parseBucket(String bucket) {
+        if (bucket == null || bucket.isBlank()) {
+            return "day";
+        }
+        return switch (bucket.trim().toLowerCase(Locale.ROOT)) {
+            case "day", "daily" -> "day";
+            case "week", "weekly" -> "week";
+            default -> throw new IllegalArgumentException("bucket must be day or week");
+        };
+    }
+
+    private static LocalDate resolveStart(LocalDate from, LocalDate end) {
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_RANGE_DAYS);
+        if (!start.isBefore(end)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (ChronoUnit.DAYS.between(start, end) > MAX_RANGE_DAYS) {
+            throw new IllegalArgumentException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        return start;
+    }
+
+    // Rollup dimensions are lower-cased with '' for missing values, see MaterialPriceDaily
+    private static String rollupKey(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String currencyKey(String currency) {
+        return currency == null ? "" : currency.trim().toUpperCase(Locale.ROOT);
+    }
+}
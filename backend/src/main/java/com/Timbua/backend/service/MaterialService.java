@@ -1,23 +1,79 @@
 package com.Timbua.backend.service;
 
+import com.Timbua.backend.dto.CacheStatsDTO;
+import com.Timbua.backend.dto.CursorPageDTO;
+import com.Timbua.backend.dto.DeltaDTO;
+import com.Timbua.backend.dto.DistanceResultDTO;
+import com.Timbua.backend.dto.MaterialBatchUpdateResultDTO;
+import com.Timbua.backend.dto.MaterialPatchDTO;
+import com.Timbua.backend.dto.NearbyMaterialDTO;
+import com.Timbua.backend.dto.PricePointDTO;
+import com.Timbua.backend.dto.MaterialSummaryDTO;
 import com.Timbua.backend.model.Material;
 import com.Timbua.backend.model.Supplier;
+import com.Timbua.backend.repository.MaterialBatchRepository;
+import com.Timbua.backend.repository.MaterialCatalogQueries.CatalogFilter;
+import com.Timbua.backend.repository.MaterialCatalogQueries.CatalogKey;
+import com.Timbua.backend.repository.MaterialCatalogQueries.CatalogSort;
 import com.Timbua.backend.repository.MaterialRepository;
 import com.Timbua.backend.repository.SupplierRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class MaterialService {
 
+    private static final int MAX_CATALOG_PAGE_SIZE = 100;
+    private static final double MAX_NEARBY_RADIUS_KM = 200.0;
+    private static final int MAX_BATCH_PATCHES = 5000;
+
     private final MaterialRepository materialRepository;
+    private final MaterialBatchRepository materialBatchRepository;
     private final SupplierRepository supplierRepository;
+    private final MaterialCatalogIndexService catalogIndexService;
+    private final MaterialCatalogCache catalogCache;
+    private final MaterialPriceHistoryService priceHistoryService;
+    private final CanonicalMaterialService canonicalMaterialService;
+    private final AutocompleteService autocompleteService;
+    private final ChangeTracker changeTracker;
+    private final SupplierAvailabilityCounter availabilityCounter;
 
-    public MaterialService(MaterialRepository materialRepository, SupplierRepository supplierRepository) {
+    public MaterialService(MaterialRepository materialRepository, MaterialBatchRepository materialBatchRepository,
+                           SupplierRepository supplierRepository,
+                           MaterialCatalogIndexService catalogIndexService, MaterialCatalogCache catalogCache,
+                           MaterialPriceHistoryService priceHistoryService,
+                           CanonicalMaterialService canonicalMaterialService,
+                           AutocompleteService autocompleteService,
+                           ChangeTracker changeTracker,
+                           SupplierAvailabilityCounter availabilityCounter) {
         this.materialRepository = materialRepository;
+        this.materialBatchRepository = materialBatchRepository;
         this.supplierRepository = supplierRepository;
+        this.catalogIndexService = catalogIndexService;
+        this.catalogCache = catalogCache;
+        this.priceHistoryService = priceHistoryService;
+        this.canonicalMaterialService = canonicalMaterialService;
+        this.autocompleteService = autocompleteService;
+        this.changeTracker = changeTracker;
+        this.availabilityCounter = availabilityCounter;
     }
 
     @Transactional
@@ -28,21 +84,200 @@ public class MaterialService {
             throw new IllegalArgumentException("Supplier must be verified to add materials");
         }
         material.setSupplier(supplier);
-        return materialRepository.save(material);
+        canonicalMaterialService.assign(material);
+        Material saved = materialRepository.save(material);
+        catalogIndexService.onMaterialSaved(saved);
+        autocompleteService.onMaterialSaved(saved);
+        catalogCache.evictAfterCommit(supplierId, saved.getCategory());
+        priceHistoryService.recordPrice(saved);
+        availabilityCounter.adjust(supplierId, SupplierAvailabilityCounter.delta(null, saved.isAvailable()));
+        return saved;
     }
 
     public List<Material> getMaterialsBySupplier(Long supplierId) {
-        return materialRepository.findBySupplierId(supplierId);
+        return catalogCache.getBySupplier(supplierId, () -> materialRepository.findBySupplierId(supplierId));
     }
 
     public List<Material> getAllMaterials() {
-        return materialRepository.findAll();
+        return catalogCache.getAll(() -> materialRepository.findAll());
+    }
+
+    /**
+     * Version of the material list, used as its ETag and as a sync token
+     */
+    public String getMaterialsVersion() {
+        return changeTracker.token(ChangeTracker.Dataset.MATERIALS);
+    }
+
+    public DeltaDTO<Material> getMaterialsSince(String since) {
+        return changeTracker.delta(ChangeTracker.Dataset.MATERIALS, since, this::getAllMaterials,
+                ids -> materialRepository.findAllById(ids), Material::getId);
+    }
+
+    public List<Material> getMaterialsByCategory(String category) {
+        return catalogCache.getByCategory(category, () -> materialRepository.findByCategory(category));
+    }
+
+    public CacheStatsDTO getCacheStats() {
+        return catalogCache.getStats();
+    }
+
+    public List<PricePointDTO> getPriceHistory(Long id, String bucket, LocalDate from, LocalDate to) {
+        return priceHistoryService.getPriceHistory(id, bucket, from, to);
+    }
+
+    public List<PricePointDTO> getPriceTrend(String category, String county, String currency, String bucket,
+                                             LocalDate from, LocalDate to) {
+        return priceHistoryService.getPriceTrend(category, county, currency, bucket, from, to);
+    }
+
+    /**
+     * One keyset page of the catalog. The cursor encodes the sort and the (price or updatedAt, id)
+     * of the last row returned, so deep pages cost the same as the first one.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<MaterialSummaryDTO> getCatalogPage(String category, Boolean available, String unit,
+                                                            Double minPrice, Double maxPrice, String sort,
+                                                            String cursor, int limit) {
+        if (limit < 1 || limit > MAX_CATALOG_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CATALOG_PAGE_SIZE);
+        }
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+        }
+        CatalogSort catalogSort = parseSort(sort);
+        CatalogKey after = cursor != null && !cursor.isBlank() ? decodeCursor(cursor, catalogSort) : null;
+        CatalogFilter filter = new CatalogFilter(blankToNull(category), available, blankToNull(unit), minPrice, maxPrice);
+
+        // One extra row tells whether there is a next page
+        List<MaterialSummaryDTO> rows = materialRepository.findCatalogPage(filter, catalogSort, after, limit + 1);
+        if (rows.size() <= limit) {
+            return new CursorPageDTO<>(rows, limit, null);
+        }
+        List<MaterialSummaryDTO> page = rows.subList(0, limit);
+        return new CursorPageDTO<>(List.copyOf(page), limit, encodeCursor(catalogSort, page.get(limit - 1)));
+    }
+
+    /**
+     * Cheapest available offers in a category (and unit), from the in-memory price index.
+     * Prices are only compared within one currency: the given one, or else the currency most
+     * of the category's listings are priced in.
+     */
+    public List<MaterialSummaryDTO> getCheapestOffers(String category, String currency, String unit, int limit) {
+        if (category == null || category.isBlank()) {
+            throw new IllegalArgumentException("category is required");
+        }
+        if (limit < 1 || limit > MAX_CATALOG_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CATALOG_PAGE_SIZE);
+        }
+        return catalogIndexService.findCheapest(category, currency, unit, limit);
+    }
+
+    /**
+     * Listings within radiusKm of a point. With priceWeight 0 they are ordered by distance;
+     * otherwise by a score blending distance (as a fraction of the radius) and price (relative
+     * to the cheapest and dearest listing found in the same currency), weighted by priceWeight.
+     */
+    public List<NearbyMaterialDTO> findNearbyMaterials(double lat, double lng, double radiusKm, String category,
+                                                       boolean availableOnly, double priceWeight, int limit) {
+        GeoUtils.validateCoordinates(lat, lng);
+        if (radiusKm <= 0 || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm must be greater than 0 and at most " + MAX_NEARBY_RADIUS_KM);
+        }
+        if (priceWeight < 0 || priceWeight > 1) {
+            throw new IllegalArgumentException("priceWeight must be between 0 and 1");
+        }
+        if (limit < 1 || limit > MAX_CATALOG_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_CATALOG_PAGE_SIZE);
+        }
+        String needle = category == null || category.isBlank() ? null : category.trim().toLowerCase(Locale.ROOT);
+        List<DistanceResultDTO<MaterialSummaryDTO>> candidates = catalogIndexService.findSummariesWithinRadius(lat, lng, radiusKm,
+                m -> (!availableOnly || m.isAvailable())
+                        && (needle == null || (m.getCategory() != null && m.getCategory().toLowerCase(Locale.ROOT).contains(needle))));
+
+        if (priceWeight == 0) {
+            return candidates.stream()
+                    .limit(limit)
+                    .map(c -> new NearbyMaterialDTO(c.getItem(), c.getDistanceKm(), null))
+                    .toList();
+        }
+
+        // Prices are only comparable within one currency, so each is normalised against its own range
+        Map<String, double[]> priceRanges = new HashMap<>();
+        for (DistanceResultDTO<MaterialSummaryDTO> candidate : candidates) {
+            double price = candidate.getItem().getPrice();
+            priceRanges.merge(currencyKey(candidate.getItem().getCurrency()), new double[]{price, price},
+                    (range, next) -> new double[]{Math.min(range[0], next[0]), Math.max(range[1], next[1])});
+        }
+        List<NearbyMaterialDTO> scored = new ArrayList<>(candidates.size());
+        for (DistanceResultDTO<MaterialSummaryDTO> candidate : candidates) {
+            double[] range = priceRanges.get(currencyKey(candidate.getItem().getCurrency()));
+            double priceSpread = range[1] - range[0];
+            double distanceScore = candidate.getDistanceKm() / radiusKm;
+            double priceScore = priceSpread > 0 ? (candidate.getItem().getPrice() - range[0]) / priceSpread : 0;
+            double score = (1 - priceWeight) * distanceScore + priceWeight * priceScore;
+            scored.add(new NearbyMaterialDTO(candidate.getItem(), candidate.getDistanceKm(), score));
+        }
+        scored.sort(Comparator.comparing(NearbyMaterialDTO::getScore)
+                .thenComparingDouble(NearbyMaterialDTO::getDistanceKm));
+        return scored.size() > limit ? List.copyOf(scored.subList(0, limit)) : scored;
+    }
+
+    private static CatalogSort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return CatalogSort.PRICE_ASC;
+        }
+        return switch (sort.trim().toLowerCase(Locale.ROOT)) {
+            case "price", "price_asc" -> CatalogSort.PRICE_ASC;
+            case "price_desc" -> CatalogSort.PRICE_DESC;
+            case "updated", "updated_desc" -> CatalogSort.UPDATED_DESC;
+            default -> throw new IllegalArgumentException("sort must be price, price_desc or updated");
+        };
+    }
+
+    private static String encodeCursor(CatalogSort sort, MaterialSummaryDTO last) {
+        String value = sort == CatalogSort.UPDATED_DESC ? String.valueOf(last.getUpdatedAt()) : Double.toString(last.getPrice());
+        String raw = sort.name() + "|" + value + "|" + last.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static CatalogKey decodeCursor(String cursor, CatalogSort sort) {
+        String[] parts;
+        Object value;
+        Long id;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            value = parts[0].equals(CatalogSort.UPDATED_DESC.name()) ? LocalDateTime.parse(parts[1]) : Double.valueOf(parts[1]);
+            id = Long.valueOf(parts[2]);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            // Bad base64 and NumberFormatException are IllegalArgumentExceptions too
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (!parts[0].equals(sort.name())) {
+            throw new IllegalArgumentException("Cursor does not belong to this sort order");
+        }
+        return new CatalogKey(value, id);
+    }
+
+    private static String currencyKey(String currency) {
+        return currency == null ? "" : currency.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
     }
 
     @Transactional
     public Material updateMaterial(Long id, Material updated) {
-        Material m = materialRepository.findById(id)
+        Material m = materialRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new RuntimeException("Material not found"));
+        String previousCategory = m.getCategory();
+        double previousPrice = m.getPrice();
+        String previousCurrency = m.getCurrency();
+        boolean previousAvailable = m.isAvailable();
         m.setName(updated.getName());
         m.setCategory(updated.getCategory());
         m.setPrice(updated.getPrice());
@@ -56,10 +291,122 @@ public class MaterialService {
         m.setRating(updated.getRating());
         m.setSupplierLat(updated.getSupplierLat());
         m.setSupplierLng(updated.getSupplierLng());
-        return materialRepository.save(m);
+        canonicalMaterialService.assign(m);
+        Material saved = materialRepository.save(m);
+        catalogIndexService.onMaterialSaved(saved);
+        autocompleteService.onMaterialSaved(saved);
+        catalogCache.evictAfterCommit(saved.getSupplier().getId(), previousCategory, saved.getCategory());
+        if (saved.getPrice() != previousPrice || !Objects.equals(saved.getCurrency(), previousCurrency)) {
+            priceHistoryService.recordPrice(saved);
+        }
+        availabilityCounter.adjust(saved.getSupplier().getId(),
+                SupplierAvailabilityCounter.delta(previousAvailable, saved.isAvailable()));
+        return saved;
+    }
+
+    /**
+     * Apply availability and price patches to a supplier's catalog in one transaction. Every
+     * patch must carry the expectedUpdatedAt the client last saw. The patched rows are locked,
+     * patches whose expectedUpdatedAt is stale are skipped as conflicts, and the remaining
+     * changes are written with a single UPDATE. Rows never updated are compared on createdAt.
+     */
+    @Transactional
+    public MaterialBatchUpdateResultDTO patchMaterials(Long supplierId, List<MaterialPatchDTO> patches) {
+        if (patches == null || patches.isEmpty()) {
+            throw new IllegalArgumentException("At least one patch is required");
+        }
+        if (patches.size() > MAX_BATCH_PATCHES) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_PATCHES + " patches per request");
+        }
+        Map<Long, MaterialPatchDTO> patchesById = new LinkedHashMap<>();
+        for (MaterialPatchDTO patch : patches) {
+            if (patch.getMaterialId() == null) {
+                throw new IllegalArgumentException("materialId is required");
+            }
+            if (patch.getExpectedUpdatedAt() == null) {
+                throw new IllegalArgumentException("expectedUpdatedAt is required for material " + patch.getMaterialId());
+            }
+            if (patch.getPrice() != null && !(patch.getPrice() >= 0 && Double.isFinite(patch.getPrice()))) {
+                throw new IllegalArgumentException("price must be a non-negative number for material " + patch.getMaterialId());
+            }
+            if (patchesById.putIfAbsent(patch.getMaterialId(), patch) != null) {
+                throw new IllegalArgumentException("Duplicate patch for material " + patch.getMaterialId());
+            }
+        }
+        Supplier supplier = supplierRepository.findById(supplierId)
+                .orElseThrow(() -> new RuntimeException("Supplier not found"));
+
+        Map<Long, Material> current = new HashMap<>();
+        for (Material material : materialBatchRepository.findBySupplierIdForUpdate(supplierId, patchesById.keySet())) {
+            current.put(material.getId(), material);
+        }
+        // Postgres keeps microseconds, so the stamp reads back exactly as returned here
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        MaterialBatchUpdateResultDTO result = new MaterialBatchUpdateResultDTO();
+        List<Material> changed = new ArrayList<>();
+        List<Material> repriced = new ArrayList<>();
+        int availableDelta = 0;
+        Set<String> categories = new HashSet<>();
+        for (MaterialPatchDTO patch : patchesById.values()) {
+            Material material = current.get(patch.getMaterialId());
+            if (material == null) {
+                result.getNotFoundIds().add(patch.getMaterialId());
+                continue;
+            }
+            LocalDateTime lastChanged = material.getUpdatedAt() != null ? material.getUpdatedAt() : material.getCreatedAt();
+            if (!sameInstant(patch.getExpectedUpdatedAt(), lastChanged)) {
+                result.getConflicts().add(new MaterialBatchUpdateResultDTO.Conflict(material.getId(),
+                        lastChanged, material.isAvailable(), material.getPrice()));
+                continue;
+            }
+            boolean availabilityChanged = patch.getAvailable() != null && patch.getAvailable() != material.isAvailable();
+            boolean priceChanged = patch.getPrice() != null && patch.getPrice() != material.getPrice();
+            if (!availabilityChanged && !priceChanged) {
+                result.getUnchangedIds().add(material.getId());
+                continue;
+            }
+            if (availabilityChanged) {
+                availableDelta += SupplierAvailabilityCounter.delta(material.isAvailable(), patch.getAvailable());
+                material.setAvailable(patch.getAvailable());
+            }
+            if (priceChanged) {
+                material.setPrice(patch.getPrice());
+                repriced.add(material);
+            }
+            material.setUpdatedAt(now);
+            material.setSupplier(supplier);
+            changed.add(material);
+            categories.add(material.getCategory());
+            result.getUpdatedIds().add(material.getId());
+        }
+
+        if (!changed.isEmpty()) {
+            materialBatchRepository.updateAvailabilityAndPrice(changed);
+            result.setUpdatedAt(now);
+            catalogIndexService.onMaterialsSaved(changed);
+            catalogCache.evictAfterCommit(supplierId, categories);
+            priceHistoryService.recordPrices(repriced);
+            availabilityCounter.adjust(supplierId, availableDelta);
+            // Written with JDBC, so the entity listener never saw these
+            changeTracker.recordSaved(ChangeTracker.Dataset.MATERIALS, result.getUpdatedIds());
+        }
+        return result;
     }
 
+    // Tolerates the sub-microsecond rounding of timestamps saved through JPA
+    private static boolean sameInstant(LocalDateTime expected, LocalDateTime actual) {
+        return actual != null && Math.abs(Duration.between(expected, actual).toNanos()) < 1_000;
+    }
+
+    @Transactional
     public void deleteMaterial(Long id) {
-        materialRepository.deleteById(id);
+        Material material = materialRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new RuntimeException("Material not found"));
+        materialRepository.delete(material);
+        catalogIndexService.onMaterialDeleted(id);
+        autocompleteService.onMaterialDeleted(id);
+        catalogCache.evictAfterCommit(material.getSupplier().getId(), material.getCategory());
+        availabilityCounter.adjust(material.getSupplier().getId(),
+                SupplierAvailabilityCounter.delta(material.isAvailable(), null));
     }
 }
\ No newline at end of file
@@ -0,0 +1,200 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.model.MaterialSite;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Per-value bitmaps for the material site filter facets.
+ *
+ * Every site gets a small integer ordinal and each facet value keeps a BitSet of the
+ * ordinals having that value, so a multi-facet filter is a handful of word-wise OR/AND
+ * operations instead of a query per combination. Values are matched case-insensitively;
+ * ordinals of deleted sites are reused to keep the bitmaps dense.
+ */
+public class MaterialSiteBitmapIndex {
+
+    public enum Facet {
+        MATERIAL("material", MaterialSite::getMaterial),
+        COUNTY("county", MaterialSite::getCounty),
+        SUB_COUNTY("subCounty", MaterialSite::getSubCounty),
+        SIZE_OF_MANUFACTURING_INDUSTRY("sizeOfManufacturingIndustry", MaterialSite::getSizeOfManufacturingIndustry),
+        OWNER_OF_MATERIAL("ownerOfMaterial", MaterialSite::getOwnerOfMaterial);
+
+        private final String paramName;
+        private final Function<MaterialSite, String> getter;
+
+        Facet(String paramName, Function<MaterialSite, String> getter) {
+            this.paramName = paramName;
+            this.getter = getter;
+        }
+
+        public String getParamName() { return paramName; }
+    }
+
+    public record Result(List<MaterialSite> page, int total, Map<String, Map<String, Integer>> facetCounts) {}
+
+    private static final class ValueBitmap {
+        private final String label; // first spelling seen, returned in facet counts
+        private final BitSet ordinals = new BitSet();
+
+        private ValueBitmap(String label) {
+            this.label = label;
+        }
+    }
+
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final List<MaterialSite> siteByOrdinal = new ArrayList<>();
+    // Facet keys each ordinal was indexed under, so a re-save of a mutated entity clears the old bits
+    private final List<String[]> keysByOrdinal = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<Facet, Map<String, ValueBitmap>> bitmaps = new EnumMap<>(Facet.class);
+
+    public MaterialSiteBitmapIndex() {
+        for (Facet facet : Facet.values()) {
+            bitmaps.put(facet, new HashMap<>());
+        }
+    }
+
+    public synchronized void put(MaterialSite site) {
+        Integer ordinal = ordinalById.get(site.getId());
+        if (ordinal != null) {
+            clearOrdinal(ordinal);
+        } else {
+            ordinal = live.nextClearBit(0);
+            ordinalById.put(site.getId(), ordinal);
+        }
+        while (siteByOrdinal.size() <= ordinal) {
+            siteByOrdinal.add(null);
+            keysByOrdinal.add(null);
+        }
+        String[] keys = new String[Facet.values().length];
+        for (Facet facet : Facet.values()) {
+            String value = facet.getter.apply(site);
+            String key = key(value);
+            if (key != null) {
+                bitmaps.get(facet).computeIfAbsent(key, k -> new ValueBitmap(value.trim())).ordinals.set(ordinal);
+                keys[facet.ordinal()] = key;
+            }
+        }
+        siteByOrdinal.set(ordinal, site);
+        keysByOrdinal.set(ordinal, keys);
+        live.set(ordinal);
+    }
+
+    public synchronized void remove(Long id) {
+        Integer ordinal = ordinalById.remove(id);
+        if (ordinal != null) {
+            clearOrdinal(ordinal);
+            siteByOrdinal.set(ordinal, null);
+            keysByOrdinal.set(ordinal, null);
+            live.clear(ordinal);
+        }
+    }
+
+    public synchronized void clear() {
+        ordinalById.clear();
+        siteByOrdinal.clear();
+        keysByOrdinal.clear();
+        live.clear();
+        bitmaps.values().forEach(Map::clear);
+    }
+
+    /**
+     * Sites matching every facet with a selection (any of the selected values within a facet),
+     * one page of them, and for each facet the counts its values would have if only that
+     * facet's own selection were changed.
+     */
+    public synchronized Result filter(Map<Facet, ? extends Collection<String>> selection, int offset, int limit) {
+        Map<Facet, BitSet> facetMatches = new EnumMap<>(Facet.class);
+        for (Map.Entry<Facet, ? extends Collection<String>> entry : selection.entrySet()) {
+            if (entry.getValue() == null || entry.getValue().isEmpty()) {
+                continue;
+            }
+            BitSet union = new BitSet();
+            for (String value : entry.getValue()) {
+                ValueBitmap bitmap = bitmaps.get(entry.getKey()).get(key(value));
+                if (bitmap != null) {
+                    union.or(bitmap.ordinals);
+                }
+            }
+            facetMatches.put(entry.getKey(), union);
+        }
+
+        BitSet matches = (BitSet) live.clone();
+        facetMatches.values().forEach(matches::and);
+
+        List<MaterialSite> page = new ArrayList<>(Math.max(0, Math.min(limit, matches.cardinality() - offset)));
+        int skipped = 0;
+        for (int i = matches.nextSetBit(0); i >= 0 && page.size() < limit; i = matches.nextSetBit(i + 1)) {
+            if (skipped++ >= offset) {
+                page.add(siteByOrdinal.get(i));
+            }
+        }
+
+        Map<String, Map<String, Integer>> facetCounts = new LinkedHashMap<>();
+        for (Facet facet : Facet.values()) {
+            // Counts for a facet ignore its own selection so the other values stay pickable
+            BitSet base = matches;
+            if (facetMatches.containsKey(facet)) {
+                base = (BitSet) live.clone();
+                for (Map.Entry<Facet, BitSet> other : facetMatches.entrySet()) {
+                    if (other.getKey() != facet) {
+                        base.and(other.getValue());
+                    }
+                }
+            }
+            Map<String, Integer> counts = new TreeMap<>();
+            BitSet scratch = new BitSet();
+            for (ValueBitmap bitmap : bitmaps.get(facet).values()) {
+                scratch.clear();
+                scratch.or(bitmap.ordinals);
+                scratch.and(base);
+                int count = scratch.cardinality();
+                if (count > 0) {
+                    counts.merge(bitmap.label, count, Integer::sum);
+                }
+            }
+            facetCounts.put(facet.getParamName(), counts);
+        }
+        return new Result(page, matches.cardinality(), facetCounts);
+    }
+
+    private void clearOrdinal(int ordinal) {
+        String[] keys = keysByOrdinal.get(ordinal);
+        if (keys == null) {
+            return;
+        }
+        for (Facet facet : Facet.values()) {
+            String key = keys[facet.ordinal()];
+            if (key == null) {
+                continue;
+            }
+            Map<String, ValueBitmap> values = bitmaps.get(facet);
+            ValueBitmap bitmap = values.get(key);
+            if (bitmap != null) {
+                bitmap.ordinals.clear(ordinal);
+                if (bitmap.ordinals.isEmpty()) {
+                    values.remove(key);
+                }
+            }
+        }
+    }
+
+    private static String key(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
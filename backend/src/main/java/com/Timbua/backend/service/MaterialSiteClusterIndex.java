@@ -0,0 +1,189 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.MaterialSiteClusterDTO;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pre-aggregated map clusters for every zoom level from 0 to MAX_ZOOM.
+ *
+ * Each zoom level has a grid whose cells are roughly 64 screen pixels wide at that zoom.
+ * A cell keeps its site count, coordinate sums (for the centroid) and per-material counts,
+ * so adding or removing a site touches one cell per zoom level and a bbox query only
+ * reads the cells that are on screen.
+ */
+public class MaterialSiteClusterIndex {
+
+    public static final int MAX_ZOOM = 16;
+
+    // 64px of a 256px world tile is a quarter of the world at zoom 0
+    private static final double ZOOM_0_CELL_DEG = 90.0;
+
+    // A 4096px square viewport at its own zoom; bigger boxes are served from a coarser level
+    static final long MAX_CELLS_IN_VIEW = 64 * 64;
+
+    private record Point(double lat, double lng, String material) {}
+
+    private static final class Cell {
+        private int count;
+        private double latSum;
+        private double lngSum;
+        // Sum of the member ids; once a single site is left it is that site's id
+        private long idSum;
+        private final Map<String, Integer> materials = new HashMap<>();
+
+        String dominantMaterial() {
+            String best = null;
+            int bestCount = 0;
+            for (Map.Entry<String, Integer> entry : materials.entrySet()) {
+                if (entry.getValue() > bestCount
+                        || (entry.getValue() == bestCount && entry.getKey().compareTo(best) < 0)) {
+                    best = entry.getKey();
+                    bestCount = entry.getValue();
+                }
+            }
+            return best;
+        }
+    }
+
+    private final Map<Long, Point> points = new HashMap<>();
+    private final List<Map<Long, Cell>> levels = new ArrayList<>(MAX_ZOOM + 1);
+
+    public MaterialSiteClusterIndex() {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            levels.add(new HashMap<>());
+        }
+    }
+
+    public synchronized void put(Long id, double lat, double lng, String material) {
+        Point next = new Point(lat, lng, material != null && !material.isBlank() ? material.trim() : null);
+        Point previous = points.put(id, next);
+        if (next.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            removeFromLevels(id, previous);
+        }
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            Cell cell = levels.get(zoom).computeIfAbsent(cellKey(zoom, lat, lng), key -> new Cell());
+            cell.count++;
+            cell.latSum += lat;
+            cell.lngSum += lng;
+            cell.idSum += id;
+            if (next.material() != null) {
+                cell.materials.merge(next.material(), 1, Integer::sum);
+            }
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        Point previous = points.remove(id);
+        if (previous != null) {
+            removeFromLevels(id, previous);
+        }
+    }
+
+    public synchronized void clear() {
+        points.clear();
+        levels.forEach(Map::clear);
+    }
+
+    /**
+     * Clusters whose cell intersects the bounding box. Zoom levels above MAX_ZOOM use the
+     * MAX_ZOOM grid, which is already fine enough to separate neighbouring sites. A box
+     * spanning more than MAX_CELLS_IN_VIEW cells at the requested zoom (one much larger than
+     * a screen at that zoom) is clustered at the finest coarser zoom where it fits, so the
+     * number of clusters returned stays bounded.
+     */
+    public synchronized List<MaterialSiteClusterDTO> clusters(double minLat, double minLng,
+                                                              double maxLat, double maxLng, int zoom) {
+        int level = Math.max(0, Math.min(zoom, MAX_ZOOM));
+        long minX;
+        long maxX;
+        long minY;
+        long maxY;
+        long cellsInBox;
+        while (true) {
+            double cellSize = cellSize(level);
+            minX = index(minLng + 180.0, cellSize);
+            maxX = index(maxLng + 180.0, cellSize);
+            minY = index(minLat + 90.0, cellSize);
+            maxY = index(maxLat + 90.0, cellSize);
+            cellsInBox = (maxX - minX + 1) * (maxY - minY + 1);
+            if (cellsInBox <= MAX_CELLS_IN_VIEW || level == 0) {
+                break;
+            }
+            level--;
+        }
+        Map<Long, Cell> cells = levels.get(level);
+
+        List<MaterialSiteClusterDTO> result = new ArrayList<>();
+        if (cellsInBox <= cells.size()) {
+            for (long x = minX; x <= maxX; x++) {
+                for (long y = minY; y <= maxY; y++) {
+                    Cell cell = cells.get(key(x, y));
+                    if (cell != null) {
+                        result.add(toDto(cell));
+                    }
+                }
+            }
+        } else {
+            // Zoomed out: fewer occupied cells than cells in view
+            for (Map.Entry<Long, Cell> entry : cells.entrySet()) {
+                long x = entry.getKey() >>> 32;
+                long y = entry.getKey() & 0xffffffffL;
+                if (x >= minX && x <= maxX && y >= minY && y <= maxY) {
+                    result.add(toDto(entry.getValue()));
+                }
+            }
+        }
+        return result;
+    }
+
+    private void removeFromLevels(Long id, Point point) {
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            Map<Long, Cell> cells = levels.get(zoom);
+            long key = cellKey(zoom, point.lat(), point.lng());
+            Cell cell = cells.get(key);
+            if (cell == null) {
+                continue;
+            }
+            if (--cell.count == 0) {
+                cells.remove(key);
+                continue;
+            }
+            cell.latSum -= point.lat();
+            cell.lngSum -= point.lng();
+            if (point.material() != null) {
+                cell.materials.computeIfPresent(point.material(), (material, count) -> count > 1 ? count - 1 : null);
+            }
+            cell.idSum -= id;
+        }
+    }
+
+    private static MaterialSiteClusterDTO toDto(Cell cell) {
+        Long siteId = cell.count == 1 ? cell.idSum : null;
+        return new MaterialSiteClusterDTO(cell.latSum / cell.count, cell.lngSum / cell.count,
+                cell.count, cell.dominantMaterial(), siteId);
+    }
+
+    private static double cellSize(int zoom) {
+        return ZOOM_0_CELL_DEG / (1 << zoom);
+    }
+
+    private static long cellKey(int zoom, double lat, double lng) {
+        double size = cellSize(zoom);
+        return key(index(lng + 180.0, size), index(lat + 90.0, size));
+    }
+
+    private static long index(double offsetDeg, double cellSize) {
+        return (long) Math.floor(Math.max(0.0, offsetDeg) / cellSize);
+    }
+
+    private static long key(long x, long y) {
+        return (x << 32) | y;
+    }
+}
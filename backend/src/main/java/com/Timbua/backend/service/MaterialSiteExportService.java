@@ -0,0 +1,180 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.model.MaterialSite;
+import com.Timbua.backend.repository.MaterialSiteRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes the material_sites table to an output stream as CSV, NDJSON or a GeoJSON
+ * FeatureCollection. Rows come from a fetch-size limited database cursor and each entity
+ * is detached once written, so heap use does not grow with the size of the table.
+ */
+@Service
+public class MaterialSiteExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson"),
+        GEOJSON("application/geo+json", "geojson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format of(String format) {
+            try {
+                return valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported format: " + format + " (expected csv, ndjson or geojson)");
+            }
+        }
+    }
+
+    private final MaterialSiteRepository materialSiteRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public MaterialSiteExportService(MaterialSiteRepository materialSiteRepository,
+                                     EntityManager entityManager,
+                                     ObjectMapper objectMapper,
+                                     PlatformTransactionManager transactionManager) {
+        this.materialSiteRepository = materialSiteRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Stream every material site to out. The stream is flushed but not closed.
+     */
+    public void export(Format format, OutputStream out) {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<MaterialSite> sites = materialSiteRepository.streamAllOrderById()) {
+                switch (format) {
+                    case CSV -> writeCsv(sites, out);
+                    case NDJSON -> writeNdjson(sites, out);
+                    case GEOJSON -> writeGeoJson(sites, out);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Material site export failed", e);
+            }
+        });
+    }
+
+    private void writeCsv(Stream<MaterialSite> sites, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        CsvWriter csv = new CsvWriter(writer);
+        List<Object> header = new ArrayList<>();
+        header.add("id");
+        header.addAll(MaterialSiteRecords.COLUMNS);
+        csv.writeRecord(header);
+
+        List<Object> row = new ArrayList<>(header.size());
+        for (MaterialSite site : (Iterable<MaterialSite>) sites::iterator) {
+            row.clear();
+            row.add(site.getId());
+            row.addAll(MaterialSiteRecords.toValues(site));
+            csv.writeRecord(row);
+            entityManager.detach(site);
+        }
+        csv.flush();
+    }
+
+    private void writeNdjson(Stream<MaterialSite> sites, OutputStream out) throws IOException {
+        // One object per line, without Jackson's default root separator or a flush per row
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator json = generator(out)) {
+            json.setRootValueSeparator(null);
+            for (MaterialSite site : (Iterable<MaterialSite>) sites::iterator) {
+                writer.writeValue(json, site);
+                json.writeRaw('\n');
+                entityManager.detach(site);
+            }
+        }
+    }
+
+    private void writeGeoJson(Stream<MaterialSite> sites, OutputStream out) throws IOException {
+        try (JsonGenerator json = generator(out)) {
+            json.writeStartObject();
+            json.writeStringField("type", "FeatureCollection");
+            json.writeArrayFieldStart("features");
+            for (MaterialSite site : (Iterable<MaterialSite>) sites::iterator) {
+                writeFeature(json, site);
+                entityManager.detach(site);
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeFeature(JsonGenerator json, MaterialSite site) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("type", "Feature");
+        json.writeNumberField("id", site.getId());
+        if (site.getLatitude() != null && site.getLongitude() != null) {
+            // GeoJSON positions are [longitude, latitude]
+            json.writeObjectFieldStart("geometry");
+            json.writeStringField("type", "Point");
+            json.writeArrayFieldStart("coordinates");
+            json.writeNumber(site.getLongitude());
+            json.writeNumber(site.getLatitude());
+            json.writeEndArray();
+            json.writeEndObject();
+        } else {
+            json.writeNullField("geometry");
+        }
+        json.writeObjectFieldStart("properties");
+        List<Object> values = MaterialSiteRecords.toValues(site);
+        for (int i = 0; i < values.size(); i++) {
+            String column = MaterialSiteRecords.COLUMNS.get(i);
+            Object value = values.get(i);
+            if (value == null) {
+                json.writeNullField(column);
+            } else if (value instanceof BigDecimal decimal) {
+                json.writeNumberField(column, decimal);
+            } else if (value instanceof Integer number) {
+                json.writeNumberField(column, number);
+            } else {
+                json.writeStringField(column, value.toString());
+            }
+        }
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+
+    // The caller owns the response stream, so the generator must not close it
+    private JsonGenerator generator(OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return json;
+    }
+}
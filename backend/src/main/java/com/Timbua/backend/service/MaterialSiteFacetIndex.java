@@ -0,0 +1,205 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.MaterialSiteFacetsDTO;
+import com.Timbua.backend.model.MaterialSite;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Distinct values with per-value counts for the material site facet columns
+ * (material, location, county, sub-county) plus the county -> sub-county tree.
+ *
+ * Counts are adjusted incrementally from the previous values of each saved site, and the
+ * immutable snapshots handed to callers are only dropped for the facets whose column
+ * actually changed, so reads are served from memory without touching the table.
+ */
+public class MaterialSiteFacetIndex {
+
+    private record Values(String material, String location, String county, String subCounty) {
+        static Values of(MaterialSite site) {
+            return new Values(site.getMaterial(), site.getMaterialLocation(), site.getCounty(), site.getSubCounty());
+        }
+    }
+
+    private final Map<Long, Values> valuesById = new HashMap<>();
+    private final Facet materials = new Facet();
+    private final Facet locations = new Facet();
+    private final Facet counties = new Facet();
+    private final Facet subCounties = new Facet();
+    private final Map<String, Facet> subCountiesByCounty = new TreeMap<>();
+    private MaterialSiteFacetsDTO facetsSnapshot;
+
+    public synchronized void put(MaterialSite site) {
+        Values next = Values.of(site);
+        Values previous = valuesById.put(site.getId(), next);
+        if (previous != null) {
+            if (previous.equals(next)) {
+                return;
+            }
+            update(previous, next);
+        } else {
+            update(null, next);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        Values previous = valuesById.remove(id);
+        if (previous != null) {
+            update(previous, null);
+        }
+    }
+
+    public synchronized void clear() {
+        valuesById.clear();
+        materials.clear();
+        locations.clear();
+        counties.clear();
+        subCounties.clear();
+        subCountiesByCounty.clear();
+        facetsSnapshot = null;
+    }
+
+    public synchronized List<String> distinctMaterials() {
+        return materials.distinct();
+    }
+
+    public synchronized List<String> distinctLocations() {
+        return locations.distinct();
+    }
+
+    public synchronized List<String> distinctCounties() {
+        return counties.distinct();
+    }
+
+    public synchronized List<String> distinctSubCounties() {
+        return subCounties.distinct();
+    }
+
+    public synchronized List<String> subCountiesOf(String county) {
+        Facet facet = subCountiesByCounty.get(county);
+        return facet != null ? facet.distinct() : List.of();
+    }
+
+    /**
+     * All facet counts and the county tree in one snapshot
+     */
+    public synchronized MaterialSiteFacetsDTO facets() {
+        if (facetsSnapshot == null) {
+            Map<String, Integer> countyCounts = counties.counts();
+            List<MaterialSiteFacetsDTO.CountyFacet> tree = new ArrayList<>(countyCounts.size());
+            for (Map.Entry<String, Integer> entry : countyCounts.entrySet()) {
+                Facet facet = subCountiesByCounty.get(entry.getKey());
+                tree.add(new MaterialSiteFacetsDTO.CountyFacet(entry.getKey(), entry.getValue(),
+                        facet != null ? facet.counts() : Map.of()));
+            }
+            facetsSnapshot = new MaterialSiteFacetsDTO(materials.counts(), locations.counts(),
+                    counties.counts(), subCounties.counts(), Collections.unmodifiableList(tree));
+        }
+        return facetsSnapshot;
+    }
+
+    private void update(Values previous, Values next) {
+        String oldMaterial = previous != null ? previous.material() : null;
+        String oldLocation = previous != null ? previous.location() : null;
+        String oldCounty = previous != null ? previous.county() : null;
+        String oldSubCounty = previous != null ? previous.subCounty() : null;
+        String newMaterial = next != null ? next.material() : null;
+        String newLocation = next != null ? next.location() : null;
+        String newCounty = next != null ? next.county() : null;
+        String newSubCounty = next != null ? next.subCounty() : null;
+
+        boolean changed = materials.replace(oldMaterial, newMaterial, previous != null, next != null);
+        changed |= locations.replace(oldLocation, newLocation, previous != null, next != null);
+        changed |= counties.replace(oldCounty, newCounty, previous != null, next != null);
+        changed |= subCounties.replace(oldSubCounty, newSubCounty, previous != null, next != null);
+
+        if (!Objects.equals(oldCounty, newCounty) || !Objects.equals(oldSubCounty, newSubCounty)
+                || previous == null || next == null) {
+            if (previous != null && oldCounty != null) {
+                Facet facet = subCountiesByCounty.get(oldCounty);
+                if (facet != null) {
+                    facet.replace(oldSubCounty, null, true, false);
+                    if (facet.isEmpty()) {
+                        subCountiesByCounty.remove(oldCounty);
+                    }
+                }
+            }
+            if (next != null && newCounty != null) {
+                subCountiesByCounty.computeIfAbsent(newCounty, key -> new Facet())
+                        .replace(null, newSubCounty, false, true);
+            }
+            changed = true;
+        }
+        if (changed) {
+            facetsSnapshot = null;
+        }
+    }
+
+    /**
+     * Counts for one column, values in sorted order. Null values are counted towards the row
+     * total only and never listed, for every column: the county and sub-county queries this
+     * replaced filtered them out, and material and location now do the same rather than list
+     * null as a value.
+     */
+    private static final class Facet {
+        private final TreeMap<String, Integer> counts = new TreeMap<>();
+        private List<String> distinctSnapshot;
+        private Map<String, Integer> countsSnapshot;
+
+        // Returns true when this column changed
+        boolean replace(String oldValue, String newValue, boolean hadOld, boolean hasNew) {
+            if (hadOld && hasNew && Objects.equals(oldValue, newValue)) {
+                return false;
+            }
+            if (hadOld && oldValue != null) {
+                Integer count = counts.get(oldValue);
+                if (count != null) {
+                    if (count <= 1) {
+                        counts.remove(oldValue);
+                        distinctSnapshot = null;
+                    } else {
+                        counts.put(oldValue, count - 1);
+                    }
+                }
+            }
+            if (hasNew && newValue != null) {
+                if (counts.merge(newValue, 1, Integer::sum) == 1) {
+                    distinctSnapshot = null;
+                }
+            }
+            countsSnapshot = null;
+            return true;
+        }
+
+        boolean isEmpty() {
+            return counts.isEmpty();
+        }
+
+        void clear() {
+            counts.clear();
+            distinctSnapshot = null;
+            countsSnapshot = null;
+        }
+
+        List<String> distinct() {
+            if (distinctSnapshot == null) {
+                distinctSnapshot = List.copyOf(counts.keySet());
+            }
+            return distinctSnapshot;
+        }
+
+        Map<String, Integer> counts() {
+            if (countsSnapshot == null) {
+                countsSnapshot = Collections.unmodifiableMap(new LinkedHashMap<>(counts));
+            }
+            return countsSnapshot;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.IngestReportDTO;
+import com.Timbua.backend.model.MaterialSite;
+import com.Timbua.backend.repository.MaterialSiteBatchRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming bulk load of survey uploads. Rows are parsed one at a time and written in
+ * fixed-size JDBC batches, each chunk committed in its own transaction, so memory stays
+ * bounded by the chunk size and a bad chunk only loses its own rows.
+ */
+@Service
+public class MaterialSiteIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MaterialSiteIngestService.class);
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    public enum Format { CSV, NDJSON }
+
+    private final MaterialSiteBatchRepository materialSiteBatchRepository;
+    private final MaterialSiteService materialSiteService;
+    private final CanonicalMaterialService canonicalMaterialService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public MaterialSiteIngestService(MaterialSiteBatchRepository materialSiteBatchRepository,
+                                     MaterialSiteService materialSiteService,
+                                     CanonicalMaterialService canonicalMaterialService,
+                                     TransactionTemplate transactionTemplate,
+                                     ObjectMapper objectMapper) {
+        this.materialSiteBatchRepository = materialSiteBatchRepository;
+        this.materialSiteService = materialSiteService;
+        this.canonicalMaterialService = canonicalMaterialService;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Pick the upload format from an explicit format parameter or the request content type
+     */
+    public static Format resolveFormat(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported format: " + format + " (expected csv or ndjson)");
+            }
+        }
+        if (contentType != null) {
+            String type = contentType.toLowerCase(Locale.ROOT);
+            if (type.startsWith("text/csv")) {
+                return Format.CSV;
+            }
+            if (type.startsWith("application/x-ndjson") || type.startsWith("application/jsonl")) {
+                return Format.NDJSON;
+            }
+        }
+        throw new IllegalArgumentException("Send text/csv or application/x-ndjson, or pass format=csv|ndjson");
+    }
+
+    public IngestReportDTO ingest(InputStream body, Format format) {
+        Ingest ingest = new Ingest();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            if (format == Format.CSV) {
+                readCsv(reader, ingest);
+            } else {
+                readNdjson(reader, ingest);
+            }
+            ingest.flush();
+            ingest.report.setCompleted(true);
+        } catch (IOException e) {
+            // Malformed CSV or a dropped connection: keep what was committed and report where it stopped
+            ingest.flush();
+            ingest.error(ingest.line, e.getMessage());
+        } finally {
+            if (ingest.report.getRowsInserted() > 0) {
+                materialSiteService.refreshIndexes();
+            }
+        }
+        return ingest.finish();
+    }
+
+    private void readCsv(BufferedReader in, Ingest ingest) throws IOException {
+        CsvReader reader = new CsvReader(in);
+        List<String> header = reader.readRecord();
+        if (header == null) {
+            return;
+        }
+        List<String> record;
+        while ((record = reader.readRecord()) != null) {
+            ingest.line = reader.getRecordLine();
+            try {
+                ingest.add(MaterialSiteRecords.fromCsv(header, record));
+            } catch (IllegalArgumentException e) {
+                ingest.reject(e.getMessage());
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, Ingest ingest) throws IOException {
+        String json;
+        long lineNumber = 0;
+        while ((json = reader.readLine()) != null) {
+            lineNumber++;
+            if (json.isBlank()) {
+                continue;
+            }
+            ingest.line = lineNumber;
+            try {
+                ingest.add(MaterialSiteRecords.fromValues(toValues(json)));
+            } catch (JsonProcessingException e) {
+                ingest.reject("Invalid JSON: " + e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                ingest.reject(e.getMessage());
+            }
+        }
+    }
+
+    private Map<String, String> toValues(String json) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(json);
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Each line must be a JSON object");
+        }
+        Map<String, String> values = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.isContainerNode()) {
+                throw new IllegalArgumentException(field.getKey() + " must be a plain value");
+            }
+            values.put(MaterialSiteRecords.normalizeKey(field.getKey()), value.isNull() ? null : value.asText());
+        }
+        return values;
+    }
+
+    // State of one upload: the pending chunk and the running report
+    private final class Ingest {
+        private final long startedAt = System.nanoTime();
+        private final IngestReportDTO report = new IngestReportDTO();
+        private final List<IngestReportDTO.RowError> errors = new ArrayList<>();
+        private final List<MaterialSite> chunk = new ArrayList<>(CHUNK_SIZE);
+        private long chunkFirstLine;
+        private long line;
+
+        void add(MaterialSite site) {
+            canonicalMaterialService.assign(site);
+            report.setRowsRead(report.getRowsRead() + 1);
+            if (chunk.isEmpty()) {
+                chunkFirstLine = line;
+            }
+            chunk.add(site);
+            if (chunk.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(String message) {
+            report.setRowsRead(report.getRowsRead() + 1);
+            report.setRowsRejected(report.getRowsRejected() + 1);
+            error(line, message);
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status ->
+                        materialSiteBatchRepository.insertAll(chunk, CHUNK_SIZE));
+                report.setRowsInserted(report.getRowsInserted() + chunk.size());
+                report.setChunksCommitted(report.getChunksCommitted() + 1);
+            } catch (DataAccessException e) {
+                logger.warn("Material site ingest chunk starting at line {} rolled back", chunkFirstLine, e);
+                report.setRowsRejected(report.getRowsRejected() + chunk.size());
+                report.setChunksFailed(report.getChunksFailed() + 1);
+                error(chunkFirstLine, "Chunk of " + chunk.size() + " rows rolled back: "
+                        + e.getMostSpecificCause().getMessage());
+            }
+            chunk.clear();
+        }
+
+        void error(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new IngestReportDTO.RowError(line, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+
+        IngestReportDTO finish() {
+            long elapsedMs = (System.nanoTime() - startedAt) / 1_000_000;
+            report.setErrors(errors);
+            report.setElapsedMs(elapsedMs);
+            report.setRowsPerSecond(elapsedMs > 0
+                    ? Math.round(report.getRowsInserted() * 10000.0 / elapsedMs) / 10.0
+                    : report.getRowsInserted());
+            logger.info("Material site ingest: {} read, {} inserted, {} rejected in {} ms",
+                    report.getRowsRead(), report.getRowsInserted(), report.getRowsRejected(), elapsedMs);
+            return report;
+        }
+    }
+}
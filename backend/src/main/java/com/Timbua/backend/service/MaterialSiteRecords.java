@@ -0,0 +1,138 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.model.MaterialSite;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps flat survey records (CSV rows, JSON objects) onto MaterialSite.
+ *
+ * Column names are matched loosely, so questionnaire_no, questionnaireNo and
+ * "Questionnaire No" all resolve to the same field. Unknown columns are ignored.
+ */
+public final class MaterialSiteRecords {
+
+    // Column names as used in the seed files, in material_sites column order
+    public static final List<String> COLUMNS = List.of(
+            "questionnaire_no", "research_assistant_no", "material", "material_location",
+            "latitude", "longitude", "material_used_in", "size_of_manufacturing_industry",
+            "period_of_manufacture", "owner_of_material", "material_usage", "number_of_people_employed",
+            "similar_locations", "volume_produced_per_day", "comments", "county", "sub_county");
+
+    // varchar sizes of material_sites, checked here so one bad row cannot fail a whole batch
+    private static final int DEFAULT_COLUMN_LENGTH = 255;
+    private static final int LONG_COLUMN_LENGTH = 1000;
+
+    private MaterialSiteRecords() {}
+
+    /**
+     * Build a site from a CSV record and its header row
+     */
+    public static MaterialSite fromCsv(List<String> header, List<String> record) {
+        if (record.size() != header.size()) {
+            throw new IllegalArgumentException("Expected " + header.size() + " fields but found " + record.size());
+        }
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i) != null) {
+                values.put(normalizeKey(header.get(i)), record.get(i));
+            }
+        }
+        return fromValues(values);
+    }
+
+    /**
+     * Build a site from values keyed by normalizeKey(column)
+     */
+    public static MaterialSite fromValues(Map<String, String> values) {
+        MaterialSite site = new MaterialSite();
+        site.setQuestionnaireNo(parseInteger(values.get("questionnaireno"), "questionnaire_no"));
+        site.setResearchAssistantNo(values.get("researchassistantno"));
+        site.setMaterial(values.get("material"));
+        site.setMaterialLocation(values.get("materiallocation"));
+        site.setLatitude(parseDecimal(values.get("latitude"), "latitude"));
+        site.setLongitude(parseDecimal(values.get("longitude"), "longitude"));
+        site.setMaterialUsedIn(values.get("materialusedin"));
+        site.setSizeOfManufacturingIndustry(values.get("sizeofmanufacturingindustry"));
+        site.setPeriodOfManufacture(values.get("periodofmanufacture"));
+        site.setOwnerOfMaterial(values.get("ownerofmaterial"));
+        site.setMaterialUsage(values.get("materialusage"));
+        site.setNumberOfPeopleEmployed(values.get("numberofpeopleemployed"));
+        site.setSimilarLocations(values.get("similarlocations"));
+        site.setVolumeProducedPerDay(values.get("volumeproducedperday"));
+        site.setComments(values.get("comments"));
+        site.setCounty(values.get("county"));
+        site.setSubCounty(values.get("subcounty"));
+
+        if (site.getLatitude() != null && site.getLongitude() != null) {
+            GeoUtils.validateCoordinates(site.getLatitude().doubleValue(), site.getLongitude().doubleValue());
+        } else if (site.getLatitude() != null || site.getLongitude() != null) {
+            throw new IllegalArgumentException("latitude and longitude must be given together");
+        }
+        checkLengths(values);
+        CapacityParser.apply(site);
+        return site;
+    }
+
+    /**
+     * Field values of a site in COLUMNS order, for writing it back out
+     */
+    public static List<Object> toValues(MaterialSite site) {
+        return Arrays.asList(site.getQuestionnaireNo(), site.getResearchAssistantNo(), site.getMaterial(),
+                site.getMaterialLocation(), site.getLatitude(), site.getLongitude(), site.getMaterialUsedIn(),
+                site.getSizeOfManufacturingIndustry(), site.getPeriodOfManufacture(), site.getOwnerOfMaterial(),
+                site.getMaterialUsage(), site.getNumberOfPeopleEmployed(), site.getSimilarLocations(),
+                site.getVolumeProducedPerDay(), site.getComments(), site.getCounty(), site.getSubCounty());
+    }
+
+    /**
+     * Lower-case the column name and drop separators
+     */
+    public static String normalizeKey(String column) {
+        StringBuilder key = new StringBuilder(column.length());
+        for (char c : column.trim().toLowerCase(Locale.ROOT).toCharArray()) {
+            if (Character.isLetterOrDigit(c)) {
+                key.append(c);
+            }
+        }
+        return key.toString();
+    }
+
+    private static void checkLengths(Map<String, String> values) {
+        for (String column : COLUMNS) {
+            String value = values.get(normalizeKey(column));
+            int limit = column.equals("material_usage") || column.equals("comments")
+                    ? LONG_COLUMN_LENGTH : DEFAULT_COLUMN_LENGTH;
+            if (value != null && value.length() > limit) {
+                throw new IllegalArgumentException(column + " is longer than " + limit + " characters");
+            }
+        }
+    }
+
+    private static Integer parseInteger(String value, String column) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+
+    private static BigDecimal parseDecimal(String value, String column) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + column + ": " + value);
+        }
+    }
+}
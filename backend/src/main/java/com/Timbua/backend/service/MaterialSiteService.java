@@ -1,37 +1,345 @@
 package com.Timbua.backend.service;
 
+import com.Timbua.backend.dto.DeltaDTO;
+import com.Timbua.backend.dto.DistanceResultDTO;
+import com.Timbua.backend.dto.MaterialSiteClusterDTO;
+import com.Timbua.backend.dto.MaterialSiteFacetsDTO;
+import com.Timbua.backend.dto.MaterialSiteFilterResultDTO;
+import com.Timbua.backend.dto.PagedResponseDTO;
 import com.Timbua.backend.model.MaterialSite;
 import com.Timbua.backend.repository.MaterialSiteRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 @Service
 public class MaterialSiteService {
 
+    // Roughly 5.5km cells, a good fit for the density of the survey data
+    private static final double SPATIAL_CELL_SIZE_DEG = 0.05;
+    private static final int MAX_NEAREST_RESULTS = 100;
+    private static final int MAX_PAGE_SIZE = 100;
+    // Minimum trigram similarity for a query word to match a term, low enough for "Tmber" ~ "timber"
+    private static final double SEARCH_MIN_SIMILARITY = 0.3;
+
     @Autowired
     private MaterialSiteRepository materialSiteRepository;
 
+    @Autowired
+    private CanonicalMaterialService canonicalMaterialService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private ChangeTracker changeTracker;
+
+    // In-memory indexes, loaded lazily from material_sites and kept in sync on writes
+    private final SpatialGridIndex<MaterialSite> spatialIndex = new SpatialGridIndex<>(SPATIAL_CELL_SIZE_DEG);
+    private final TrigramIndex textIndex = new TrigramIndex(SEARCH_MIN_SIMILARITY);
+    private final MaterialSiteFacetIndex facetIndex = new MaterialSiteFacetIndex();
+    private final MaterialSiteClusterIndex clusterIndex = new MaterialSiteClusterIndex();
+    private final MaterialSiteBitmapIndex bitmapIndex = new MaterialSiteBitmapIndex();
+    private final Map<Long, MaterialSite> sitesById = new HashMap<>();
+    private final Object indexLock = new Object();
+    private volatile boolean indexesLoaded = false;
+
     public List<MaterialSite> getAllMaterialSites() {
         return materialSiteRepository.findAll();
     }
 
+    /**
+     * Version of the material site list, used as its ETag and as a sync token
+     */
+    public String getMaterialSitesVersion() {
+        return changeTracker.token(ChangeTracker.Dataset.MATERIAL_SITES);
+    }
+
+    public DeltaDTO<MaterialSite> getMaterialSitesSince(String since) {
+        return changeTracker.delta(ChangeTracker.Dataset.MATERIAL_SITES, since, this::getAllMaterialSites,
+                ids -> materialSiteRepository.findAllById(ids), MaterialSite::getId);
+    }
+
     public Optional<MaterialSite> getMaterialSiteById(Long id) {
         return materialSiteRepository.findById(id);
     }
 
     public MaterialSite saveMaterialSite(MaterialSite materialSite) {
-        return materialSiteRepository.save(materialSite);
+        CapacityParser.apply(materialSite);
+        canonicalMaterialService.assign(materialSite);
+        MaterialSite saved = materialSiteRepository.save(materialSite);
+        synchronized (indexLock) {
+            if (indexesLoaded) {
+                indexSite(saved);
+            }
+        }
+        autocompleteService.onSiteSaved(saved);
+        return saved;
     }
 
     public List<MaterialSite> saveAllMaterialSites(List<MaterialSite> materialSites) {
-        return materialSiteRepository.saveAll(materialSites);
+        for (MaterialSite materialSite : materialSites) {
+            CapacityParser.apply(materialSite);
+            canonicalMaterialService.assign(materialSite);
+        }
+        List<MaterialSite> saved = materialSiteRepository.saveAll(materialSites);
+        synchronized (indexLock) {
+            if (indexesLoaded) {
+                saved.forEach(this::indexSite);
+            }
+        }
+        saved.forEach(autocompleteService::onSiteSaved);
+        return saved;
     }
 
     public void deleteMaterialSite(Long id) {
         materialSiteRepository.deleteById(id);
+        synchronized (indexLock) {
+            if (indexesLoaded) {
+                unindexSite(id);
+            }
+        }
+        autocompleteService.onSiteDeleted(id);
+    }
+
+    /**
+     * k nearest material sites to a point, optionally restricted to a material type
+     */
+    public List<DistanceResultDTO<MaterialSite>> findNearestMaterialSites(double lat, double lng, int k, String material) {
+        GeoUtils.validateCoordinates(lat, lng);
+        if (k < 1 || k > MAX_NEAREST_RESULTS) {
+            throw new IllegalArgumentException("k must be between 1 and " + MAX_NEAREST_RESULTS);
+        }
+        ensureIndexesLoaded();
+        return spatialIndex.nearest(lat, lng, k, materialFilter(material)).stream()
+                .map(n -> new DistanceResultDTO<>(n.value(), n.distanceKm()))
+                .toList();
+    }
+
+    /**
+     * Material sites within radiusKm of a point, closest first
+     */
+    public List<DistanceResultDTO<MaterialSite>> findMaterialSitesWithinRadius(double lat, double lng, double radiusKm, String material) {
+        GeoUtils.validateCoordinates(lat, lng);
+        ensureIndexesLoaded();
+        return spatialIndex.withinRadius(lat, lng, radiusKm, materialFilter(material)).stream()
+                .map(n -> new DistanceResultDTO<>(n.value(), n.distanceKm()))
+                .toList();
+    }
+
+    /**
+     * Ranked, typo-tolerant search across material, location, owner, county and sub-county
+     */
+    public PagedResponseDTO<MaterialSite> searchMaterialSites(String query, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        ensureIndexesLoaded();
+        List<TrigramIndex.Hit> hits = textIndex.search(query);
+        int from = (int) Math.min((long) page * size, hits.size());
+        int to = Math.min(from + size, hits.size());
+        List<MaterialSite> content = new ArrayList<>(to - from);
+        synchronized (indexLock) {
+            for (TrigramIndex.Hit hit : hits.subList(from, to)) {
+                MaterialSite site = sitesById.get(hit.id());
+                if (site != null) {
+                    content.add(site);
+                }
+            }
+        }
+        return new PagedResponseDTO<>(content, page, size, hits.size());
+    }
+
+    /**
+     * Sites matching any combination of material, county, sub-county, industry size and owner
+     * (exact, case-insensitive; several values for one facet are OR-ed), with facet counts
+     */
+    public MaterialSiteFilterResultDTO filterMaterialSites(List<String> materials, List<String> counties,
+                                                           List<String> subCounties, List<String> industrySizes,
+                                                           List<String> owners, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Map<MaterialSiteBitmapIndex.Facet, List<String>> selection = new EnumMap<>(MaterialSiteBitmapIndex.Facet.class);
+        selection.put(MaterialSiteBitmapIndex.Facet.MATERIAL, materials);
+        selection.put(MaterialSiteBitmapIndex.Facet.COUNTY, counties);
+        selection.put(MaterialSiteBitmapIndex.Facet.SUB_COUNTY, subCounties);
+        selection.put(MaterialSiteBitmapIndex.Facet.SIZE_OF_MANUFACTURING_INDUSTRY, industrySizes);
+        selection.put(MaterialSiteBitmapIndex.Facet.OWNER_OF_MATERIAL, owners);
+
+        ensureIndexesLoaded();
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        MaterialSiteBitmapIndex.Result result = bitmapIndex.filter(selection, offset, size);
+        return new MaterialSiteFilterResultDTO(new PagedResponseDTO<>(result.page(), page, size, result.total()),
+                result.facetCounts());
+    }
+
+    /**
+     * Sites matching capacity ranges, answered by range predicates on the parsed capacity
+     * columns. A minimum matches sites whose upper bound reaches it (or is open-ended),
+     * a maximum matches sites whose lower bound stays under it.
+     */
+    public PagedResponseDTO<MaterialSite> searchByCapacity(Double minDailyVolume, Double maxDailyVolume, String unit,
+                                                           Integer minEmployees, Integer maxEmployees,
+                                                           Integer minYears, Integer maxYears,
+                                                           String material, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Specification<MaterialSite> spec = (root, query, cb) -> cb.conjunction();
+        spec = spec.and(reaches("dailyVolumeMin", "dailyVolumeMax", minDailyVolume))
+                .and(startsBelow("dailyVolumeMin", maxDailyVolume))
+                .and(reaches("employeesMin", "employeesMax", minEmployees))
+                .and(startsBelow("employeesMin", maxEmployees))
+                .and(reaches("yearsInOperationMin", "yearsInOperationMax", minYears))
+                .and(startsBelow("yearsInOperationMin", maxYears));
+        String volumeUnit = CapacityParser.normaliseVolumeUnit(unit);
+        if (volumeUnit != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("volumeUnit"), volumeUnit));
+        }
+        if (material != null && !material.isBlank()) {
+            String pattern = "%" + material.trim().toLowerCase() + "%";
+            spec = spec.and((root, query, cb) -> cb.like(cb.lower(root.<String>get("material")), pattern));
+        }
+        Page<MaterialSite> result = materialSiteRepository.findAll(spec, PageRequest.of(page, size, Sort.by("id")));
+        return new PagedResponseDTO<>(result.getContent(), page, size, result.getTotalElements());
+    }
+
+    private static <N extends Number & Comparable<N>> Specification<MaterialSite> reaches(String minField, String maxField, N value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThanOrEqualTo(root.<N>get(maxField), value),
+                cb.and(cb.isNull(root.get(maxField)), cb.isNotNull(root.get(minField))));
+    }
+
+    private static <N extends Number & Comparable<N>> Specification<MaterialSite> startsBelow(String minField, N value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.<N>get(minField), value);
+    }
+
+    /**
+     * Map clusters for a bounding box given as "minLng,minLat,maxLng,maxLat" at a map zoom level
+     */
+    public List<MaterialSiteClusterDTO> getClusters(String bbox, int zoom) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("bbox must be minLng,minLat,maxLng,maxLat");
+        }
+        double minLng;
+        double minLat;
+        double maxLng;
+        double maxLat;
+        try {
+            minLng = Double.parseDouble(parts[0].trim());
+            minLat = Double.parseDouble(parts[1].trim());
+            maxLng = Double.parseDouble(parts[2].trim());
+            maxLat = Double.parseDouble(parts[3].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bbox must contain four numbers");
+        }
+        GeoUtils.validateCoordinates(minLat, minLng);
+        GeoUtils.validateCoordinates(maxLat, maxLng);
+        if (minLat > maxLat || minLng > maxLng) {
+            throw new IllegalArgumentException("bbox minimum must not exceed its maximum");
+        }
+        if (zoom < 0) {
+            throw new IllegalArgumentException("zoom must not be negative");
+        }
+        ensureIndexesLoaded();
+        return clusterIndex.clusters(minLat, minLng, maxLat, maxLng, zoom);
+    }
+
+    /**
+     * Drop the in-memory indexes so they are rebuilt from the table on next use.
+     * Needed after writes that bypass this service (e.g. bulk JDBC inserts).
+     */
+    public void refreshIndexes() {
+        synchronized (indexLock) {
+            indexesLoaded = false;
+        }
+        autocompleteService.refreshIndexes();
+        changeTracker.invalidate(ChangeTracker.Dataset.MATERIAL_SITES);
+    }
+
+    private void ensureIndexesLoaded() {
+        if (indexesLoaded) {
+            return;
+        }
+        synchronized (indexLock) {
+            if (indexesLoaded) {
+                return;
+            }
+            spatialIndex.clear();
+            textIndex.clear();
+            facetIndex.clear();
+            clusterIndex.clear();
+            bitmapIndex.clear();
+            sitesById.clear();
+            materialSiteRepository.findAll().forEach(this::indexSite);
+            indexesLoaded = true;
+        }
+    }
+
+    private void indexSite(MaterialSite site) {
+        sitesById.put(site.getId(), site);
+        textIndex.put(site.getId(), List.of(
+                new TrigramIndex.Field(site.getMaterial(), 3.0f),
+                new TrigramIndex.Field(site.getMaterialLocation(), 2.0f),
+                new TrigramIndex.Field(site.getCounty(), 1.5f),
+                new TrigramIndex.Field(site.getSubCounty(), 1.5f),
+                new TrigramIndex.Field(site.getOwnerOfMaterial(), 1.0f)));
+        facetIndex.put(site);
+        bitmapIndex.put(site);
+        if (site.getLatitude() != null && site.getLongitude() != null) {
+            double lat = site.getLatitude().doubleValue();
+            double lng = site.getLongitude().doubleValue();
+            spatialIndex.put(site.getId(), lat, lng, site);
+            clusterIndex.put(site.getId(), lat, lng, site.getMaterial());
+        } else {
+            spatialIndex.remove(site.getId());
+            clusterIndex.remove(site.getId());
+        }
+    }
+
+    private void unindexSite(Long id) {
+        sitesById.remove(id);
+        spatialIndex.remove(id);
+        textIndex.remove(id);
+        facetIndex.remove(id);
+        clusterIndex.remove(id);
+        bitmapIndex.remove(id);
+    }
+
+    private static Predicate<MaterialSite> materialFilter(String material) {
+        if (material == null || material.isBlank()) {
+            return null;
+        }
+        String needle = material.trim().toLowerCase();
+        return site -> site.getMaterial() != null && site.getMaterial().toLowerCase().contains(needle);
     }
 
     public List<MaterialSite> getMaterialSitesByMaterial(String material) {
@@ -46,12 +354,15 @@ public class MaterialSiteService {
         return materialSiteRepository.findByOwnerOfMaterialContainingIgnoreCase(owner);
     }
 
+    // Facet lookups are served from the in-memory facet index
     public List<String> getDistinctMaterials() {
-        return materialSiteRepository.findDistinctMaterials();
+        ensureIndexesLoaded();
+        return facetIndex.distinctMaterials();
     }
 
     public List<String> getDistinctLocations() {
-        return materialSiteRepository.findDistinctLocations();
+        ensureIndexesLoaded();
+        return facetIndex.distinctLocations();
     }
 
     // New methods for county and sub-county queries
@@ -68,14 +379,25 @@ public class MaterialSiteService {
     }
 
     public List<String> getDistinctCounties() {
-        return materialSiteRepository.findDistinctCounties();
+        ensureIndexesLoaded();
+        return facetIndex.distinctCounties();
     }
 
     public List<String> getDistinctSubCounties() {
-        return materialSiteRepository.findDistinctSubCounties();
+        ensureIndexesLoaded();
+        return facetIndex.distinctSubCounties();
     }
 
     public List<String> getSubCountiesByCounty(String county) {
-        return materialSiteRepository.findSubCountiesByCounty(county);
+        ensureIndexesLoaded();
+        return facetIndex.subCountiesOf(county);
+    }
+
+    /**
+     * Counts per material, location, county and sub-county plus the county tree
+     */
+    public MaterialSiteFacetsDTO getFacets() {
+        ensureIndexesLoaded();
+        return facetIndex.facets();
     }
 }
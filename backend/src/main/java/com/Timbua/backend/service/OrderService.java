@@ -30,6 +30,12 @@ public class OrderService {
     @Autowired
     private QuoteRepository quoteRepository;
 
+    @Autowired
+    private CanonicalMaterialService canonicalMaterialService;
+
+    @Autowired
+    private SupplierScorecardService scorecardService;
+
     // Create new order from scratch
     @Transactional
     public Order createOrder(Order order) {
@@ -39,6 +45,10 @@ public class OrderService {
         order.setStatus(Order.Status.ORDERED);
         order.setPaymentStatus(Order.PaymentStatus.PENDING_PAYMENT);
 
+        if (order.getItems() != null) {
+            order.getItems().forEach(canonicalMaterialService::assign);
+        }
+
         // Calculate total from items if not set
         if (order.getTotalAmount() == null && order.getItems() != null) {
             double total = order.getItems().stream()
@@ -90,6 +100,7 @@ public class OrderService {
         item.setUnit(request.getUnit());
         item.setUnitPrice(acceptedQuote.getTotalAmount() / request.getQuantity());
         item.calculateTotal();
+        canonicalMaterialService.assign(item);
 
         order.getItems().add(item);
 
@@ -162,9 +173,12 @@ public class OrderService {
         order.setStatus(status);
         order.setUpdatedAt(LocalDateTime.now());
 
-        // Handle special statuses
-        if (status == Order.Status.DELIVERED) {
+        // Handle special statuses; an order moved back out of DELIVERED keeps its first delivery
+        // date, so the scorecard only ever counts one delivery per order
+        if (status == Order.Status.DELIVERED && order.getActualDeliveryDate() == null) {
             order.setActualDeliveryDate(LocalDate.now());
+            scorecardService.onOrderDelivered(order.getSupplier() != null ? order.getSupplier().getId() : null,
+                    order.getExpectedDeliveryDate(), order.getActualDeliveryDate());
         }
 
         return orderRepository.save(order);
@@ -238,6 +252,7 @@ public class OrderService {
 
         item.setOrder(order);
         item.calculateTotal();
+        canonicalMaterialService.assign(item);
         order.getItems().add(item);
         order.recalculateTotal();
         order.setUpdatedAt(LocalDateTime.now());
@@ -0,0 +1,227 @@
+package com.Timbua.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Weighted prefix trie for typeahead completions.
+ *
+ * Values are keyed by their normalised form (lower case, accents dropped, punctuation folded
+ * to single spaces) and reachable from the start of every word, so "sto" completes
+ * "Building stones". Every node keeps its best completions ordered by weight, then
+ * alphabetically; a change only refreshes the nodes on the value's own paths, so a lookup
+ * is a walk down the prefix plus a copy of at most maxCompletions entries.
+ */
+public class PrefixTrie {
+
+    public record Completion(String value, int weight) {}
+
+    private static final Comparator<Term> BEST_FIRST = Comparator.comparingInt((Term term) -> -term.weight)
+            .thenComparing(term -> term.key);
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Term {
+        final String key;
+        // Spelling of the first value registered under this key
+        final String value;
+        int weight;
+
+        Term(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    // Children are kept in parallel arrays sorted by label, which is far smaller than a map per node
+    private static final class Node {
+        char[] labels = NO_LABELS;
+        Node[] children = NO_CHILDREN;
+        int childCount;
+        List<Term> terms = List.of();
+        List<Term> best = List.of();
+
+        Node child(char label) {
+            int i = Arrays.binarySearch(labels, 0, childCount, label);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node addChild(char label) {
+            int i = Arrays.binarySearch(labels, 0, childCount, label);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            if (childCount == labels.length) {
+                int capacity = Math.max(2, childCount * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, at, labels, at + 1, childCount - at);
+            System.arraycopy(children, at, children, at + 1, childCount - at);
+            Node node = new Node();
+            labels[at] = label;
+            children[at] = node;
+            childCount++;
+            return node;
+        }
+
+        void removeChild(Node node) {
+            for (int i = 0; i < childCount; i++) {
+                if (children[i] == node) {
+                    System.arraycopy(labels, i + 1, labels, i, childCount - i - 1);
+                    System.arraycopy(children, i + 1, children, i, childCount - i - 1);
+                    childCount--;
+                    children[childCount] = null;
+                    return;
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return childCount == 0 && terms.isEmpty();
+        }
+    }
+
+    private final int maxCompletions;
+    private final Node root = new Node();
+    private final Map<String, Term> termsByKey = new HashMap<>();
+
+    public PrefixTrie(int maxCompletions) {
+        this.maxCompletions = maxCompletions;
+    }
+
+    /**
+     * Change the weight of a value by delta, adding it on first use and dropping it once the
+     * weight reaches zero
+     */
+    public synchronized void adjust(String value, int delta) {
+        String key = normalise(value, false);
+        if (key.isEmpty() || delta == 0) {
+            return;
+        }
+        Term term = termsByKey.get(key);
+        boolean added = false;
+        if (term == null) {
+            if (delta < 0) {
+                return;
+            }
+            term = new Term(key, value.trim());
+            termsByKey.put(key, term);
+            added = true;
+        }
+        term.weight += delta;
+        boolean removed = term.weight <= 0;
+        if (removed) {
+            termsByKey.remove(key);
+        }
+        for (int start = 0; start < key.length(); start++) {
+            if (start == 0 || key.charAt(start - 1) == ' ') {
+                refreshPath(key.substring(start), term, added, removed);
+            }
+        }
+    }
+
+    public synchronized List<Completion> complete(String prefix, int limit) {
+        String key = normalise(prefix, true);
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        List<Term> best = node.best.subList(0, Math.min(limit, node.best.size()));
+        List<Completion> completions = new ArrayList<>(best.size());
+        for (Term term : best) {
+            completions.add(new Completion(term.value, term.weight));
+        }
+        return completions;
+    }
+
+    public synchronized int size() {
+        return termsByKey.size();
+    }
+
+    public synchronized void clear() {
+        termsByKey.clear();
+        root.labels = NO_LABELS;
+        root.children = NO_CHILDREN;
+        root.childCount = 0;
+        root.terms = List.of();
+        root.best = List.of();
+    }
+
+    // Attach or detach the term at the end of path, then recompute the best lists bottom-up
+    private void refreshPath(String path, Term term, boolean added, boolean removed) {
+        Node[] nodes = new Node[path.length() + 1];
+        nodes[0] = root;
+        for (int i = 0; i < path.length(); i++) {
+            Node next = added ? nodes[i].addChild(path.charAt(i)) : nodes[i].child(path.charAt(i));
+            if (next == null) {
+                return;
+            }
+            nodes[i + 1] = next;
+        }
+        Node end = nodes[path.length()];
+        if (added && !end.terms.contains(term)) {
+            List<Term> terms = new ArrayList<>(end.terms);
+            terms.add(term);
+            end.terms = terms;
+        } else if (removed) {
+            List<Term> terms = new ArrayList<>(end.terms);
+            terms.remove(term);
+            end.terms = terms.isEmpty() ? List.of() : terms;
+        }
+        for (int i = path.length(); i >= 0; i--) {
+            Node node = nodes[i];
+            if (i > 0 && node.isEmpty()) {
+                nodes[i - 1].removeChild(node);
+                continue;
+            }
+            node.best = best(node);
+        }
+    }
+
+    // A value reachable twice below one node (e.g. "sand" in "sand and sand") is listed once
+    private List<Term> best(Node node) {
+        Set<Term> candidates = Collections.newSetFromMap(new IdentityHashMap<>());
+        candidates.addAll(node.terms);
+        for (int i = 0; i < node.childCount; i++) {
+            candidates.addAll(node.children[i].best);
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        List<Term> sorted = new ArrayList<>(candidates);
+        sorted.sort(BEST_FIRST);
+        return sorted.size() > maxCompletions ? new ArrayList<>(sorted.subList(0, maxCompletions)) : sorted;
+    }
+
+    /**
+     * Lower case without accents, with runs of punctuation and spaces folded to one space.
+     * A typed prefix keeps its trailing space so "sand " does not complete "sandstone".
+     */
+    static String normalise(String text, boolean keepTrailingSpace) {
+        if (text == null) {
+            return "";
+        }
+        String plain = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+        String folded = plain.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ");
+        String trimmed = folded.strip();
+        if (keepTrailingSpace && !trimmed.isEmpty() && folded.endsWith(" ")) {
+            return trimmed + " ";
+        }
+        return trimmed;
+    }
+}
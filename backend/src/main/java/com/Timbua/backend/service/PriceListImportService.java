@@ -0,0 +1,379 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.IngestReportDTO;
+import com.Timbua.backend.dto.PriceListImportReportDTO;
+import com.Timbua.backend.model.Material;
+import com.Timbua.backend.model.Supplier;
+import com.Timbua.backend.repository.MaterialBatchRepository;
+import com.Timbua.backend.repository.SupplierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Applies a supplier's CSV price list to their catalog in one pass.
+ *
+ * Rows are matched to the supplier's existing materials by name and unit (case and spacing
+ * ignored). Only rows that differ are written, as JDBC batches flushed every BATCH_SIZE
+ * changes, and the whole list commits or rolls back as one transaction. Columns left out of
+ * the file, or left empty in a row, keep their current values.
+ */
+@Service
+public class PriceListImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceListImportService.class);
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    // Accepted header spellings, compared after lower-casing and dropping spaces, '_' and '-'
+    private static final Map<String, String> COLUMN_ALIASES = Map.ofEntries(
+            Map.entry("name", "name"), Map.entry("item", "name"), Map.entry("product", "name"),
+            Map.entry("material", "name"),
+            Map.entry("unit", "unit"),
+            Map.entry("price", "price"), Map.entry("unitprice", "price"),
+            Map.entry("currency", "currency"),
+            Map.entry("category", "category"),
+            Map.entry("location", "location"),
+            Map.entry("available", "available"), Map.entry("instock", "available"),
+            Map.entry("deliverytime", "deliveryTime"),
+            Map.entry("minorder", "minOrder"));
+
+    private final SupplierRepository supplierRepository;
+    private final MaterialBatchRepository materialBatchRepository;
+    private final MaterialCatalogIndexService catalogIndexService;
+    private final MaterialCatalogCache catalogCache;
+    private final MaterialPriceHistoryService priceHistoryService;
+    private final CanonicalMaterialService canonicalMaterialService;
+    private final AutocompleteService autocompleteService;
+    private final ChangeTracker changeTracker;
+    private final SupplierAvailabilityCounter availabilityCounter;
+    private final TransactionTemplate transactionTemplate;
+
+    public PriceListImportService(SupplierRepository supplierRepository,
+                                  MaterialBatchRepository materialBatchRepository,
+                                  MaterialCatalogIndexService catalogIndexService,
+                                  MaterialCatalogCache catalogCache,
+                                  MaterialPriceHistoryService priceHistoryService,
+                                  CanonicalMaterialService canonicalMaterialService,
+                                  AutocompleteService autocompleteService,
+                                  ChangeTracker changeTracker,
+                                  SupplierAvailabilityCounter availabilityCounter,
+                                  TransactionTemplate transactionTemplate) {
+        this.supplierRepository = supplierRepository;
+        this.materialBatchRepository = materialBatchRepository;
+        this.catalogIndexService = catalogIndexService;
+        this.catalogCache = catalogCache;
+        this.priceHistoryService = priceHistoryService;
+        this.canonicalMaterialService = canonicalMaterialService;
+        this.autocompleteService = autocompleteService;
+        this.changeTracker = changeTracker;
+        this.availabilityCounter = availabilityCounter;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Reject spreadsheet uploads up front; only CSV is read
+     */
+    public static void checkFormat(String fileName, String contentType) {
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".xlsx") || name.endsWith(".xls") || type.contains("spreadsheetml") || type.contains("ms-excel")) {
+            throw new IllegalArgumentException("Excel price lists are not supported, save the sheet as CSV and upload that");
+        }
+    }
+
+    /**
+     * Apply the price list. With deactivateMissing, existing materials that the list does
+     * not mention are marked unavailable.
+     */
+    public PriceListImportReportDTO importPriceList(Long supplierId, InputStream body, boolean deactivateMissing) {
+        Supplier supplier = supplierRepository.findById(supplierId)
+                .orElseThrow(() -> new RuntimeException("Supplier not found with id: " + supplierId));
+        long startedAt = System.nanoTime();
+        PriceListImportReportDTO report = transactionTemplate.execute(status -> {
+            Import run = new Import(supplier);
+            try (CsvReader reader = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)))) {
+                run.read(reader);
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Price list could not be read at line " + run.line + ": " + e.getMessage(), e);
+            }
+            if (deactivateMissing) {
+                run.deactivateMissing();
+            }
+            run.flush();
+            run.publish();
+            run.report.setErrors(run.errors);
+            return run.report;
+        });
+        report.setElapsedMs((System.nanoTime() - startedAt) / 1_000_000);
+        logger.info("Price list for supplier {}: {} created, {} updated, {} unchanged, {} deactivated, {} rejected",
+                supplierId, report.getCreated(), report.getUpdated(), report.getUnchanged(),
+                report.getDeactivated(), report.getRejected());
+        return report;
+    }
+
+    // State of one import: the supplier's catalog keyed by name and unit, and the pending writes
+    private final class Import {
+        private final Supplier supplier;
+        private final LocalDateTime now = LocalDateTime.now();
+        private final PriceListImportReportDTO report = new PriceListImportReportDTO();
+        private final List<IngestReportDTO.RowError> errors = new ArrayList<>();
+        private final Map<String, Material> catalog = new HashMap<>();
+        private final Set<String> seenKeys = new HashSet<>();
+        private final List<Material> pendingInserts = new ArrayList<>(BATCH_SIZE);
+        private final List<Material> pendingUpdates = new ArrayList<>(BATCH_SIZE);
+        private final List<Material> changed = new ArrayList<>();
+        private final List<Material> repriced = new ArrayList<>();
+        private final Set<String> categories = new HashSet<>();
+        // Net change in the supplier's available listings
+        private int availableDelta;
+        private long line;
+
+        Import(Supplier supplier) {
+            this.supplier = supplier;
+            // Locked so a concurrent edit cannot change availability under the counted delta
+            for (Material material : materialBatchRepository.findBySupplierIdForUpdate(supplier.getId())) {
+                material.setSupplier(supplier);
+                // Keep the oldest listing when the catalog already holds duplicates
+                catalog.merge(matchKey(material.getName(), material.getUnit()), material,
+                        (first, second) -> first.getId() < second.getId() ? first : second);
+            }
+        }
+
+        void read(CsvReader reader) throws IOException {
+            List<String> header = reader.readRecord();
+            if (header == null) {
+                return;
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String column = COLUMN_ALIASES.get(header.get(i).toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-\\uFEFF]", ""));
+                if (column != null) {
+                    columns.putIfAbsent(column, i);
+                }
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("price")) {
+                throw new IllegalArgumentException("Price list needs at least a name and a price column");
+            }
+            List<String> record;
+            while ((record = reader.readRecord()) != null) {
+                line = reader.getRecordLine();
+                report.setRowsRead(report.getRowsRead() + 1);
+                try {
+                    apply(new Row(columns, record));
+                } catch (IllegalArgumentException e) {
+                    report.setRejected(report.getRejected() + 1);
+                    error(e.getMessage());
+                }
+            }
+        }
+
+        private void apply(Row row) {
+            String name = row.text("name");
+            if (name == null) {
+                throw new IllegalArgumentException("name is required");
+            }
+            String unit = row.text("unit");
+            Double price = row.number("price");
+            if (price == null) {
+                throw new IllegalArgumentException("price is required");
+            }
+            String key = matchKey(name, unit);
+            if (!seenKeys.add(key)) {
+                throw new IllegalArgumentException("Duplicate row for " + name + (unit != null ? " (" + unit + ")" : ""));
+            }
+
+            Material existing = catalog.get(key);
+            if (existing == null) {
+                Material material = new Material(name, row.text("category"), price, unit,
+                        row.flag("available") != null ? row.flag("available") : true);
+                material.setCurrency(row.text("currency"));
+                material.setLocation(row.text("location"));
+                material.setDeliveryTime(row.text("deliveryTime"));
+                material.setMinOrder(row.integer("minOrder"));
+                material.setSupplier(supplier);
+                material.setCreatedAt(now);
+                material.setUpdatedAt(now);
+                canonicalMaterialService.assign(material);
+                catalog.put(key, material);
+                availableDelta += SupplierAvailabilityCounter.delta(null, material.isAvailable());
+                pendingInserts.add(material);
+                changed.add(material);
+                repriced.add(material);
+                categories.add(material.getCategory());
+                report.setCreated(report.getCreated() + 1);
+                flushIfFull();
+                return;
+            }
+
+            String previousCategory = existing.getCategory();
+            double previousPrice = existing.getPrice();
+            String previousCurrency = existing.getCurrency();
+            boolean previousAvailable = existing.isAvailable();
+            boolean modified = set(existing.getPrice(), price, existing::setPrice);
+            modified |= set(existing.getCurrency(), row.text("currency"), existing::setCurrency);
+            modified |= set(existing.getCategory(), row.text("category"), existing::setCategory);
+            modified |= set(existing.getLocation(), row.text("location"), existing::setLocation);
+            modified |= set(existing.isAvailable(), row.flag("available"), existing::setAvailable);
+            modified |= set(existing.getDeliveryTime(), row.text("deliveryTime"), existing::setDeliveryTime);
+            modified |= set(existing.getMinOrder(), row.integer("minOrder"), existing::setMinOrder);
+            if (!modified) {
+                report.setUnchanged(report.getUnchanged() + 1);
+                return;
+            }
+            existing.setUpdatedAt(now);
+            availableDelta += SupplierAvailabilityCounter.delta(previousAvailable, existing.isAvailable());
+            if (!Objects.equals(existing.getCategory(), previousCategory)) {
+                canonicalMaterialService.assign(existing);
+            }
+            pendingUpdates.add(existing);
+            changed.add(existing);
+            if (existing.getPrice() != previousPrice || !Objects.equals(existing.getCurrency(), previousCurrency)) {
+                repriced.add(existing);
+            }
+            categories.add(previousCategory);
+            categories.add(existing.getCategory());
+            report.setUpdated(report.getUpdated() + 1);
+            flushIfFull();
+        }
+
+        void deactivateMissing() {
+            for (Map.Entry<String, Material> entry : catalog.entrySet()) {
+                Material material = entry.getValue();
+                if (!seenKeys.contains(entry.getKey()) && material.isAvailable()) {
+                    material.setAvailable(false);
+                    material.setUpdatedAt(now);
+                    availableDelta--;
+                    pendingUpdates.add(material);
+                    changed.add(material);
+                    categories.add(material.getCategory());
+                    report.setDeactivated(report.getDeactivated() + 1);
+                    flushIfFull();
+                }
+            }
+        }
+
+        private void flushIfFull() {
+            if (pendingInserts.size() + pendingUpdates.size() >= BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            materialBatchRepository.insertAll(pendingInserts, supplier.getId());
+            materialBatchRepository.updateAll(pendingUpdates);
+            pendingInserts.clear();
+            pendingUpdates.clear();
+        }
+
+        // Index, cache, price history and change log updates, applied once the transaction commits.
+        // The supplier's available count is written now, inside the import's transaction
+        void publish() {
+            if (changed.isEmpty()) {
+                return;
+            }
+            availabilityCounter.adjust(supplier.getId(), availableDelta);
+            catalogIndexService.onMaterialsSaved(changed);
+            autocompleteService.onMaterialsSaved(changed);
+            // Written with JDBC, so the entity listener never saw these
+            changeTracker.recordSaved(ChangeTracker.Dataset.MATERIALS, changed.stream().map(Material::getId).toList());
+            catalogCache.evictAfterCommit(supplier.getId(), categories);
+            priceHistoryService.recordPrices(repriced);
+        }
+
+        private void error(String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new IngestReportDTO.RowError(line, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+    }
+
+    // One price list row; empty cells read as null
+    private record Row(Map<String, Integer> columns, List<String> values) {
+
+        String text(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= values.size()) {
+                return null;
+            }
+            String value = values.get(index);
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+
+        Double number(String column) {
+            String value = text(column);
+            if (value == null) {
+                return null;
+            }
+            try {
+                double number = Double.parseDouble(value.replace(",", ""));
+                if (!Double.isFinite(number) || number < 0) {
+                    throw new NumberFormatException();
+                }
+                return number;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid " + column + ": " + value);
+            }
+        }
+
+        Integer integer(String column) {
+            Double number = number(column);
+            if (number == null) {
+                return null;
+            }
+            if (number != Math.rint(number)) {
+                throw new IllegalArgumentException("Invalid " + column + ": " + text(column));
+            }
+            return number.intValue();
+        }
+
+        Boolean flag(String column) {
+            String value = text(column);
+            if (value == null) {
+                return null;
+            }
+            return switch (value.toLowerCase(Locale.ROOT)) {
+                case "true", "yes", "y", "1" -> true;
+                case "false", "no", "n", "0" -> false;
+                default -> throw new IllegalArgumentException("Invalid " + column + ": " + value + " (expected yes or no)");
+            };
+        }
+    }
+
+    // Sets the field when the row gives a value that differs from the current one
+    private static <T> boolean set(T current, T value, Consumer<T> setter) {
+        if (value == null || value.equals(current)) {
+            return false;
+        }
+        setter.accept(value);
+        return true;
+    }
+
+    private static String matchKey(String name, String unit) {
+        return normalise(name) + "|" + normalise(unit);
+    }
+
+    private static String normalise(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
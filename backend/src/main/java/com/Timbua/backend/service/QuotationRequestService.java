@@ -5,10 +5,12 @@ import com.Timbua.backend.model.QuotationRequest;
 import com.Timbua.backend.model.Supplier;
 import com.Timbua.backend.repository.ContractorRepository;
 import com.Timbua.backend.repository.QuotationRequestRepository;
+import com.Timbua.backend.repository.QuoteRepository;
 import com.Timbua.backend.repository.SupplierRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,13 +20,22 @@ public class QuotationRequestService {
     private final QuotationRequestRepository repository;
     private final SupplierRepository supplierRepository;
     private final ContractorRepository contractorRepository;
+    private final CanonicalMaterialService canonicalMaterialService;
+    private final SupplierScorecardService scorecardService;
+    private final QuoteRepository quoteRepository;
 
     public QuotationRequestService(QuotationRequestRepository repository,
                                    SupplierRepository supplierRepository,
-                                   ContractorRepository contractorRepository) {
+                                   ContractorRepository contractorRepository,
+                                   CanonicalMaterialService canonicalMaterialService,
+                                   SupplierScorecardService scorecardService,
+                                   QuoteRepository quoteRepository) {
         this.repository = repository;
         this.supplierRepository = supplierRepository;
         this.contractorRepository = contractorRepository;
+        this.canonicalMaterialService = canonicalMaterialService;
+        this.scorecardService = scorecardService;
+        this.quoteRepository = quoteRepository;
     }
 
     /**
@@ -48,12 +59,16 @@ public class QuotationRequestService {
             throw new RuntimeException("No valid suppliers found with the provided IDs");
         }
 
-        request.setInvitedSuppliers(invitedSuppliers);
+        request.setInvitedSuppliers(new ArrayList<>());
+        invitedSuppliers.forEach(request::addInvitedSupplier);
+        canonicalMaterialService.assign(request);
 
         // TODO: Send notifications to suppliers (will implement later)
         // notifySuppliers(invitedSuppliers, request);
 
-        return repository.save(request);
+        QuotationRequest saved = repository.save(request);
+        scorecardService.onInvited(invitedSuppliers.stream().map(Supplier::getId).toList());
+        return saved;
     }
 
     /**
@@ -103,15 +118,19 @@ public class QuotationRequestService {
                 .orElseThrow(() -> new RuntimeException("Quotation Request not found"));
 
         List<Supplier> newSuppliers = supplierRepository.findAllById(supplierIds);
+        List<Long> invitedIds = new ArrayList<>();
 
         for (Supplier supplier : newSuppliers) {
             if (!request.getInvitedSuppliers().contains(supplier)) {
                 request.addInvitedSupplier(supplier);
+                invitedIds.add(supplier.getId());
                 // TODO: Send notification to newly added supplier
             }
         }
 
-        return repository.save(request);
+        QuotationRequest saved = repository.save(request);
+        scorecardService.onInvited(invitedIds);
+        return saved;
     }
 
     /**
@@ -125,9 +144,16 @@ public class QuotationRequestService {
         Supplier supplier = supplierRepository.findById(supplierId)
                 .orElseThrow(() -> new RuntimeException("Supplier not found"));
 
+        boolean wasInvited = request.getInvitedSuppliers().contains(supplier);
         request.removeInvitedSupplier(supplier);
 
-        return repository.save(request);
+        QuotationRequest saved = repository.save(request);
+        // A supplier that already quoted keeps the invitation on its scorecard, otherwise its
+        // response rate would count a response without the invitation it answered
+        if (wasInvited && !quoteRepository.existsByQuotationRequestIdAndSupplierId(requestId, supplierId)) {
+            scorecardService.onUninvited(supplierId);
+        }
+        return saved;
     }
 
     /**
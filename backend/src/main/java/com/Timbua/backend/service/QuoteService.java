@@ -18,13 +18,16 @@ public class QuoteService {
     private final QuoteRepository quoteRepository;
     private final QuotationRequestRepository requestRepository;
     private final SupplierRepository supplierRepository;
+    private final SupplierScorecardService scorecardService;
 
     public QuoteService(QuoteRepository quoteRepository,
                         QuotationRequestRepository requestRepository,
-                        SupplierRepository supplierRepository) {
+                        SupplierRepository supplierRepository,
+                        SupplierScorecardService scorecardService) {
         this.quoteRepository = quoteRepository;
         this.requestRepository = requestRepository;
         this.supplierRepository = supplierRepository;
+        this.scorecardService = scorecardService;
     }
 
     @Transactional
@@ -65,7 +68,9 @@ public class QuoteService {
             requestRepository.save(request);
         }
 
-        return quoteRepository.save(quote);
+        Quote saved = quoteRepository.save(quote);
+        scorecardService.onQuoteSubmitted(supplierId, request.getInvitedAt(supplierId), saved.getSubmittedDate());
+        return saved;
     }
 
     public List<Quote> getQuotesByRequest(Long quotationRequestId) {
@@ -87,6 +92,7 @@ public class QuoteService {
                 .orElseThrow(() -> new RuntimeException("Quote not found"));
 
         // Set quote as accepted
+        scorecardService.onQuoteStatusChanged(quote.getSupplier().getId(), quote.getStatus(), Quote.Status.ACCEPTED);
         quote.setStatus(Quote.Status.ACCEPTED);
 
         // Update request status
@@ -99,6 +105,8 @@ public class QuoteService {
                 request.getId(), quoteId);
 
         for (Quote otherQuote : otherQuotes) {
+            scorecardService.onQuoteStatusChanged(otherQuote.getSupplier().getId(), otherQuote.getStatus(),
+                    Quote.Status.REJECTED);
             otherQuote.setStatus(Quote.Status.REJECTED);
             quoteRepository.save(otherQuote);
         }
@@ -111,6 +119,7 @@ public class QuoteService {
         Quote quote = quoteRepository.findById(quoteId)
                 .orElseThrow(() -> new RuntimeException("Quote not found"));
 
+        scorecardService.onQuoteStatusChanged(quote.getSupplier().getId(), quote.getStatus(), Quote.Status.REJECTED);
         quote.setStatus(Quote.Status.REJECTED);
         return quoteRepository.save(quote);
     }
@@ -0,0 +1,253 @@
+package com.Timbua.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory geohash-style grid over lat/lng points.
+ *
+ * Points are bucketed into fixed-size cells (in degrees) so that nearest-neighbour and
+ * radius lookups only touch the cells around the query point instead of every row.
+ * Entries are keyed by entity id so saves and deletes can update the grid in place.
+ */
+public class SpatialGridIndex<T> {
+
+    private final double cellSizeDeg;
+    private final Map<Long, Entry<T>> entries = new HashMap<>();
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SpatialGridIndex(double cellSizeDeg) {
+        if (cellSizeDeg <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellSizeDeg = cellSizeDeg;
+    }
+
+    public record Neighbour<T>(T value, double distanceKm) {}
+
+    private record Entry<T>(Long id, double lat, double lng, T value) {}
+
+    /**
+     * Insert or replace the point stored for the given id
+     */
+    public void put(Long id, double lat, double lng, T value) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            Entry<T> entry = new Entry<>(id, lat, lng, value);
+            entries.put(id, entry);
+            cells.computeIfAbsent(cellKey(cellX(lng), cellY(lat)), key -> new ArrayList<>()).add(entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            cells.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * k nearest points to (lat, lng) accepted by the filter, closest first.
+     * Searches outward ring by ring and stops once no unvisited cell can beat the current k-th result.
+     * Once the rings would cover more cells than are populated (a sparse grid, or a query point
+     * far from every point) the populated cells are scanned directly instead.
+     */
+    public List<Neighbour<T>> nearest(double lat, double lng, int k, Predicate<T> filter) {
+        if (k <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            PriorityQueue<Neighbour<T>> best = new PriorityQueue<>(
+                    Comparator.comparingDouble((Neighbour<T> n) -> n.distanceKm()).reversed());
+            long cx = cellX(lng);
+            long cy = cellY(lat);
+            int visited = 0;
+
+            for (long ring = 0; visited < entries.size(); ring++) {
+                if ((2 * ring + 1) * (2 * ring + 1) > cells.size()) {
+                    best.clear();
+                    for (List<Entry<T>> cell : cells.values()) {
+                        offerAll(cell, lat, lng, k, filter, best);
+                    }
+                    break;
+                }
+                for (long x = cx - ring; x <= cx + ring; x++) {
+                    boolean edgeColumn = x == cx - ring || x == cx + ring;
+                    long step = edgeColumn ? 1 : 2 * ring;
+                    for (long y = cy - ring; y <= cy + ring; y += Math.max(step, 1)) {
+                        List<Entry<T>> cell = cells.get(cellKey(x, y));
+                        if (cell == null) {
+                            continue;
+                        }
+                        visited += cell.size();
+                        offerAll(cell, lat, lng, k, filter, best);
+                    }
+                }
+                if (best.size() == k && best.peek().distanceKm() <= minDistanceOutsideRing(lat, lng, cx, cy, ring)) {
+                    break;
+                }
+            }
+
+            List<Neighbour<T>> result = new ArrayList<>(best);
+            result.sort(Comparator.comparingDouble(Neighbour::distanceKm));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keeps the k closest accepted points of the cell in best, a max-heap on distance
+    private void offerAll(List<Entry<T>> cell, double lat, double lng, int k, Predicate<T> filter,
+                          PriorityQueue<Neighbour<T>> best) {
+        for (Entry<T> entry : cell) {
+            if (filter != null && !filter.test(entry.value())) {
+                continue;
+            }
+            double distance = GeoUtils.haversineKm(lat, lng, entry.lat(), entry.lng());
+            if (best.size() < k) {
+                best.add(new Neighbour<>(entry.value(), distance));
+            } else if (distance < best.peek().distanceKm()) {
+                best.poll();
+                best.add(new Neighbour<>(entry.value(), distance));
+            }
+        }
+    }
+
+    /**
+     * All points within radiusKm of (lat, lng) accepted by the filter, closest first.
+     * Candidate cells come from a bounding box around the query point; haversine is only
+     * evaluated for points that pass the cheap box check.
+     */
+    public List<Neighbour<T>> withinRadius(double lat, double lng, double radiusKm, Predicate<T> filter) {
+        if (radiusKm <= 0) {
+            return List.of();
+        }
+        double dLat = radiusKm / GeoUtils.KM_PER_DEGREE;
+        double cosLat = Math.max(Math.cos(Math.toRadians(Math.min(89.0, Math.abs(lat) + dLat))), 0.01);
+        double dLng = Math.min(180.0, radiusKm / (GeoUtils.KM_PER_DEGREE * cosLat));
+        double minLat = lat - dLat;
+        double maxLat = lat + dLat;
+        double minLng = lng - dLng;
+        double maxLng = lng + dLng;
+
+        lock.readLock().lock();
+        try {
+            List<Neighbour<T>> result = new ArrayList<>();
+            long minX = cellX(minLng);
+            long maxX = cellX(maxLng);
+            long minY = cellY(minLat);
+            long maxY = cellY(maxLat);
+            long boxCells = (maxX - minX + 1) * (maxY - minY + 1);
+
+            if (boxCells > cells.size()) {
+                // Sparse grid: cheaper to walk the populated cells than the bounding box
+                for (List<Entry<T>> cell : cells.values()) {
+                    collectWithin(cell, lat, lng, radiusKm, minLat, maxLat, minLng, maxLng, filter, result);
+                }
+            } else {
+                for (long x = minX; x <= maxX; x++) {
+                    for (long y = minY; y <= maxY; y++) {
+                        List<Entry<T>> cell = cells.get(cellKey(x, y));
+                        if (cell != null) {
+                            collectWithin(cell, lat, lng, radiusKm, minLat, maxLat, minLng, maxLng, filter, result);
+                        }
+                    }
+                }
+            }
+
+            result.sort(Comparator.comparingDouble(Neighbour::distanceKm));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void collectWithin(List<Entry<T>> cell, double lat, double lng, double radiusKm,
+                               double minLat, double maxLat, double minLng, double maxLng,
+                               Predicate<T> filter, List<Neighbour<T>> result) {
+        for (Entry<T> entry : cell) {
+            if (entry.lat() < minLat || entry.lat() > maxLat || entry.lng() < minLng || entry.lng() > maxLng) {
+                continue;
+            }
+            if (filter != null && !filter.test(entry.value())) {
+                continue;
+            }
+            double distance = GeoUtils.haversineKm(lat, lng, entry.lat(), entry.lng());
+            if (distance <= radiusKm) {
+                result.add(new Neighbour<>(entry.value(), distance));
+            }
+        }
+    }
+
+    private void removeInternal(Long id) {
+        Entry<T> existing = entries.remove(id);
+        if (existing == null) {
+            return;
+        }
+        long key = cellKey(cellX(existing.lng()), cellY(existing.lat()));
+        List<Entry<T>> cell = cells.get(key);
+        if (cell != null) {
+            cell.remove(existing);
+            if (cell.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    // Lower bound (km) on the distance from the query point to any cell outside the searched rings
+    private double minDistanceOutsideRing(double lat, double lng, long cx, long cy, long ring) {
+        double south = lat - (cy - ring) * cellSizeDeg;
+        double north = (cy + ring + 1) * cellSizeDeg - lat;
+        double west = lng - (cx - ring) * cellSizeDeg;
+        double east = (cx + ring + 1) * cellSizeDeg - lng;
+        double maxAbsLat = Math.min(90.0, Math.max(Math.abs((cy - ring) * cellSizeDeg), Math.abs((cy + ring + 1) * cellSizeDeg)));
+        double lngScale = GeoUtils.KM_PER_DEGREE * Math.cos(Math.toRadians(maxAbsLat));
+        double latKm = Math.min(south, north) * GeoUtils.KM_PER_DEGREE;
+        double lngKm = Math.min(west, east) * Math.max(lngScale, 0.0);
+        return Math.max(0.0, Math.min(latKm, lngKm));
+    }
+
+    private long cellX(double lng) {
+        return (long) Math.floor(lng / cellSizeDeg);
+    }
+
+    private long cellY(double lat) {
+        return (long) Math.floor(lat / cellSizeDeg);
+    }
+
+    private static long cellKey(long x, long y) {
+        return (x << 32) ^ (y & 0xffffffffL);
+    }
+}
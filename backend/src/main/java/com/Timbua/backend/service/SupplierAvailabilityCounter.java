@@ -0,0 +1,64 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.repository.SupplierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+/**
+ * Keeps Supplier.availableMaterialCount in step with the catalog.
+ *
+ * Writers report how many of a supplier's listings became available (positive) or stopped
+ * being available (negative) and the column is incremented in the same transaction, so the
+ * count commits or rolls back with the listings. reconcile() recounts from the materials
+ * table to repair drift from writes that bypass the services.
+ */
+@Component
+public class SupplierAvailabilityCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SupplierAvailabilityCounter.class);
+
+    private final SupplierRepository supplierRepository;
+    private final ChangeTracker changeTracker;
+
+    public SupplierAvailabilityCounter(SupplierRepository supplierRepository, ChangeTracker changeTracker) {
+        this.supplierRepository = supplierRepository;
+        this.changeTracker = changeTracker;
+    }
+
+    /**
+     * Change between the availability of a listing before and after a write, null for a missing side
+     */
+    public static int delta(Boolean availableBefore, Boolean availableAfter) {
+        return (Boolean.TRUE.equals(availableAfter) ? 1 : 0) - (Boolean.TRUE.equals(availableBefore) ? 1 : 0);
+    }
+
+    public void adjust(Long supplierId, int delta) {
+        if (supplierId == null || delta == 0) {
+            return;
+        }
+        supplierRepository.adjustAvailableMaterialCount(supplierId, delta);
+        // The column is written behind JPA's back, so the entity listener does not see it
+        changeTracker.recordSaved(ChangeTracker.Dataset.SUPPLIERS, supplierId);
+    }
+
+    /**
+     * Applies deltas collected per supplier over a batch, one update per supplier
+     */
+    public void adjust(Map<Long, Integer> deltaBySupplier) {
+        deltaBySupplier.forEach(this::adjust);
+    }
+
+    @Transactional
+    public int reconcile() {
+        int corrected = supplierRepository.reconcileAvailableMaterialCounts();
+        if (corrected > 0) {
+            logger.warn("Corrected the available material count of {} suppliers", corrected);
+            changeTracker.invalidate(ChangeTracker.Dataset.SUPPLIERS);
+        }
+        return corrected;
+    }
+}
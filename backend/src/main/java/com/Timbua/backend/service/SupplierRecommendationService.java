@@ -0,0 +1,246 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.SupplierRecommendationDTO;
+import com.Timbua.backend.model.ConstructionSite;
+import com.Timbua.backend.model.Coordinates;
+import com.Timbua.backend.model.Supplier;
+import com.Timbua.backend.repository.ConstructionSiteRepository;
+import com.Timbua.backend.repository.SupplierRepository;
+import com.Timbua.backend.service.MaterialCatalogIndexService.MatchedListing;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Ranks suppliers to invite to a quotation request.
+ *
+ * Candidates are the available listings found through the catalog's canonical material and
+ * word indexes. Each listing gets a blended score of catalog match, distance from the site,
+ * price among the matching listings in the same unit and currency, rating and the supplier's
+ * smoothed win rate; a supplier is ranked by its best listing. Everything except the site and
+ * the names of the suppliers returned is read from memory.
+ */
+@Service
+public class SupplierRecommendationService {
+
+    public static final int MAX_RECOMMENDATIONS = 50;
+
+    private static final double MATCH_WEIGHT = 0.35;
+    private static final double DISTANCE_WEIGHT = 0.2;
+    private static final double PRICE_WEIGHT = 0.2;
+    private static final double RATING_WEIGHT = 0.1;
+    private static final double WIN_RATE_WEIGHT = 0.15;
+
+    // Listings matching less than this share of the request are not candidates
+    private static final double MIN_MATCH = 0.3;
+    // Listings in another unit keep this share of their match, their price is not comparable
+    private static final double UNIT_MISMATCH_FACTOR = 0.7;
+    // Distance at which the distance score reaches zero
+    private static final double MAX_SCORED_DISTANCE_KM = 200;
+    // Score of a component that cannot be computed, such as distance without coordinates
+    private static final double NEUTRAL_SCORE = 0.5;
+
+    /**
+     * The construction site a recommendation was asked for does not exist
+     */
+    public static class SiteNotFoundException extends RuntimeException {
+        public SiteNotFoundException(Long siteId) {
+            super("Construction site not found with id: " + siteId);
+        }
+    }
+
+    private record Scored(MatchedListing listing, double score, double match, Double distanceKm,
+                          double priceScore, double winRate) {}
+
+    private final MaterialCatalogIndexService catalogIndexService;
+    private final CanonicalMaterialService canonicalMaterialService;
+    private final SupplierScorecardService scorecardService;
+    private final ConstructionSiteRepository siteRepository;
+    private final SupplierRepository supplierRepository;
+
+    public SupplierRecommendationService(MaterialCatalogIndexService catalogIndexService,
+                                         CanonicalMaterialService canonicalMaterialService,
+                                         SupplierScorecardService scorecardService,
+                                         ConstructionSiteRepository siteRepository,
+                                         SupplierRepository supplierRepository) {
+        this.catalogIndexService = catalogIndexService;
+        this.canonicalMaterialService = canonicalMaterialService;
+        this.scorecardService = scorecardService;
+        this.siteRepository = siteRepository;
+        this.supplierRepository = supplierRepository;
+    }
+
+    public List<SupplierRecommendationDTO> recommendSuppliers(String material, Double quantity, String unit,
+                                                              Long siteId, int limit) {
+        if (material == null || material.isBlank()) {
+            throw new IllegalArgumentException("material is required");
+        }
+        if (quantity != null && !(quantity > 0)) {
+            throw new IllegalArgumentException("quantity must be positive");
+        }
+        if (limit < 1 || limit > MAX_RECOMMENDATIONS) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_RECOMMENDATIONS);
+        }
+        Coordinates site = siteId != null ? siteCoordinates(siteId) : null;
+
+        Set<String> words = MaterialCatalogIndexService.matchWords(material);
+        Long canonicalMaterialId = canonicalMaterialService.matchId(material);
+        String unitKey = unitKey(unit);
+
+        List<MatchedListing> listings = new ArrayList<>();
+        for (MatchedListing listing : catalogIndexService.findMatchingListings(canonicalMaterialId, words)) {
+            if (quantity == null || listing.minOrder() == null || listing.minOrder() <= quantity) {
+                listings.add(listing);
+            }
+        }
+
+        // Prices are only compared within the requested unit, or across all listings without one,
+        // and within the currency most of those listings are priced in
+        Map<String, Boolean> sameUnitByUnit = new HashMap<>();
+        Set<Long> inUnit = new HashSet<>();
+        Map<String, Integer> inUnitByCurrency = new HashMap<>();
+        for (MatchedListing listing : listings) {
+            if (sameUnitByUnit.computeIfAbsent(listing.unit(), listingUnit -> sameUnit(unitKey, listingUnit))) {
+                inUnit.add(listing.materialId());
+                inUnitByCurrency.merge(currencyKey(listing.currency()), 1, Integer::sum);
+            }
+        }
+        String priceCurrency = inUnitByCurrency.entrySet().stream()
+                .max(Map.Entry.<String, Integer>comparingByValue()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .orElse(null);
+        Set<Long> priced = new HashSet<>();
+        double minPrice = Double.MAX_VALUE;
+        double maxPrice = -Double.MAX_VALUE;
+        for (MatchedListing listing : listings) {
+            if (inUnit.contains(listing.materialId()) && currencyKey(listing.currency()).equals(priceCurrency)) {
+                priced.add(listing.materialId());
+                minPrice = Math.min(minPrice, listing.price());
+                maxPrice = Math.max(maxPrice, listing.price());
+            }
+        }
+        Map<Long, Double> winRates = scorecardService.getWinRates(
+                listings.stream().map(MatchedListing::supplierId).distinct().toList());
+
+        Map<Long, Scored> bestBySupplier = new HashMap<>();
+        for (MatchedListing listing : listings) {
+            boolean sameUnit = inUnit.contains(listing.materialId());
+            double match = matchScore(listing, words, sameUnit);
+            if (match < MIN_MATCH) {
+                continue;
+            }
+            Double distanceKm = site != null && listing.lat() != null && listing.lng() != null
+                    ? GeoUtils.haversineKm(site.getLat(), site.getLng(), listing.lat(), listing.lng())
+                    : null;
+            double distanceScore = distanceKm != null ? Math.max(0, 1 - distanceKm / MAX_SCORED_DISTANCE_KM) : NEUTRAL_SCORE;
+            double priceScore = !priced.contains(listing.materialId()) ? NEUTRAL_SCORE
+                    : maxPrice > minPrice ? (maxPrice - listing.price()) / (maxPrice - minPrice) : 1;
+            double ratingScore = Math.max(0, Math.min(5, listing.rating())) / 5;
+            double winRate = winRates.getOrDefault(listing.supplierId(), NEUTRAL_SCORE);
+            double score = MATCH_WEIGHT * match + DISTANCE_WEIGHT * distanceScore + PRICE_WEIGHT * priceScore
+                    + RATING_WEIGHT * ratingScore + WIN_RATE_WEIGHT * winRate;
+            Scored scored = new Scored(listing, score, match, distanceKm, priceScore, winRate);
+            bestBySupplier.merge(listing.supplierId(), scored, (a, b) -> b.score() > a.score() ? b : a);
+        }
+
+        List<Scored> ranked = new ArrayList<>(bestBySupplier.values());
+        ranked.sort(Comparator.comparingDouble(Scored::score).reversed()
+                .thenComparing(Scored::distanceKm, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(scored -> scored.listing().supplierId()));
+        return toRecommendations(ranked, limit);
+    }
+
+    private Coordinates siteCoordinates(Long siteId) {
+        ConstructionSite site = siteRepository.findById(siteId)
+                .orElseThrow(() -> new SiteNotFoundException(siteId));
+        Coordinates coordinates = site.getCoordinates();
+        // Sites saved without a location read back as 0,0
+        if (coordinates == null || (coordinates.getLat() == 0 && coordinates.getLng() == 0)) {
+            return null;
+        }
+        return coordinates;
+    }
+
+    // Canonical matches score 1, other listings the share of the request's words they contain
+    private static double matchScore(MatchedListing listing, Set<String> words, boolean sameUnit) {
+        double match = listing.canonicalMatch() ? 1 : 0;
+        if (!words.isEmpty()) {
+            long shared = words.stream().filter(listing.words()::contains).count();
+            match = Math.max(match, (double) shared / words.size());
+        }
+        return sameUnit ? match : match * UNIT_MISMATCH_FACTOR;
+    }
+
+    private static boolean sameUnit(String unitKey, String listingUnit) {
+        return unitKey.isEmpty() || unitKey.equals(unitKey(listingUnit));
+    }
+
+    private static String currencyKey(String currency) {
+        return currency == null ? "" : currency.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // "BAGS", "bag" and "Bags " compare equal, as do "kgs" and "kg"
+    private static String unitKey(String unit) {
+        String key = CanonicalMaterialMatcher.normalise(unit);
+        return key.length() >= 3 && key.endsWith("s") && !key.endsWith("ss") ? key.substring(0, key.length() - 1) : key;
+    }
+
+    // Walks the ranking in chunks, skipping suspended, rejected and deleted suppliers
+    private List<SupplierRecommendationDTO> toRecommendations(List<Scored> ranked, int limit) {
+        List<SupplierRecommendationDTO> recommendations = new ArrayList<>(limit);
+        int from = 0;
+        while (recommendations.size() < limit && from < ranked.size()) {
+            List<Scored> chunk = ranked.subList(from, Math.min(ranked.size(), from + limit * 2));
+            from += chunk.size();
+            Map<Long, Object[]> infoById = new HashMap<>();
+            for (Object[] row : supplierRepository.findRecommendationInfo(
+                    chunk.stream().map(scored -> scored.listing().supplierId()).toList())) {
+                infoById.put((Long) row[0], row);
+            }
+            for (Scored scored : chunk) {
+                Object[] info = infoById.get(scored.listing().supplierId());
+                if (info == null || info[2] == Supplier.Status.SUSPENDED || info[2] == Supplier.Status.REJECTED) {
+                    continue;
+                }
+                recommendations.add(toDTO(scored, (String) info[1], Boolean.TRUE.equals(info[3]), recommendations.size() + 1));
+                if (recommendations.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return recommendations;
+    }
+
+    private static SupplierRecommendationDTO toDTO(Scored scored, String companyName, boolean verified, int rank) {
+        MatchedListing listing = scored.listing();
+        SupplierRecommendationDTO dto = new SupplierRecommendationDTO();
+        dto.setRank(rank);
+        dto.setSupplierId(listing.supplierId());
+        dto.setCompanyName(companyName);
+        dto.setVerified(verified);
+        dto.setScore(round(scored.score()));
+        dto.setMatchScore(round(scored.match()));
+        dto.setDistanceKm(scored.distanceKm() != null ? round(scored.distanceKm()) : null);
+        dto.setPriceScore(round(scored.priceScore()));
+        dto.setRating(listing.rating());
+        dto.setWinRate(round(scored.winRate()));
+        dto.setMaterialId(listing.materialId());
+        dto.setMaterialName(listing.name());
+        dto.setPrice(listing.price());
+        dto.setCurrency(listing.currency());
+        dto.setUnit(listing.unit());
+        return dto;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
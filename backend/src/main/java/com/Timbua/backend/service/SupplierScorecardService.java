@@ -0,0 +1,285 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.SupplierScorecardDTO;
+import com.Timbua.backend.model.Quote;
+import com.Timbua.backend.model.Supplier;
+import com.Timbua.backend.model.SupplierScorecard;
+import com.Timbua.backend.repository.SupplierRepository;
+import com.Timbua.backend.repository.SupplierScorecardRepository;
+import com.Timbua.backend.repository.SupplierScorecardRepository.Delta;
+import com.Timbua.backend.repository.SupplierScorecardRepository.RankedScorecard;
+import com.Timbua.backend.repository.SupplierScorecardRepository.Ranking;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-supplier scorecards: invitations, quotes submitted and accepted, quote response times
+ * and delivery punctuality.
+ *
+ * QuotationRequestService, QuoteService and OrderService report each event as it happens and
+ * the totals are adjusted in the same transaction, so a scorecard never needs the quote or
+ * order history scanned. Response times are kept as a histogram over RESPONSE_BUCKETS, which
+ * gives the median to within one bucket without storing every sample.
+ */
+@Service
+public class SupplierScorecardService {
+
+    public static final int MAX_LEADERBOARD_SIZE = 100;
+
+    // Upper bounds in minutes of the response time buckets; the last bucket is open-ended
+    private static final long[] RESPONSE_BUCKETS = {15, 30, 60, 120, 240, 480, 720, 1_440, 2_880, 4_320, 7_200, 10_080};
+
+    public static final int HISTOGRAM_SIZE = RESPONSE_BUCKETS.length + 1;
+
+    // Smoothing of win rates towards PRIOR_WIN_RATE, worth PRIOR_QUOTES quotes
+    private static final double PRIOR_WIN_RATE = 0.25;
+    private static final double PRIOR_QUOTES = 4;
+
+    // Quotes submitted and accepted per supplier, for recommendations; loaded on first use
+    private final Map<Long, long[]> winCountsBySupplier = new HashMap<>();
+    private final Object winCountsLock = new Object();
+    private volatile boolean winCountsLoaded = false;
+    // Orders the win count load against commits: ticks taken around the load's query, and
+    // around each commit that adjusts the counts
+    private final AtomicLong winCountsClock = new AtomicLong();
+    private long loadStartedTick;
+    private long loadFinishedTick;
+
+    private final SupplierScorecardRepository scorecardRepository;
+    private final SupplierRepository supplierRepository;
+
+    public SupplierScorecardService(SupplierScorecardRepository scorecardRepository,
+                                    SupplierRepository supplierRepository) {
+        this.scorecardRepository = scorecardRepository;
+        this.supplierRepository = supplierRepository;
+    }
+
+    public void onInvited(Collection<Long> supplierIds) {
+        List<Delta> deltas = new ArrayList<>(supplierIds.size());
+        for (Long supplierId : supplierIds) {
+            deltas.add(new Delta(supplierId, 1, 0, 0, 0, 0, new long[HISTOGRAM_SIZE], 0, 0, 0));
+        }
+        scorecardRepository.apply(deltas, LocalDateTime.now());
+    }
+
+    public void onUninvited(Long supplierId) {
+        apply(new Delta(supplierId, -1, 0, 0, 0, 0, new long[HISTOGRAM_SIZE], 0, 0, 0));
+    }
+
+    /**
+     * A quote was submitted; invitedAt is null when the request predates response timing
+     */
+    public void onQuoteSubmitted(Long supplierId, LocalDateTime invitedAt, LocalDateTime submittedAt) {
+        long[] histogram = new long[HISTOGRAM_SIZE];
+        long timed = 0;
+        long minutes = 0;
+        if (invitedAt != null && submittedAt != null && !submittedAt.isBefore(invitedAt)) {
+            minutes = Duration.between(invitedAt, submittedAt).toMinutes();
+            histogram[bucketOf(minutes)] = 1;
+            timed = 1;
+        }
+        apply(new Delta(supplierId, 0, 1, 0, timed, minutes, histogram, 0, 0, 0));
+        adjustWinCountsAfterCommit(supplierId, 1, 0);
+    }
+
+    public void onQuoteStatusChanged(Long supplierId, Quote.Status previous, Quote.Status next) {
+        int accepted = (next == Quote.Status.ACCEPTED ? 1 : 0) - (previous == Quote.Status.ACCEPTED ? 1 : 0);
+        if (supplierId != null && accepted != 0) {
+            apply(new Delta(supplierId, 0, 0, accepted, 0, 0, new long[HISTOGRAM_SIZE], 0, 0, 0));
+            adjustWinCountsAfterCommit(supplierId, 0, accepted);
+        }
+    }
+
+    /**
+     * An order was delivered; deliveries without an expected date are not measured
+     */
+    public void onOrderDelivered(Long supplierId, LocalDate expectedDeliveryDate, LocalDate actualDeliveryDate) {
+        if (supplierId == null || expectedDeliveryDate == null || actualDeliveryDate == null) {
+            return;
+        }
+        long daysLate = Math.max(0, ChronoUnit.DAYS.between(expectedDeliveryDate, actualDeliveryDate));
+        apply(new Delta(supplierId, 0, 0, 0, 0, 0, new long[HISTOGRAM_SIZE], 1, daysLate == 0 ? 1 : 0, daysLate));
+    }
+
+    @Transactional(readOnly = true)
+    public SupplierScorecardDTO getScorecard(Long supplierId) {
+        Supplier supplier = supplierRepository.findById(supplierId)
+                .orElseThrow(() -> new RuntimeException("Supplier not found with id: " + supplierId));
+        SupplierScorecard scorecard = scorecardRepository.findBySupplierId(supplierId).orElseGet(() -> {
+            SupplierScorecard empty = new SupplierScorecard();
+            empty.setSupplierId(supplierId);
+            empty.setResponseHistogram(new long[HISTOGRAM_SIZE]);
+            return empty;
+        });
+        return toDTO(scorecard, supplier.getCompanyName());
+    }
+
+    /**
+     * Suppliers ranked by one metric. Only suppliers with at least minSamples invitations,
+     * quotes, timed responses or deliveries behind the metric are ranked, so a single lucky
+     * quote does not top the board.
+     */
+    @Transactional(readOnly = true)
+    public List<SupplierScorecardDTO> getLeaderboard(String metric, int minSamples, int limit) {
+        if (limit < 1 || limit > MAX_LEADERBOARD_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LEADERBOARD_SIZE);
+        }
+        if (minSamples < 1) {
+            throw new IllegalArgumentException("minSamples must be at least 1");
+        }
+        List<RankedScorecard> rows = scorecardRepository.findLeaderboard(parseRanking(metric), minSamples, limit);
+        List<SupplierScorecardDTO> leaderboard = new ArrayList<>(rows.size());
+        for (RankedScorecard row : rows) {
+            SupplierScorecardDTO dto = toDTO(row.scorecard(), row.companyName());
+            dto.setRank(leaderboard.size() + 1);
+            leaderboard.add(dto);
+        }
+        return leaderboard;
+    }
+
+    /**
+     * Smoothed win rate per supplier, from memory. Suppliers without quotes get the prior, so
+     * newcomers are neither favoured nor buried.
+     */
+    public Map<Long, Double> getWinRates(Collection<Long> supplierIds) {
+        ensureWinCountsLoaded();
+        Map<Long, Double> rates = new HashMap<>();
+        synchronized (winCountsLock) {
+            for (Long supplierId : supplierIds) {
+                long[] counts = winCountsBySupplier.get(supplierId);
+                long submitted = counts != null ? counts[0] : 0;
+                long accepted = counts != null ? counts[1] : 0;
+                rates.put(supplierId, (accepted + PRIOR_WIN_RATE * PRIOR_QUOTES) / (submitted + PRIOR_QUOTES));
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * Apply the change to the loaded counts once committed, unless the load already read it.
+     * A commit that began after the load's query returned is applied, one that finished before
+     * the query started is already in the counts, and for one that overlapped the query the
+     * counts are dropped and reloaded on next use.
+     */
+    private void adjustWinCountsAfterCommit(Long supplierId, long submitted, long accepted) {
+        TransactionCallbacks.afterCommit(winCountsClock, (beforeCommit, afterCommit) -> {
+            synchronized (winCountsLock) {
+                if (!winCountsLoaded || afterCommit < loadStartedTick) {
+                    return;
+                }
+                if (beforeCommit > loadFinishedTick) {
+                    long[] counts = winCountsBySupplier.computeIfAbsent(supplierId, key -> new long[2]);
+                    counts[0] += submitted;
+                    counts[1] += accepted;
+                } else {
+                    winCountsLoaded = false;
+                }
+            }
+        });
+    }
+
+    private void ensureWinCountsLoaded() {
+        if (winCountsLoaded) {
+            return;
+        }
+        synchronized (winCountsLock) {
+            if (winCountsLoaded) {
+                return;
+            }
+            winCountsBySupplier.clear();
+            loadStartedTick = winCountsClock.incrementAndGet();
+            for (long[] row : scorecardRepository.findWinCounts()) {
+                winCountsBySupplier.put(row[0], new long[] {row[1], row[2]});
+            }
+            loadFinishedTick = winCountsClock.incrementAndGet();
+            winCountsLoaded = true;
+        }
+    }
+
+    private static Ranking parseRanking(String metric) {
+        if (metric == null || metric.isBlank()) {
+            return Ranking.WIN_RATE;
+        }
+        return switch (metric.trim().toLowerCase(Locale.ROOT)) {
+            case "win_rate", "win" -> Ranking.WIN_RATE;
+            case "response_rate" -> Ranking.RESPONSE_RATE;
+            case "on_time", "on_time_rate" -> Ranking.ON_TIME_RATE;
+            case "response_time" -> Ranking.RESPONSE_TIME;
+            default -> throw new IllegalArgumentException("metric must be win_rate, response_rate, on_time or response_time");
+        };
+    }
+
+    private void apply(Delta delta) {
+        scorecardRepository.apply(List.of(delta), LocalDateTime.now());
+    }
+
+    private static int bucketOf(long minutes) {
+        for (int i = 0; i < RESPONSE_BUCKETS.length; i++) {
+            if (minutes < RESPONSE_BUCKETS[i]) {
+                return i;
+            }
+        }
+        return RESPONSE_BUCKETS.length;
+    }
+
+    // Interpolates linearly inside the bucket holding the middle sample
+    static Double median(long[] histogram) {
+        long total = 0;
+        for (long count : histogram) {
+            total += count;
+        }
+        if (total <= 0) {
+            return null;
+        }
+        double middle = total / 2.0;
+        long before = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            long count = histogram[i];
+            if (count > 0 && before + count >= middle) {
+                double lower = i == 0 ? 0 : RESPONSE_BUCKETS[i - 1];
+                if (i >= RESPONSE_BUCKETS.length) {
+                    return lower;
+                }
+                double upper = RESPONSE_BUCKETS[i];
+                return lower + (upper - lower) * (middle - before) / count;
+            }
+            before += count;
+        }
+        return null;
+    }
+
+    private static Double ratio(long part, long whole) {
+        return whole > 0 ? (double) part / whole : null;
+    }
+
+    private static SupplierScorecardDTO toDTO(SupplierScorecard scorecard, String companyName) {
+        SupplierScorecardDTO dto = new SupplierScorecardDTO();
+        dto.setSupplierId(scorecard.getSupplierId());
+        dto.setCompanyName(companyName);
+        dto.setInvitations(scorecard.getInvitations());
+        dto.setQuotesSubmitted(scorecard.getQuotesSubmitted());
+        dto.setQuotesAccepted(scorecard.getQuotesAccepted());
+        dto.setResponseRate(ratio(scorecard.getQuotesSubmitted(), scorecard.getInvitations()));
+        dto.setWinRate(ratio(scorecard.getQuotesAccepted(), scorecard.getQuotesSubmitted()));
+        dto.setResponsesTimed(scorecard.getResponsesTimed());
+        dto.setMedianResponseMinutes(median(scorecard.getResponseHistogram()));
+        dto.setAverageResponseMinutes(ratio(scorecard.getResponseMinutesSum(), scorecard.getResponsesTimed()));
+        dto.setDeliveriesMeasured(scorecard.getDeliveriesMeasured());
+        dto.setOnTimeDeliveryRate(ratio(scorecard.getDeliveriesOnTime(), scorecard.getDeliveriesMeasured()));
+        dto.setAverageDaysLate(ratio(scorecard.getLateDaysSum(), scorecard.getDeliveriesMeasured()));
+        dto.setUpdatedAt(scorecard.getUpdatedAt());
+        return dto;
+    }
+}
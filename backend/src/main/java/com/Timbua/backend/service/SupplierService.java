@@ -1,5 +1,7 @@
 package com.Timbua.backend.service;
 
+import com.Timbua.backend.dto.DeltaDTO;
+import com.Timbua.backend.dto.PagedResponseDTO;
 import com.Timbua.backend.dto.SupplierRequestDTO;
 import com.Timbua.backend.dto.SupplierResponseDTO;
 import com.Timbua.backend.model.Material;
@@ -10,6 +12,9 @@ import com.Timbua.backend.repository.SupplierDocumentRepository;
 import com.Timbua.backend.repository.SupplierRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,7 +23,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,19 +36,42 @@ public class SupplierService {
 
     private static final Logger logger = LoggerFactory.getLogger(SupplierService.class);
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final SupplierRepository supplierRepository;
     private final SupplierDocumentRepository documentRepository;
     private final MaterialRepository materialRepository;
     private final PasswordEncoder passwordEncoder;
+    private final MaterialCatalogIndexService catalogIndexService;
+    private final MaterialCatalogCache catalogCache;
+    private final MaterialPriceHistoryService priceHistoryService;
+    private final CanonicalMaterialService canonicalMaterialService;
+    private final AutocompleteService autocompleteService;
+    private final ChangeTracker changeTracker;
+    private final SupplierAvailabilityCounter availabilityCounter;
 
     public SupplierService(SupplierRepository supplierRepository,
                            SupplierDocumentRepository documentRepository,
                            MaterialRepository materialRepository,
-                           PasswordEncoder passwordEncoder) {
+                           PasswordEncoder passwordEncoder,
+                           MaterialCatalogIndexService catalogIndexService,
+                           MaterialCatalogCache catalogCache,
+                           MaterialPriceHistoryService priceHistoryService,
+                           CanonicalMaterialService canonicalMaterialService,
+                           AutocompleteService autocompleteService,
+                           ChangeTracker changeTracker,
+                           SupplierAvailabilityCounter availabilityCounter) {
         this.supplierRepository = supplierRepository;
         this.documentRepository = documentRepository;
         this.materialRepository = materialRepository;
         this.passwordEncoder = passwordEncoder;
+        this.catalogIndexService = catalogIndexService;
+        this.catalogCache = catalogCache;
+        this.priceHistoryService = priceHistoryService;
+        this.canonicalMaterialService = canonicalMaterialService;
+        this.autocompleteService = autocompleteService;
+        this.changeTracker = changeTracker;
+        this.availabilityCounter = availabilityCounter;
     }
 
     /**
@@ -65,6 +97,7 @@ public class SupplierService {
         supplier.setCreatedAt(LocalDateTime.now());
 
         Supplier savedSupplier = supplierRepository.save(supplier);
+        autocompleteService.onSupplierSaved(savedSupplier);
         logger.info("Supplier registered successfully with ID: {}", savedSupplier.getId());
 
         // Return DTO (without password)
@@ -103,10 +136,12 @@ public class SupplierService {
 
         // Save supplier first to get the auto-generated ID
         Supplier savedSupplier = supplierRepository.save(supplier);
+        autocompleteService.onSupplierSaved(savedSupplier);
 
         // Set the supplier for each material and save them
         for (Material material : materials) {
             material.setSupplier(savedSupplier);
+            canonicalMaterialService.assign(material);
             // Set default values if not provided
             if (!material.isAvailable()) {
                 material.setAvailable(true);
@@ -115,6 +150,13 @@ public class SupplierService {
 
         // Save all materials
         List<Material> savedMaterials = materialRepository.saveAll(materials);
+        catalogIndexService.onMaterialsSaved(savedMaterials);
+        autocompleteService.onMaterialsSaved(savedMaterials);
+        catalogCache.evictAfterCommit(savedSupplier.getId(),
+                savedMaterials.stream().map(Material::getCategory).toList());
+        priceHistoryService.recordPrices(savedMaterials);
+        int availableCount = (int) savedMaterials.stream().filter(Material::isAvailable).count();
+        availabilityCounter.adjust(savedSupplier.getId(), availableCount);
 
         // Set the materials back to the supplier for the response
         savedSupplier.setMaterials(savedMaterials);
@@ -122,7 +164,10 @@ public class SupplierService {
         logger.info("Supplier registered successfully with {} materials, ID: {}",
                 savedMaterials.size(), savedSupplier.getId());
 
-        return convertToDTO(savedSupplier);
+        // The counter is bumped in SQL, so the managed entity still holds 0; report the applied delta
+        SupplierResponseDTO response = convertToDTO(savedSupplier);
+        response.setAvailableMaterialCount(availableCount);
+        return response;
     }
 
     /**
@@ -251,6 +296,7 @@ public class SupplierService {
         }
 
         Supplier savedSupplier = supplierRepository.save(supplier);
+        autocompleteService.onSupplierSaved(savedSupplier);
         logger.info("Supplier profile updated successfully for ID: {}", id);
         return convertToDTO(savedSupplier);
     }
@@ -310,19 +356,76 @@ public class SupplierService {
     @Transactional(readOnly = true)
     public List<SupplierResponseDTO> getAllSuppliers() {
         logger.debug("Retrieving all suppliers");
-        List<Supplier> suppliers = supplierRepository.findAll();
-        return suppliers.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return supplierRepository.findDirectory(null, null, null, null, Sort.by("id"));
+    }
+
+    /**
+     * Version of the supplier list, used as its ETag and as a sync token
+     */
+    public String getSuppliersVersion() {
+        return changeTracker.token(ChangeTracker.Dataset.SUPPLIERS);
+    }
+
+    @Transactional(readOnly = true)
+    public DeltaDTO<SupplierResponseDTO> getSuppliersSince(String since) {
+        return changeTracker.delta(ChangeTracker.Dataset.SUPPLIERS, since, this::getAllSuppliers,
+                ids -> supplierRepository.findAllById(ids).stream().map(this::convertToDTO).toList(),
+                SupplierResponseDTO::getId);
     }
 
     @Transactional(readOnly = true)
     public List<SupplierResponseDTO> getVerifiedSuppliers() {
         logger.debug("Retrieving verified suppliers");
-        List<Supplier> suppliers = supplierRepository.findByIsVerifiedTrue();
-        return suppliers.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return supplierRepository.findDirectory(null, true, null, null, Sort.by("id"));
+    }
+
+    /**
+     * One page of the supplier directory. Rows are selected straight into SupplierResponseDTO
+     * with one query plus its count, so no Supplier entity or lazy collection is loaded.
+     */
+    @Transactional(readOnly = true)
+    public PagedResponseDTO<SupplierResponseDTO> getSupplierDirectory(String status, Boolean verified,
+                                                                      Integer minYears, Integer maxYears,
+                                                                      String sort, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (minYears != null && maxYears != null && minYears > maxYears) {
+            throw new IllegalArgumentException("minYears must not be greater than maxYears");
+        }
+        Page<SupplierResponseDTO> result = supplierRepository.findDirectory(parseStatus(status), verified,
+                minYears, maxYears, PageRequest.of(page, size, parseDirectorySort(sort)));
+        return new PagedResponseDTO<>(result.getContent(), page, size, result.getTotalElements());
+    }
+
+    private static Supplier.Status parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return Supplier.Status.valueOf(status.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status: " + status);
+        }
+    }
+
+    // id breaks ties so pages never overlap
+    private static Sort parseDirectorySort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("companyName", "id");
+        }
+        return switch (sort.trim().toLowerCase(Locale.ROOT)) {
+            case "name", "name_asc" -> Sort.by("companyName", "id");
+            case "name_desc" -> Sort.by(Sort.Direction.DESC, "companyName", "id");
+            case "years", "years_asc" -> Sort.by("yearsInBusiness", "id");
+            case "years_desc" -> Sort.by(Sort.Direction.DESC, "yearsInBusiness", "id");
+            case "newest" -> Sort.by(Sort.Direction.DESC, "createdAt", "id");
+            case "oldest" -> Sort.by("createdAt", "id");
+            default -> throw new IllegalArgumentException("sort must be name, name_desc, years, years_desc, newest or oldest");
+        };
     }
 
     @Transactional(readOnly = true)
@@ -358,18 +461,46 @@ public class SupplierService {
     @Transactional(readOnly = true)
     public List<SupplierResponseDTO> getSuppliersByMaterialCategory(String category) {
         logger.debug("Searching suppliers by material category: {}", category);
-        List<Supplier> allSuppliers = supplierRepository.findAll();
-        List<SupplierResponseDTO> filteredSuppliers = new ArrayList<>();
-
-        for (Supplier supplier : allSuppliers) {
-            if (supplier.getMaterials().stream()
-                    .anyMatch(material -> material.getCategory() != null &&
-                            material.getCategory().equalsIgnoreCase(category))) {
-                filteredSuppliers.add(convertToDTO(supplier));
-            }
+        MaterialCatalogIndexService.SupplierPage ids = catalogIndexService.findSuppliersByCategory(category, 0, Integer.MAX_VALUE);
+        return findSupplierDTOsInOrder(ids.supplierIds());
+    }
+
+    /**
+     * One page of the suppliers listing the category, in id order. Served from the catalog's
+     * category -> supplier index, so a page costs a single query for the suppliers on it,
+     * however many suppliers there are.
+     */
+    @Transactional(readOnly = true)
+    public PagedResponseDTO<SupplierResponseDTO> getSuppliersByMaterialCategory(String category, int page, int size) {
+        if (category == null || category.isBlank()) {
+            throw new IllegalArgumentException("category is required");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
         }
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        MaterialCatalogIndexService.SupplierPage ids = catalogIndexService.findSuppliersByCategory(category, offset, size);
+        return new PagedResponseDTO<>(findSupplierDTOsInOrder(ids.supplierIds()), page, size, ids.total());
+    }
 
-        return filteredSuppliers;
+    // One IN query; suppliers deleted since the ids were read are skipped
+    private List<SupplierResponseDTO> findSupplierDTOsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Supplier> byId = supplierRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Supplier::getId, Function.identity()));
+        List<SupplierResponseDTO> suppliers = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Supplier supplier = byId.get(id);
+            if (supplier != null) {
+                suppliers.add(convertToDTO(supplier));
+            }
+        }
+        return suppliers;
     }
 
     /**
@@ -389,19 +520,38 @@ public class SupplierService {
     @Transactional(readOnly = true)
     public List<SupplierResponseDTO> getSuppliersWithAvailableMaterials() {
         logger.debug("Retrieving suppliers with available materials");
-        List<Supplier> suppliers = supplierRepository.findAll();
-        List<SupplierResponseDTO> suppliersWithAvailableMaterials = new ArrayList<>();
-
-        for (Supplier supplier : suppliers) {
-            boolean hasAvailableMaterials = supplier.getMaterials().stream()
-                    .anyMatch(Material::isAvailable);
+        return supplierRepository.findAllWithAvailableMaterials().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+    }
 
-            if (hasAvailableMaterials) {
-                suppliersWithAvailableMaterials.add(convertToDTO(supplier));
+    /**
+     * One page of the suppliers with at least one available listing, in id order. Reads the
+     * maintained availableMaterialCount through its index instead of loading catalogs; with
+     * breakdown, the page's available listings are also counted per category in one query.
+     */
+    @Transactional(readOnly = true)
+    public PagedResponseDTO<SupplierResponseDTO> getSuppliersWithAvailableMaterials(int page, int size, boolean breakdown) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Page<Supplier> suppliers = supplierRepository.findWithAvailableMaterials(PageRequest.of(page, size));
+        List<SupplierResponseDTO> content = suppliers.getContent().stream()
+                .map(this::convertToDTO)
+                .collect(Collectors.toList());
+        if (breakdown && !content.isEmpty()) {
+            Map<Long, SupplierResponseDTO> byId = content.stream()
+                    .collect(Collectors.toMap(SupplierResponseDTO::getId, Function.identity()));
+            byId.values().forEach(dto -> dto.setAvailableByCategory(new TreeMap<>()));
+            for (Object[] row : materialRepository.countAvailableByCategory(byId.keySet())) {
+                String category = row[1] != null ? (String) row[1] : "Uncategorized";
+                byId.get((Long) row[0]).getAvailableByCategory().merge(category, (Long) row[2], Long::sum);
             }
         }
-
-        return suppliersWithAvailableMaterials;
+        return new PagedResponseDTO<>(content, page, size, suppliers.getTotalElements());
     }
 
     // Document management
@@ -431,8 +581,14 @@ public class SupplierService {
         if (!material.isAvailable()) {
             material.setAvailable(true); // Default to available
         }
+        canonicalMaterialService.assign(material);
 
         Material savedMaterial = materialRepository.save(material);
+        catalogIndexService.onMaterialSaved(savedMaterial);
+        autocompleteService.onMaterialSaved(savedMaterial);
+        catalogCache.evictAfterCommit(supplierId, savedMaterial.getCategory());
+        priceHistoryService.recordPrice(savedMaterial);
+        availabilityCounter.adjust(supplierId, SupplierAvailabilityCounter.delta(null, savedMaterial.isAvailable()));
         logger.info("Material added successfully with ID: {} to supplier ID: {}",
                 savedMaterial.getId(), supplierId);
         return savedMaterial;
@@ -477,6 +633,9 @@ public class SupplierService {
         }
 
         supplierRepository.deleteById(id);
+        catalogIndexService.onSupplierDeleted(id);
+        autocompleteService.onSupplierDeleted(id);
+        catalogCache.evictAfterCommit(id, materials.stream().map(Material::getCategory).toList());
         logger.info("Supplier deleted successfully with ID: {}", id);
     }
 }
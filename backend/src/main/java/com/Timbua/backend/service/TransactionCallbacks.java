@@ -0,0 +1,84 @@
+package com.Timbua.backend.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Helpers for running side effects (index and cache maintenance) only once the
+ * surrounding transaction has committed, so a rollback never leaves them out of sync.
+ */
+public final class TransactionCallbacks {
+
+    /**
+     * Action told when the commit happened, as ticks of a caller's clock
+     */
+    @FunctionalInterface
+    public interface CommitWindowAction {
+        void run(long beforeCommit, long afterCommit);
+    }
+
+    private TransactionCallbacks() {}
+
+    /**
+     * Run the action after the current transaction commits, or immediately when there is none
+     */
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Like afterCommit, but only once every afterCommit action of the transaction has run,
+     * for actions that announce a change readers may only see after indexes and caches caught up
+     */
+    public static void afterCommitCallbacks(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Like afterCommit, but the action also gets ticks of the clock taken just before and just
+     * after the commit, so it can tell whether a read that ticked the same clock saw the change.
+     * Without a transaction the change committed at some unknown earlier point, and beforeCommit
+     * is Long.MIN_VALUE.
+     */
+    public static void afterCommit(AtomicLong clock, CommitWindowAction action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private long beforeCommit = Long.MIN_VALUE;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    beforeCommit = clock.incrementAndGet();
+                }
+
+                @Override
+                public void afterCommit() {
+                    action.run(beforeCommit, clock.incrementAndGet());
+                }
+            });
+        } else {
+            action.run(Long.MIN_VALUE, clock.incrementAndGet());
+        }
+    }
+}
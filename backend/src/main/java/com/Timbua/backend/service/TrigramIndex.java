@@ -0,0 +1,233 @@
+package com.Timbua.backend.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process inverted index with trigram-based fuzzy term matching.
+ *
+ * Documents are split into normalised words which are stored in a term dictionary with
+ * postings per document. Every term is also indexed by its trigrams, so a misspelt query
+ * word ("bulding") is expanded to the dictionary terms it shares enough trigrams with
+ * ("building") before the postings are scored. Field weights let a hit in a primary
+ * field rank above a hit in a secondary one.
+ */
+public class TrigramIndex {
+
+    private static final int MAX_QUERY_WORDS = 8;
+
+    private final double minSimilarity;
+
+    // term -> postings (document id -> best field weight the term appears in)
+    private final Map<String, Term> terms = new HashMap<>();
+    // trigram -> terms containing it
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    // document id -> its terms, needed to remove or re-index a document
+    private final Map<Long, Map<String, Float>> documents = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TrigramIndex(double minSimilarity) {
+        this.minSimilarity = minSimilarity;
+    }
+
+    public record Field(String text, float weight) {}
+
+    public record Hit(Long id, int matchedWords, double score) {}
+
+    private static final class Term {
+        private final int trigramCount;
+        private final Map<Long, Float> postings = new HashMap<>();
+
+        private Term(int trigramCount) {
+            this.trigramCount = trigramCount;
+        }
+    }
+
+    /**
+     * Index (or re-index) a document made of weighted text fields
+     */
+    public void put(Long id, List<Field> fields) {
+        Map<String, Float> docTerms = new HashMap<>();
+        for (Field field : fields) {
+            for (String word : words(field.text())) {
+                docTerms.merge(word, field.weight(), Math::max);
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (docTerms.isEmpty()) {
+                return;
+            }
+            documents.put(id, docTerms);
+            for (Map.Entry<String, Float> entry : docTerms.entrySet()) {
+                Term term = terms.get(entry.getKey());
+                if (term == null) {
+                    Set<String> grams = trigrams(entry.getKey());
+                    term = new Term(grams.size());
+                    terms.put(entry.getKey(), term);
+                    for (String gram : grams) {
+                        termsByTrigram.computeIfAbsent(gram, key -> new HashSet<>()).add(entry.getKey());
+                    }
+                }
+                term.postings.put(id, entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            terms.clear();
+            termsByTrigram.clear();
+            documents.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rank documents against a free-text query. Documents matching more query words come
+     * first, ties are broken by the summed similarity * field weight of the best term per word.
+     */
+    public List<Hit> search(String query) {
+        List<String> queryWords = new ArrayList<>(new LinkedHashSet<>(words(query)));
+        if (queryWords.size() > MAX_QUERY_WORDS) {
+            queryWords = queryWords.subList(0, MAX_QUERY_WORDS);
+        }
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, double[]> scores = new HashMap<>();
+            for (String word : queryWords) {
+                Map<Long, Double> bestForWord = new HashMap<>();
+                for (Map.Entry<String, Double> match : similarTerms(word).entrySet()) {
+                    Term term = terms.get(match.getKey());
+                    for (Map.Entry<Long, Float> posting : term.postings.entrySet()) {
+                        bestForWord.merge(posting.getKey(), match.getValue() * posting.getValue(), Math::max);
+                    }
+                }
+                for (Map.Entry<Long, Double> entry : bestForWord.entrySet()) {
+                    double[] acc = scores.computeIfAbsent(entry.getKey(), key -> new double[2]);
+                    acc[0] += 1;
+                    acc[1] += entry.getValue();
+                }
+            }
+
+            List<Hit> hits = new ArrayList<>(scores.size());
+            for (Map.Entry<Long, double[]> entry : scores.entrySet()) {
+                hits.add(new Hit(entry.getKey(), (int) entry.getValue()[0], entry.getValue()[1]));
+            }
+            hits.sort(Comparator.comparingInt(Hit::matchedWords).reversed()
+                    .thenComparing(Comparator.comparingDouble(Hit::score).reversed())
+                    .thenComparing(Hit::id));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Dictionary terms whose trigram similarity to the word reaches the threshold
+    private Map<String, Double> similarTerms(String word) {
+        Map<String, Double> result = new HashMap<>();
+        Term exact = terms.get(word);
+        if (exact != null) {
+            result.put(word, 1.0);
+        }
+        Set<String> grams = trigrams(word);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            Set<String> candidates = termsByTrigram.get(gram);
+            if (candidates != null) {
+                for (String candidate : candidates) {
+                    shared.merge(candidate, 1, Integer::sum);
+                }
+            }
+        }
+        for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+            int common = entry.getValue();
+            int union = grams.size() + terms.get(entry.getKey()).trigramCount - common;
+            double similarity = (double) common / union;
+            if (similarity >= minSimilarity) {
+                result.merge(entry.getKey(), similarity, Math::max);
+            }
+        }
+        return result;
+    }
+
+    private void removeInternal(Long id) {
+        Map<String, Float> docTerms = documents.remove(id);
+        if (docTerms == null) {
+            return;
+        }
+        for (String word : docTerms.keySet()) {
+            Term term = terms.get(word);
+            if (term == null) {
+                continue;
+            }
+            term.postings.remove(id);
+            if (term.postings.isEmpty()) {
+                terms.remove(word);
+                for (String gram : trigrams(word)) {
+                    Set<String> owners = termsByTrigram.get(gram);
+                    if (owners != null) {
+                        owners.remove(word);
+                        if (owners.isEmpty()) {
+                            termsByTrigram.remove(gram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Lower-case the text and split it into alphanumeric words
+     */
+    public static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> result = new ArrayList<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                result.add(word);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Trigrams of a single word, padded like pg_trgm (two leading spaces, one trailing)
+     */
+    public static Set<String> trigrams(String word) {
+        String padded = "  " + word + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
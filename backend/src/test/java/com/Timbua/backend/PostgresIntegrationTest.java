@@ -0,0 +1,23 @@
+package com.Timbua.backend;
+
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Base of tests that need the real PostgreSQL dialect (arrays, ON CONFLICT, unnest). One
+ * container is shared by every subclass and wired in as the application's data source.
+ * It is started once for the whole run rather than per class, because Spring caches the
+ * application context across classes and that context keeps pointing at this container;
+ * Testcontainers stops it when the JVM exits.
+ */
+@SpringBootTest
+public abstract class PostgresIntegrationTest {
+
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static {
+        POSTGRES.start();
+    }
+}
@@ -0,0 +1,97 @@
+package com.Timbua.backend.repository;
+
+import com.Timbua.backend.PostgresIntegrationTest;
+import com.Timbua.backend.model.SupplierScorecard;
+import com.Timbua.backend.repository.SupplierScorecardRepository.Delta;
+import com.Timbua.backend.service.SupplierScorecardService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SupplierScorecardRepositoryTest extends PostgresIntegrationTest {
+
+    private static final long SUPPLIER_ID = 9_001L;
+
+    @Autowired
+    private SupplierScorecardRepository scorecardRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearScorecards() {
+        jdbcTemplate.update("DELETE FROM supplier_scorecards");
+    }
+
+    @Test
+    void firstUpsertInsertsTheHistogramAsGiven() {
+        long[] histogram = histogram(0, 2, 5, 1);
+
+        scorecardRepository.apply(List.of(quoteDelta(histogram)), LocalDateTime.now());
+
+        SupplierScorecard scorecard = scorecardRepository.findBySupplierId(SUPPLIER_ID).orElseThrow();
+        assertArrayEquals(histogram, scorecard.getResponseHistogram());
+        assertEquals(1, scorecard.getQuotesSubmitted());
+    }
+
+    @Test
+    void upsertAddsHistogramsElementWise() {
+        scorecardRepository.apply(List.of(quoteDelta(histogram(0, 2, 5, 1))), LocalDateTime.now());
+        scorecardRepository.apply(List.of(quoteDelta(histogram(0, 1, 5, 4)), quoteDelta(histogram(4, 3, 11, 2))),
+                LocalDateTime.now());
+
+        SupplierScorecard scorecard = scorecardRepository.findBySupplierId(SUPPLIER_ID).orElseThrow();
+        assertArrayEquals(histogram(0, 3, 4, 3, 5, 5, 11, 2), scorecard.getResponseHistogram());
+        assertEquals(3, scorecard.getQuotesSubmitted());
+        assertEquals(3, scorecard.getResponsesTimed());
+    }
+
+    @Test
+    void upsertKeepsEveryBucketInOrder() {
+        long[] ascending = new long[SupplierScorecardService.HISTOGRAM_SIZE];
+        for (int i = 0; i < ascending.length; i++) {
+            ascending[i] = i + 1;
+        }
+        scorecardRepository.apply(List.of(quoteDelta(ascending)), LocalDateTime.now());
+        scorecardRepository.apply(List.of(quoteDelta(ascending)), LocalDateTime.now());
+
+        long[] stored = scorecardRepository.findBySupplierId(SUPPLIER_ID).orElseThrow().getResponseHistogram();
+        assertEquals(SupplierScorecardService.HISTOGRAM_SIZE, stored.length);
+        for (int i = 0; i < stored.length; i++) {
+            assertEquals(2L * (i + 1), stored[i], "bucket " + i);
+        }
+    }
+
+    @Test
+    void negativeDeltasDecrementCounts() {
+        long[] empty = new long[SupplierScorecardService.HISTOGRAM_SIZE];
+        scorecardRepository.apply(List.of(new Delta(SUPPLIER_ID, 3, 0, 0, 0, 0, empty, 0, 0, 0)), LocalDateTime.now());
+        scorecardRepository.apply(List.of(new Delta(SUPPLIER_ID, -1, 0, 0, 0, 0, empty, 0, 0, 0)), LocalDateTime.now());
+
+        assertEquals(2, scorecardRepository.findBySupplierId(SUPPLIER_ID).orElseThrow().getInvitations());
+    }
+
+    // Histogram from (bucket, count) pairs
+    private static long[] histogram(int... bucketAndCount) {
+        long[] histogram = new long[SupplierScorecardService.HISTOGRAM_SIZE];
+        for (int i = 0; i < bucketAndCount.length; i += 2) {
+            histogram[bucketAndCount[i]] += bucketAndCount[i + 1];
+        }
+        return histogram;
+    }
+
+    private static Delta quoteDelta(long[] histogram) {
+        long samples = 0;
+        for (long count : histogram) {
+            samples += count;
+        }
+        return new Delta(SUPPLIER_ID, 0, 1, 0, samples > 0 ? 1 : 0, 0, histogram, 0, 0, 0);
+    }
+}
@@ -0,0 +1,92 @@
+package com.Timbua.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CanonicalMaterialMatcherTest {
+
+    private static final Long BUILDING_STONE = 1L;
+    private static final Long TIMBER = 2L;
+    private static final Long SAND = 3L;
+    private static final Long VENT_BLOCK = 4L;
+
+    private final CanonicalMaterialMatcher matcher = new CanonicalMaterialMatcher();
+
+    @BeforeEach
+    void setUp() {
+        matcher.add(BUILDING_STONE, List.of("Building stones", "Machine cut stones"));
+        matcher.add(TIMBER, List.of("Timber", "Wood"));
+        matcher.add(SAND, List.of("Sand", "Pit sand", "River sand"));
+        matcher.add(VENT_BLOCK, List.of("Vent blocks"));
+    }
+
+    @Test
+    void exactSynonymMatchesWithFullConfidence() {
+        CanonicalMaterialMatcher.Match match = matcher.match("Building Stones");
+
+        assertEquals(BUILDING_STONE, match.canonicalMaterialId());
+        assertEquals(1.0, match.confidence(), 1e-9);
+    }
+
+    @Test
+    void typoIsAbsorbedByEditDistance() {
+        CanonicalMaterialMatcher.Match match = matcher.match("Bulding stones");
+
+        assertEquals(BUILDING_STONE, match.canonicalMaterialId());
+        assertTrue(match.confidence() < 1);
+    }
+
+    @Test
+    void longestWindowWins() {
+        assertEquals(VENT_BLOCK, matcher.match("Cement building material - Vent blocks").canonicalMaterialId());
+        assertEquals(SAND, matcher.match("Sand (Pit Sand Soil").canonicalMaterialId());
+    }
+
+    @Test
+    void matchOnPartOfTheTextIsDiscounted() {
+        CanonicalMaterialMatcher.Match match = matcher.match("Tmber/wood");
+
+        assertEquals(TIMBER, match.canonicalMaterialId());
+        assertEquals("wood", match.synonym());
+        assertEquals(0.75, match.confidence(), 1e-9);
+    }
+
+    @Test
+    void shortWordsGetNoTypoAllowance() {
+        assertNull(matcher.match("band"));
+    }
+
+    @Test
+    void unrelatedAndBlankTextsMatchNothing() {
+        assertNull(matcher.match("roofing nails"));
+        assertNull(matcher.match("  "));
+        assertNull(matcher.match(null));
+    }
+
+    @Test
+    void phraseKeepsItsFirstOwner() {
+        matcher.add(99L, List.of("timber"));
+
+        assertEquals(TIMBER, matcher.match("timber").canonicalMaterialId());
+    }
+
+    @Test
+    void normaliseDropsAccentsStopWordsAndPlurals() {
+        assertEquals("machine cut stone", CanonicalMaterialMatcher.normalise("Machine-cut Stones"));
+        assertEquals("sand pit", CanonicalMaterialMatcher.normalise("Sand from the Pit"));
+        assertEquals("beton glass", CanonicalMaterialMatcher.normalise("B\u00e9ton & Glass"));
+    }
+
+    @Test
+    void levenshteinStopsPastTheLimit() {
+        assertEquals(1, CanonicalMaterialMatcher.levenshtein("tmber", "timber", 2));
+        assertEquals(3, CanonicalMaterialMatcher.levenshtein("cement", "gravel", 2));
+        assertEquals(3, CanonicalMaterialMatcher.levenshtein("ab", "abcdef", 2));
+    }
+}
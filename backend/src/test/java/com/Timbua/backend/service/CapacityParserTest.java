@@ -0,0 +1,81 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.service.CapacityParser.Range;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CapacityParserTest {
+
+    @Test
+    void volumeRangePerDay() {
+        assertEquals(new Range(150.0, 500.0, "units"), CapacityParser.parseDailyVolume("150-500 units per day"));
+    }
+
+    @Test
+    void volumeOverSeveralDaysIsNormalisedToOneDay() {
+        assertEquals(new Range(3.5, 3.5, "tonnes"), CapacityParser.parseDailyVolume("7 tonnes per 2 days"));
+    }
+
+    @Test
+    void volumePerWeekIsDividedBySeven() {
+        assertEquals(new Range(10.0, 10.0, "bags"), CapacityParser.parseDailyVolume("70 bags weekly"));
+    }
+
+    @Test
+    void volumeWithoutPeriodIsTakenAsPerDay() {
+        assertEquals(new Range(400.0, 400.0, "tonnes"), CapacityParser.parseDailyVolume("400 tons"));
+    }
+
+    @Test
+    void volumeInUnknownUnitKeepsTheNumbers() {
+        assertEquals(new Range(20.0, 30.0, null), CapacityParser.parseDailyVolume("20 to 30 wheelbarrows"));
+    }
+
+    @Test
+    void headcountSumsMenAndWomen() {
+        assertEquals(new Range(22.0, 60.0, "people"), CapacityParser.parseHeadcount("21-50 men. 1-10 women"));
+    }
+
+    @Test
+    void headcountOverIsOpenEnded() {
+        assertEquals(new Range(100.0, null, "people"), CapacityParser.parseHeadcount("Over 100 men"));
+    }
+
+    @Test
+    void yearsRangeAndSingleValue() {
+        assertEquals(new Range(5.0, 9.0, "years"), CapacityParser.parseYears("5-9 years"));
+        assertEquals(new Range(1.0, 1.0, "years"), CapacityParser.parseYears("1 year"));
+    }
+
+    @Test
+    void yearsOverIsOpenEnded() {
+        assertEquals(new Range(50.0, null, "years"), CapacityParser.parseYears("Over 50 years"));
+    }
+
+    @Test
+    void monthsAreRoundedDownToYears() {
+        assertEquals(new Range(1.0, 1.0, "years"), CapacityParser.parseYears("18 months"));
+    }
+
+    @Test
+    void reversedRangeIsOrdered() {
+        assertEquals(new Range(5.0, 9.0, "years"), CapacityParser.parseYears("9-5 years"));
+    }
+
+    @Test
+    void unreadableAnswersGiveNull() {
+        assertNull(CapacityParser.parseDailyVolume("depends on orders"));
+        assertNull(CapacityParser.parseHeadcount(""));
+        assertNull(CapacityParser.parseYears(null));
+    }
+
+    @Test
+    void volumeUnitAliasesAreCanonical() {
+        assertEquals("tonnes", CapacityParser.normaliseVolumeUnit(" Tons "));
+        assertEquals("lorries", CapacityParser.normaliseVolumeUnit("truck"));
+        assertEquals("crates", CapacityParser.normaliseVolumeUnit("crates"));
+        assertNull(CapacityParser.normaliseVolumeUnit(" "));
+    }
+}
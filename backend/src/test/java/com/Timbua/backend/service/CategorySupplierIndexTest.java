@@ -0,0 +1,80 @@
+package com.Timbua.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CategorySupplierIndexTest {
+
+    private final CategorySupplierIndex index = new CategorySupplierIndex();
+
+    @Test
+    void suppliersArePagedInIdOrder() {
+        index.put(1L, "Cement", 30L);
+        index.put(2L, "Cement", 10L);
+        index.put(3L, "Cement", 20L);
+
+        assertEquals(List.of(10L, 20L), index.supplierIds("Cement", 0, 2));
+        assertEquals(List.of(30L), index.supplierIds("Cement", 2, 2));
+        assertEquals(List.of(), index.supplierIds("Cement", 3, 2));
+        assertEquals(3, index.supplierCount("Cement"));
+    }
+
+    @Test
+    void categoriesMatchCaseInsensitively() {
+        index.put(1L, " Cement ", 10L);
+
+        assertEquals(List.of(10L), index.supplierIds("CEMENT", 0, 10));
+    }
+
+    @Test
+    void supplierStaysUntilItsLastListingIsRemoved() {
+        index.put(1L, "Cement", 10L);
+        index.put(2L, "Cement", 10L);
+
+        index.remove(1L);
+        assertEquals(List.of(10L), index.supplierIds("Cement", 0, 10));
+
+        index.remove(2L);
+        assertEquals(List.of(), index.supplierIds("Cement", 0, 10));
+        assertEquals(0, index.supplierCount("Cement"));
+    }
+
+    @Test
+    void changingTheCategoryMovesTheListing() {
+        index.put(1L, "Cement", 10L);
+        index.put(1L, "Steel", 10L);
+
+        assertEquals(0, index.supplierCount("Cement"));
+        assertEquals(List.of(10L), index.supplierIds("Steel", 0, 10));
+    }
+
+    @Test
+    void changingTheSupplierMovesTheListing() {
+        index.put(1L, "Cement", 10L);
+        index.put(1L, "Cement", 20L);
+
+        assertEquals(List.of(20L), index.supplierIds("Cement", 0, 10));
+    }
+
+    @Test
+    void listingsWithoutCategoryOrSupplierAreNotIndexed() {
+        index.put(1L, " ", 10L);
+        index.put(2L, "Cement", null);
+
+        assertEquals(0, index.supplierCount("Cement"));
+        assertEquals(List.of(), index.supplierIds(null, 0, 10));
+        index.remove(1L);
+        index.remove(99L);
+    }
+
+    @Test
+    void clearEmptiesTheIndex() {
+        index.put(1L, "Cement", 10L);
+        index.clear();
+
+        assertEquals(0, index.supplierCount("Cement"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.model.Material;
+import com.Timbua.backend.model.Supplier;
+import com.Timbua.backend.repository.MaterialRepository;
+import com.Timbua.backend.service.MaterialCatalogIndexService.MatchedListing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The canonical and word indexes behind recommendations, kept up to date by the save and
+ * delete callbacks. Outside a transaction the callbacks run immediately, and they only
+ * touch indexes that are already loaded, so each test reads once before changing anything.
+ */
+class MaterialCatalogIndexServiceTest {
+
+    private static final Long CEMENT = 7L;
+    private static final Long STEEL = 8L;
+
+    private final List<Material> table = new ArrayList<>();
+    private MaterialCatalogIndexService indexService;
+
+    @BeforeEach
+    void setUp() {
+        MaterialRepository materialRepository = mock(MaterialRepository.class);
+        when(materialRepository.findAllWithSupplier()).thenReturn(table);
+        indexService = new MaterialCatalogIndexService(materialRepository);
+
+        table.add(material(1L, 10L, "Portland Cement", "Cement", CEMENT, true));
+        table.add(material(2L, 20L, "Bamburi cement bags", "Building", null, true));
+        table.add(material(3L, 30L, "Steel bars", "Steel", STEEL, true));
+    }
+
+    @Test
+    void canonicalAndWordIndexesAreBothSearched() {
+        List<MatchedListing> listings = find(CEMENT, "cement");
+
+        assertEquals(List.of(1L, 2L), materialIds(listings));
+        assertTrue(listings.get(0).canonicalMatch());
+        assertFalse(listings.get(1).canonicalMatch());
+        assertEquals(Set.of("bamburi", "cement", "bags", "building"), listings.get(1).words());
+    }
+
+    @Test
+    void unavailableListingsAreNotCandidates() {
+        find(CEMENT, "cement");
+        indexService.onMaterialSaved(material(2L, 20L, "Bamburi cement bags", "Building", null, false));
+
+        assertEquals(List.of(1L), materialIds(find(CEMENT, "cement")));
+    }
+
+    @Test
+    void updateReplacesTheOldKeys() {
+        find(CEMENT, "cement");
+        indexService.onMaterialSaved(material(1L, 10L, "Mild steel rods", "Steel", STEEL, true));
+
+        assertEquals(List.of(2L), materialIds(find(CEMENT, "portland", "cement")));
+        assertEquals(List.of(1L, 3L), materialIds(find(STEEL)));
+        assertEquals(List.of(1L), materialIds(find(null, "rods")));
+    }
+
+    @Test
+    void deletedListingIsGoneFromEveryIndex() {
+        find(CEMENT, "cement");
+        indexService.onMaterialDeleted(1L);
+
+        assertEquals(List.of(), materialIds(find(CEMENT, "portland")));
+        assertEquals(List.of(2L), materialIds(find(CEMENT, "cement")));
+        assertEquals(0, indexService.findSuppliersByCategory("Cement", 0, 10).total());
+    }
+
+    @Test
+    void deletedSupplierTakesItsListingsAlong() {
+        find(CEMENT, "cement");
+        indexService.onMaterialSaved(material(4L, 30L, "Rapid set cement", "Cement", CEMENT, true));
+        indexService.onSupplierDeleted(30L);
+
+        assertEquals(List.of(1L, 2L), materialIds(find(CEMENT, "cement")));
+        assertEquals(List.of(), materialIds(find(STEEL, "steel")));
+    }
+
+    @Test
+    void refreshRebuildsFromTheTable() {
+        find(CEMENT, "cement");
+        table.remove(0);
+        indexService.refreshIndexes();
+
+        assertEquals(List.of(2L), materialIds(find(CEMENT, "cement")));
+    }
+
+    @Test
+    void categoryIndexFollowsTheSameCallbacks() {
+        find(CEMENT);
+        indexService.onMaterialSaved(material(5L, 40L, "White cement", "cement", null, true));
+
+        assertEquals(List.of(10L, 40L), indexService.findSuppliersByCategory("CEMENT", 0, 10).supplierIds());
+    }
+
+    private List<MatchedListing> find(Long canonicalMaterialId, String... words) {
+        List<MatchedListing> listings = new ArrayList<>(indexService.findMatchingListings(canonicalMaterialId, Set.of(words)));
+        listings.sort(Comparator.comparing(MatchedListing::materialId));
+        return listings;
+    }
+
+    private static List<Long> materialIds(List<MatchedListing> listings) {
+        return listings.stream().map(MatchedListing::materialId).toList();
+    }
+
+    private static Material material(Long id, Long supplierId, String name, String category, Long canonicalId,
+                                     boolean available) {
+        Supplier supplier = new Supplier();
+        supplier.setId(supplierId);
+        Material material = new Material();
+        material.setId(id);
+        material.setName(name);
+        material.setCategory(category);
+        material.setCanonicalMaterialId(canonicalId);
+        material.setAvailable(available);
+        material.setPrice(100);
+        material.setCurrency("KES");
+        material.setUnit("bag");
+        material.setSupplier(supplier);
+        return material;
+    }
+}
@@ -0,0 +1,167 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.model.Material;
+import com.Timbua.backend.model.Supplier;
+import com.Timbua.backend.repository.MaterialPriceHistoryRepository;
+import com.Timbua.backend.repository.MaterialPriceHistoryRepository.DailyRollup;
+import com.Timbua.backend.repository.MaterialPriceHistoryRepository.PriceRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class MaterialPriceHistoryServiceTest {
+
+    private MaterialPriceHistoryRepository repository;
+    private MaterialPriceHistoryService service;
+    private TaskScheduler taskScheduler;
+    // Copies of what was written; the service reuses its batch list after each write
+    private final List<List<PriceRecord>> inserted = new ArrayList<>();
+    private final List<List<DailyRollup>> upserted = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(MaterialPriceHistoryRepository.class);
+        doAnswer(invocation -> inserted.add(new ArrayList<>(invocation.<List<PriceRecord>>getArgument(0))))
+                .when(repository).insertAll(anyList());
+        doAnswer(invocation -> upserted.add(new ArrayList<>(invocation.<List<DailyRollup>>getArgument(0))))
+                .when(repository).upsertDaily(anyList());
+        taskScheduler = mock(TaskScheduler.class);
+        service = new MaterialPriceHistoryService(repository, mock(PlatformTransactionManager.class), taskScheduler);
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void flushWritesRecordsAndDailyRollups() {
+        service.recordPrices(List.of(
+                material(1L, "Cement", "Nairobi", 700, "kes"),
+                material(2L, " cement", "NAIROBI ", 900, "KES"),
+                material(3L, "Steel", null, 120, "usd")));
+
+        service.flush();
+
+        assertEquals(1, inserted.size());
+        assertEquals(List.of(1L, 2L, 3L), inserted.get(0).stream().map(PriceRecord::materialId).toList());
+        List<DailyRollup> rollups = new ArrayList<>(upserted.get(0));
+        rollups.sort(Comparator.comparing(DailyRollup::category));
+        LocalDate today = LocalDate.now();
+        assertEquals(List.of(
+                new DailyRollup(today, "cement", "nairobi", "KES", 2, 1600, 700, 900),
+                new DailyRollup(today, "steel", "", "USD", 1, 120, 120, 120)), rollups);
+    }
+
+    @Test
+    void pricesAreOnlyQueuedOnceTheTransactionCommits() {
+        TransactionSynchronizationManager.initSynchronization();
+        service.recordPrice(material(1L, "Cement", "Nairobi", 700, "KES"));
+
+        service.flush();
+        assertEquals(0, inserted.size());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        service.flush();
+        assertEquals(1, inserted.size());
+    }
+
+    @Test
+    void failedBatchIsRetriedOnTheNextFlush() {
+        doThrow(new DataAccessResourceFailureException("down"))
+                .doAnswer(invocation -> inserted.add(new ArrayList<>(invocation.<List<PriceRecord>>getArgument(0))))
+                .when(repository).insertAll(anyList());
+        service.recordPrice(material(1L, "Cement", "Nairobi", 700, "KES"));
+
+        service.flush();
+        assertEquals(0, inserted.size());
+
+        service.flush();
+        assertEquals(1, inserted.size());
+        assertEquals(1L, inserted.get(0).get(0).materialId());
+    }
+
+    @Test
+    void batchIsDroppedAfterRepeatedFailures() {
+        doThrow(new DataAccessResourceFailureException("down")).when(repository).insertAll(anyList());
+        service.recordPrice(material(1L, "Cement", "Nairobi", 700, "KES"));
+
+        for (int i = 0; i < 5; i++) {
+            service.flush();
+        }
+
+        verify(repository, times(3)).insertAll(anyList());
+    }
+
+    @Test
+    void fullQueueSchedulesOneFlushAndDropsTheOverflow() {
+        List<Material> materials = new ArrayList<>();
+        for (long id = 0; id < 10_005; id++) {
+            materials.add(material(id, "Cement", "Nairobi", 700, "KES"));
+        }
+
+        service.recordPrices(materials);
+
+        verify(repository, never()).insertAll(anyList());
+        verify(taskScheduler, times(1)).schedule(any(Runnable.class), any(Instant.class));
+        assertEquals(5L, service.getDroppedCount());
+    }
+
+    @Test
+    void historyDefaultsToTheLastNinetyDays() {
+        LocalDate to = LocalDate.of(2026, 3, 31);
+
+        service.getPriceHistory(1L, "weekly", null, to);
+
+        verify(repository).findMaterialSeries(eq(1L), eq("week"), eq(LocalDate.of(2026, 1, 1)), eq(LocalDate.of(2026, 4, 1)));
+    }
+
+    @Test
+    void invalidRangesAndBucketsAreRejected() {
+        LocalDate to = LocalDate.of(2026, 3, 31);
+
+        assertThrows(IllegalArgumentException.class, () -> service.getPriceHistory(1L, "month", null, to));
+        assertThrows(IllegalArgumentException.class, () -> service.getPriceHistory(1L, "day", to.plusDays(1), to));
+        assertThrows(IllegalArgumentException.class, () -> service.getPriceHistory(1L, "day", to.minusYears(3), to));
+        assertThrows(IllegalArgumentException.class, () -> service.getPriceTrend(" ", null, null, "day", null, to));
+    }
+
+    private static Material material(Long id, String category, String county, double price, String currency) {
+        Supplier supplier = new Supplier();
+        supplier.setId(10L);
+        Material material = new Material();
+        material.setId(id);
+        material.setCategory(category);
+        material.setLocation(county);
+        material.setPrice(price);
+        material.setCurrency(currency);
+        material.setSupplier(supplier);
+        return material;
+    }
+}
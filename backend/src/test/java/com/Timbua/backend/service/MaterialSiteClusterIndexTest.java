@@ -0,0 +1,65 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.MaterialSiteClusterDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MaterialSiteClusterIndexTest {
+
+    @Test
+    void nearbySitesClusterWhenZoomedOut() {
+        MaterialSiteClusterIndex index = new MaterialSiteClusterIndex();
+        index.put(1L, -1.29, 36.82, "Sand");
+        index.put(2L, -1.30, 36.83, "Sand");
+        index.put(3L, -1.31, 36.84, "Cement");
+
+        List<MaterialSiteClusterDTO> clusters = index.clusters(-5, 30, 5, 40, 3);
+        assertEquals(1, clusters.size());
+        assertEquals(3, clusters.get(0).getCount());
+        assertEquals("Sand", clusters.get(0).getDominantMaterial());
+        assertNull(clusters.get(0).getSiteId());
+    }
+
+    @Test
+    void singleSiteClusterCarriesTheSiteId() {
+        MaterialSiteClusterIndex index = new MaterialSiteClusterIndex();
+        index.put(7L, -1.29, 36.82, "Sand");
+
+        List<MaterialSiteClusterDTO> clusters = index.clusters(-2, 36, -1, 37, 12);
+        assertEquals(1, clusters.size());
+        assertEquals(Long.valueOf(7L), clusters.get(0).getSiteId());
+    }
+
+    @Test
+    void removedSitesLeaveTheirClusters() {
+        MaterialSiteClusterIndex index = new MaterialSiteClusterIndex();
+        index.put(1L, -1.29, 36.82, "Sand");
+        index.put(2L, -1.30, 36.83, "Cement");
+        index.remove(1L);
+
+        List<MaterialSiteClusterDTO> clusters = index.clusters(-5, 30, 5, 40, 3);
+        assertEquals(1, clusters.size());
+        assertEquals(Long.valueOf(2L), clusters.get(0).getSiteId());
+        assertEquals("Cement", clusters.get(0).getDominantMaterial());
+    }
+
+    @Test
+    void aWorldBoxAtMaxZoomIsClusteredCoarser() {
+        MaterialSiteClusterIndex index = new MaterialSiteClusterIndex();
+        Random random = new Random(1);
+        int sites = 20_000;
+        for (long id = 0; id < sites; id++) {
+            index.put(id, (random.nextDouble() - 0.5) * 170, (random.nextDouble() - 0.5) * 350, "Sand");
+        }
+
+        List<MaterialSiteClusterDTO> clusters = index.clusters(-90, -180, 90, 180, MaterialSiteClusterIndex.MAX_ZOOM);
+        assertTrue(clusters.size() <= MaterialSiteClusterIndex.MAX_CELLS_IN_VIEW);
+        assertEquals(sites, clusters.stream().mapToInt(MaterialSiteClusterDTO::getCount).sum());
+    }
+}
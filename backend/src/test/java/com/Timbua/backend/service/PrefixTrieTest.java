@@ -0,0 +1,140 @@
+package com.Timbua.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrefixTrieTest {
+
+    @Test
+    void completesFromTheStartOfAnyWord() {
+        PrefixTrie trie = new PrefixTrie(10);
+        trie.adjust("Building stones", 1);
+        trie.adjust("Stone dust", 1);
+
+        assertEquals(List.of("Building stones", "Stone dust"), values(trie.complete("sto", 10)));
+        assertEquals(List.of("Building stones"), values(trie.complete("bui", 10)));
+    }
+
+    @Test
+    void heavierValuesComeFirstThenAlphabetical() {
+        PrefixTrie trie = new PrefixTrie(10);
+        trie.adjust("Sand", 1);
+        trie.adjust("Sandstone", 3);
+        trie.adjust("Sand paper", 1);
+
+        assertEquals(List.of(new PrefixTrie.Completion("Sandstone", 3), new PrefixTrie.Completion("Sand", 1),
+                new PrefixTrie.Completion("Sand paper", 1)), trie.complete("san", 10));
+    }
+
+    @Test
+    void trailingSpaceEndsTheWord() {
+        PrefixTrie trie = new PrefixTrie(10);
+        trie.adjust("Sand paper", 1);
+        trie.adjust("Sandstone", 1);
+
+        assertEquals(List.of("Sand paper"), values(trie.complete("sand ", 10)));
+    }
+
+    @Test
+    void caseAccentsAndPunctuationAreFolded() {
+        PrefixTrie trie = new PrefixTrie(10);
+        trie.adjust("Mur'ang\u00e1 County", 1);
+
+        assertEquals(List.of("Mur'ang\u00e1 County"), values(trie.complete("MUR ANGA", 10)));
+    }
+
+    @Test
+    void valueIsDroppedOnceItsWeightReachesZero() {
+        PrefixTrie trie = new PrefixTrie(10);
+        trie.adjust("Timber", 2);
+        trie.adjust("timber ", -1);
+        assertEquals(List.of(new PrefixTrie.Completion("Timber", 1)), trie.complete("tim", 10));
+
+        trie.adjust("Timber", -1);
+        assertEquals(List.of(), trie.complete("tim", 10));
+        assertEquals(0, trie.size());
+        trie.adjust("Timber", -1);
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void valueRepeatingAWordIsListedOnce() {
+        PrefixTrie trie = new PrefixTrie(10);
+        trie.adjust("Sand and sand", 1);
+
+        assertEquals(List.of("Sand and sand"), values(trie.complete("s", 10)));
+    }
+
+    @Test
+    void clearEmptiesTheTrie() {
+        PrefixTrie trie = new PrefixTrie(10);
+        trie.adjust("Timber", 1);
+        trie.clear();
+
+        assertEquals(0, trie.size());
+        assertEquals(List.of(), trie.complete("t", 10));
+    }
+
+    @Test
+    void randomAdjustmentsMatchBruteForce() {
+        String[] vocabulary = {"Sand", "River sand", "Sandstone", "Stone dust", "Building stones", "Ballast",
+                "Bamboo", "Blocks", "Vent blocks", "Timber", "Treated timber", "Tiles", "Steel bars", "Steel"};
+        String[] prefixes = {"", "s", "sa", "sand", "sand ", "st", "ston", "b", "bl", "t", "ti", "tr", "x", "steel b"};
+        int maxCompletions = 4;
+        PrefixTrie trie = new PrefixTrie(maxCompletions);
+        Map<String, Integer> weights = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int step = 0; step < 2_000; step++) {
+            String value = vocabulary[random.nextInt(vocabulary.length)];
+            int delta = random.nextInt(5) - 2;
+            trie.adjust(value, delta);
+            int weight = weights.getOrDefault(value, 0);
+            if (weight > 0 || delta > 0) {
+                weight += delta;
+                if (weight > 0) {
+                    weights.put(value, weight);
+                } else {
+                    weights.remove(value);
+                }
+            }
+
+            if (step % 50 == 0) {
+                assertEquals(weights.size(), trie.size());
+                for (String prefix : prefixes) {
+                    assertEquals(bruteForce(weights, prefix, maxCompletions), trie.complete(prefix, maxCompletions),
+                            "prefix '" + prefix + "' at step " + step);
+                }
+            }
+        }
+    }
+
+    private static List<PrefixTrie.Completion> bruteForce(Map<String, Integer> weights, String prefix, int limit) {
+        String key = PrefixTrie.normalise(prefix, true);
+        List<PrefixTrie.Completion> matches = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            String value = PrefixTrie.normalise(entry.getKey(), false);
+            for (int start = 0; start < value.length(); start++) {
+                if ((start == 0 || value.charAt(start - 1) == ' ') && value.startsWith(key, start)) {
+                    matches.add(new PrefixTrie.Completion(entry.getKey(), entry.getValue()));
+                    break;
+                }
+            }
+        }
+        matches.sort(Comparator.comparingInt((PrefixTrie.Completion completion) -> -completion.weight())
+                .thenComparing(completion -> PrefixTrie.normalise(completion.value(), false)));
+        return matches.subList(0, Math.min(limit, matches.size()));
+    }
+
+    private static List<String> values(List<PrefixTrie.Completion> completions) {
+        return completions.stream().map(PrefixTrie.Completion::value).toList();
+    }
+}
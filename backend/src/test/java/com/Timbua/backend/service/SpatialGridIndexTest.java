@@ -0,0 +1,157 @@
+package com.Timbua.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpatialGridIndexTest {
+
+    // Nairobi
+    private static final double LAT = -1.2921;
+    private static final double LNG = 36.8219;
+
+    @Test
+    void nearestMatchesBruteForce() {
+        SpatialGridIndex<Long> index = new SpatialGridIndex<>(0.1);
+        Map<Long, double[]> points = randomPoints(index, 500, new Random(1));
+
+        for (int k : new int[] {1, 5, 50}) {
+            List<SpatialGridIndex.Neighbour<Long>> nearest = index.nearest(LAT, LNG, k, null);
+            assertEquals(bruteForce(points, LAT, LNG).subList(0, k), values(nearest));
+        }
+    }
+
+    @Test
+    void nearestSearchesPastEmptyRings() {
+        SpatialGridIndex<Long> index = new SpatialGridIndex<>(0.01);
+        index.put(1L, 4.0, 40.0, 1L);
+
+        assertEquals(List.of(1L), values(index.nearest(LAT, LNG, 3, null)));
+    }
+
+    @Test
+    void nearestAppliesTheFilter() {
+        SpatialGridIndex<Long> index = new SpatialGridIndex<>(0.1);
+        index.put(1L, LAT, LNG, 1L);
+        index.put(2L, LAT + 0.5, LNG, 2L);
+
+        assertEquals(List.of(2L), values(index.nearest(LAT, LNG, 1, id -> id % 2 == 0)));
+    }
+
+    @Test
+    void nearestFromFarAwayScansThePopulatedCells() {
+        SpatialGridIndex<Long> index = new SpatialGridIndex<>(0.01);
+        index.put(1L, LAT, LNG, 1L);
+        index.put(2L, LAT + 0.5, LNG, 2L);
+
+        // Walking rings out to Nairobi from here would take over ten thousand rings
+        long started = System.nanoTime();
+        assertEquals(List.of(2L, 1L), values(index.nearest(50.0, -100.0, 5, null)));
+        assertTrue(System.nanoTime() - started < 1_000_000_000L);
+    }
+
+    @Test
+    void nearestWithAFilteredGridMatchesBruteForce() {
+        SpatialGridIndex<Long> index = new SpatialGridIndex<>(0.05);
+        Map<Long, double[]> points = randomPoints(index, 500, new Random(2));
+        Map<Long, double[]> matching = new HashMap<>();
+        points.forEach((id, point) -> {
+            if (id % 7 == 0) {
+                matching.put(id, point);
+            }
+        });
+
+        List<SpatialGridIndex.Neighbour<Long>> nearest = index.nearest(LAT, LNG, 10, id -> id % 7 == 0);
+        assertEquals(bruteForce(matching, LAT, LNG).subList(0, 10), values(nearest));
+    }
+
+    @Test
+    void withinRadiusMatchesBruteForce() {
+        SpatialGridIndex<Long> index = new SpatialGridIndex<>(0.1);
+        Map<Long, double[]> points = randomPoints(index, 500, new Random(2));
+
+        for (double radiusKm : new double[] {5, 50, 400}) {
+            List<Long> expected = new ArrayList<>();
+            for (Long id : bruteForce(points, LAT, LNG)) {
+                double[] point = points.get(id);
+                if (GeoUtils.haversineKm(LAT, LNG, point[0], point[1]) <= radiusKm) {
+                    expected.add(id);
+                }
+            }
+            List<SpatialGridIndex.Neighbour<Long>> found = index.withinRadius(LAT, LNG, radiusKm, null);
+            assertEquals(expected, values(found));
+            found.forEach(neighbour -> assertTrue(neighbour.distanceKm() <= radiusKm));
+        }
+    }
+
+    @Test
+    void putReplacesThePointOfAnExistingId() {
+        SpatialGridIndex<Long> index = new SpatialGridIndex<>(0.1);
+        index.put(1L, LAT, LNG, 1L);
+        index.put(1L, LAT + 2, LNG + 2, 1L);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(), index.withinRadius(LAT, LNG, 10, null));
+        assertEquals(List.of(1L), values(index.withinRadius(LAT + 2, LNG + 2, 10, null)));
+    }
+
+    @Test
+    void removedPointsAreNotFound() {
+        SpatialGridIndex<Long> index = new SpatialGridIndex<>(0.1);
+        Map<Long, double[]> points = randomPoints(index, 200, new Random(3));
+        for (long id = 0; id < 200; id += 2) {
+            index.remove(id);
+            points.remove(id);
+        }
+        index.remove(10_000L);
+
+        assertEquals(100, index.size());
+        assertEquals(bruteForce(points, LAT, LNG).subList(0, 20), values(index.nearest(LAT, LNG, 20, null)));
+    }
+
+    @Test
+    void clearEmptiesTheIndex() {
+        SpatialGridIndex<Long> index = new SpatialGridIndex<>(0.1);
+        randomPoints(index, 50, new Random(4));
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertEquals(List.of(), index.nearest(LAT, LNG, 5, null));
+    }
+
+    @Test
+    void cellSizeMustBePositive() {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialGridIndex<Long>(0));
+    }
+
+    // Points within about two degrees of the query point, value = id
+    private static Map<Long, double[]> randomPoints(SpatialGridIndex<Long> index, int count, Random random) {
+        Map<Long, double[]> points = new HashMap<>();
+        for (long id = 0; id < count; id++) {
+            double lat = LAT + (random.nextDouble() - 0.5) * 4;
+            double lng = LNG + (random.nextDouble() - 0.5) * 4;
+            index.put(id, lat, lng, id);
+            points.put(id, new double[] {lat, lng});
+        }
+        return points;
+    }
+
+    private static List<Long> bruteForce(Map<Long, double[]> points, double lat, double lng) {
+        List<Long> ids = new ArrayList<>(points.keySet());
+        ids.sort(Comparator.comparingDouble(id -> GeoUtils.haversineKm(lat, lng, points.get(id)[0], points.get(id)[1])));
+        return ids;
+    }
+
+    private static List<Long> values(List<SpatialGridIndex.Neighbour<Long>> neighbours) {
+        return neighbours.stream().map(SpatialGridIndex.Neighbour::value).toList();
+    }
+}
@@ -0,0 +1,116 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.PostgresIntegrationTest;
+import com.Timbua.backend.dto.PagedResponseDTO;
+import com.Timbua.backend.dto.SupplierResponseDTO;
+import com.Timbua.backend.model.Material;
+import com.Timbua.backend.model.Supplier;
+import com.Timbua.backend.repository.MaterialRepository;
+import com.Timbua.backend.repository.SupplierRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A page of suppliers by material category is served from the category index plus one IN
+ * query, so its statement count must not grow with the number of suppliers in the category.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SupplierCategoryPageQueryCountTest extends PostgresIntegrationTest {
+
+    private static final String CATEGORY = "Query Count Timber";
+    private static final int PAGE_SIZE = 20;
+    private static final int SUPPLIERS = 20;
+
+    // findAllById of the suppliers on the page
+    private static final long STATEMENTS_PER_PAGE = 1;
+
+    @Autowired
+    private SupplierService supplierService;
+
+    @Autowired
+    private MaterialCatalogIndexService catalogIndexService;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private MaterialRepository materialRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final List<Long> seededSupplierIds = new ArrayList<>();
+    private final List<Long> seededMaterialIds = new ArrayList<>();
+
+    // The context and its database are shared with other test classes
+    @AfterEach
+    void deleteSeededRows() {
+        materialRepository.deleteAllById(seededMaterialIds);
+        supplierRepository.deleteAllById(seededSupplierIds);
+        catalogIndexService.refreshIndexes();
+    }
+
+    @Test
+    void pageCostsTheSameStatementsForTenTimesTheSuppliers() {
+        seedSuppliers(0, SUPPLIERS);
+        long small = statementsForFirstPage();
+
+        seedSuppliers(SUPPLIERS, SUPPLIERS * 10);
+        long large = statementsForFirstPage();
+
+        assertEquals(STATEMENTS_PER_PAGE, small);
+        assertEquals(small, large);
+    }
+
+    private long statementsForFirstPage() {
+        catalogIndexService.refreshIndexes();
+        // Warm-up loads the indexes, which is paid once and not per page
+        supplierService.getSuppliersByMaterialCategory(CATEGORY, 0, PAGE_SIZE);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        PagedResponseDTO<SupplierResponseDTO> page = supplierService.getSuppliersByMaterialCategory(CATEGORY, 0, PAGE_SIZE);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(PAGE_SIZE, page.getContent().size());
+        return statements;
+    }
+
+    // Suppliers from (inclusive) to (exclusive), each with two available listings in CATEGORY
+    private void seedSuppliers(int from, int to) {
+        List<Supplier> suppliers = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            Supplier supplier = new Supplier();
+            supplier.setCompanyName("Query Count Supplier " + i);
+            supplier.setBusinessRegistrationNumber("QC-" + i);
+            supplier.setEmail("query-count-" + i + "@example.com");
+            suppliers.add(supplier);
+        }
+        List<Material> materials = new ArrayList<>();
+        for (Supplier supplier : supplierRepository.saveAll(suppliers)) {
+            seededSupplierIds.add(supplier.getId());
+            for (int j = 0; j < 2; j++) {
+                Material material = new Material();
+                material.setName("Cypress plank " + j);
+                material.setCategory(CATEGORY);
+                material.setPrice(1_000 + j);
+                material.setCurrency("KES");
+                material.setUnit("piece");
+                material.setAvailable(true);
+                material.setSupplier(supplier);
+                materials.add(material);
+            }
+        }
+        materialRepository.saveAll(materials).forEach(material -> seededMaterialIds.add(material.getId()));
+    }
+}
@@ -0,0 +1,143 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.dto.SupplierRecommendationDTO;
+import com.Timbua.backend.model.Supplier;
+import com.Timbua.backend.repository.ConstructionSiteRepository;
+import com.Timbua.backend.repository.SupplierRepository;
+import com.Timbua.backend.service.MaterialCatalogIndexService.MatchedListing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SupplierRecommendationServiceTest {
+
+    private static final Set<String> CEMENT_WORDS = Set.of("portland", "cement");
+
+    private final List<MatchedListing> listings = new ArrayList<>();
+    private final Map<Long, Supplier.Status> statusBySupplier = new HashMap<>();
+    private SupplierRecommendationService recommendationService;
+    private ConstructionSiteRepository siteRepository;
+
+    @BeforeEach
+    void setUp() {
+        MaterialCatalogIndexService catalogIndexService = mock(MaterialCatalogIndexService.class);
+        CanonicalMaterialService canonicalMaterialService = mock(CanonicalMaterialService.class);
+        SupplierScorecardService scorecardService = mock(SupplierScorecardService.class);
+        SupplierRepository supplierRepository = mock(SupplierRepository.class);
+        siteRepository = mock(ConstructionSiteRepository.class);
+
+        when(canonicalMaterialService.matchId("portland cement")).thenReturn(7L);
+        when(catalogIndexService.findMatchingListings(any(), any())).thenReturn(listings);
+        when(scorecardService.getWinRates(anyCollection())).thenAnswer(invocation -> {
+            Map<Long, Double> rates = new HashMap<>();
+            for (Object supplierId : invocation.<Collection<?>>getArgument(0)) {
+                rates.put((Long) supplierId, 0.25);
+            }
+            return rates;
+        });
+        when(supplierRepository.findRecommendationInfo(anyCollection())).thenAnswer(invocation -> {
+            List<Object[]> rows = new ArrayList<>();
+            for (Object supplierId : invocation.<Collection<?>>getArgument(0)) {
+                Supplier.Status status = statusBySupplier.getOrDefault(supplierId, Supplier.Status.VERIFIED);
+                rows.add(new Object[] {supplierId, "Supplier " + supplierId, status, true});
+            }
+            return rows;
+        });
+
+        recommendationService = new SupplierRecommendationService(catalogIndexService, canonicalMaterialService,
+                scorecardService, siteRepository, supplierRepository);
+    }
+
+    @Test
+    void cheaperListingRanksFirstWhenEverythingElseIsEqual() {
+        listings.add(cement(1L, 2L, "bag", 900, "KES"));
+        listings.add(cement(2L, 1L, "bag", 700, "KES"));
+
+        List<SupplierRecommendationDTO> ranked = recommend("bag");
+
+        assertEquals(List.of(1L, 2L), supplierIds(ranked));
+        assertEquals(1.0, ranked.get(0).getPriceScore(), 1e-9);
+        assertEquals(0.0, ranked.get(1).getPriceScore(), 1e-9);
+    }
+
+    @Test
+    void listingInAnotherCurrencyGetsNeutralPriceScore() {
+        listings.add(cement(1L, 1L, "bag", 700, "KES"));
+        listings.add(cement(2L, 2L, "BAGS", 900, "kes"));
+        // Numerically cheapest, but dollars cannot be ranked against shillings
+        listings.add(cement(3L, 3L, "bag", 10, "USD"));
+
+        List<SupplierRecommendationDTO> ranked = recommend("bag");
+
+        assertEquals(List.of(1L, 3L, 2L), supplierIds(ranked));
+        assertEquals(0.5, ranked.get(1).getPriceScore(), 1e-9);
+    }
+
+    @Test
+    void listingInAnotherUnitRanksBelowMatchingUnit() {
+        listings.add(cement(1L, 1L, "tonne", 100, "KES"));
+        listings.add(cement(2L, 2L, "bag", 900, "KES"));
+
+        assertEquals(List.of(2L, 1L), supplierIds(recommend("bag")));
+    }
+
+    @Test
+    void supplierIsRankedByItsBestListing() {
+        listings.add(cement(1L, 1L, "bag", 900, "KES"));
+        listings.add(cement(2L, 1L, "bag", 600, "KES"));
+        listings.add(cement(3L, 2L, "bag", 700, "KES"));
+
+        List<SupplierRecommendationDTO> ranked = recommend("bag");
+
+        assertEquals(List.of(1L, 2L), supplierIds(ranked));
+        assertEquals(2L, ranked.get(0).getMaterialId());
+    }
+
+    @Test
+    void suspendedSuppliersAreSkipped() {
+        listings.add(cement(1L, 1L, "bag", 600, "KES"));
+        listings.add(cement(2L, 2L, "bag", 900, "KES"));
+        statusBySupplier.put(1L, Supplier.Status.SUSPENDED);
+
+        List<SupplierRecommendationDTO> ranked = recommend("bag");
+
+        assertEquals(List.of(2L), supplierIds(ranked));
+        assertEquals(1, ranked.get(0).getRank());
+    }
+
+    @Test
+    void missingSiteIsReportedAsNotFound() {
+        when(siteRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(SupplierRecommendationService.SiteNotFoundException.class,
+                () -> recommendationService.recommendSuppliers("portland cement", null, "bag", 99L, 10));
+    }
+
+    private List<SupplierRecommendationDTO> recommend(String unit) {
+        return recommendationService.recommendSuppliers("portland cement", null, unit, null, 10);
+    }
+
+    private static MatchedListing cement(Long materialId, Long supplierId, String unit, double price, String currency) {
+        return new MatchedListing(materialId, supplierId, "Portland Cement", "Cement", unit, price, currency, 4.5,
+                null, null, null, true, CEMENT_WORDS);
+    }
+
+    private static List<Long> supplierIds(List<SupplierRecommendationDTO> ranked) {
+        return ranked.stream().map(SupplierRecommendationDTO::getSupplierId).toList();
+    }
+}
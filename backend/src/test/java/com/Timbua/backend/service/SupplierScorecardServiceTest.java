@@ -0,0 +1,146 @@
+package com.Timbua.backend.service;
+
+import com.Timbua.backend.model.Quote;
+import com.Timbua.backend.repository.SupplierRepository;
+import com.Timbua.backend.repository.SupplierScorecardRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SupplierScorecardServiceTest {
+
+    private SupplierScorecardRepository scorecardRepository;
+    private SupplierScorecardService scorecardService;
+
+    @BeforeEach
+    void setUp() {
+        scorecardRepository = mock(SupplierScorecardRepository.class);
+        scorecardService = new SupplierScorecardService(scorecardRepository, mock(SupplierRepository.class));
+        // supplier 1: 10 quotes, 5 accepted
+        when(scorecardRepository.findWinCounts()).thenReturn(List.<long[]>of(new long[] {1, 10, 5}));
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void winRateIsSmoothedTowardsThePrior() {
+        Map<Long, Double> rates = scorecardService.getWinRates(List.of(1L));
+
+        // (5 + 0.25 * 4) / (10 + 4)
+        assertEquals(6.0 / 14, rates.get(1L), 1e-9);
+    }
+
+    @Test
+    void supplierWithoutQuotesGetsThePrior() {
+        assertEquals(0.25, scorecardService.getWinRates(List.of(2L)).get(2L), 1e-9);
+    }
+
+    @Test
+    void acceptanceRaisesTheRate() {
+        scorecardService.getWinRates(List.of(1L));
+
+        inTransaction(() -> scorecardService.onQuoteStatusChanged(1L, Quote.Status.PENDING, Quote.Status.ACCEPTED));
+
+        // (6 + 1) / (10 + 4)
+        assertEquals(7.0 / 14, scorecardService.getWinRates(List.of(1L)).get(1L), 1e-9);
+    }
+
+    @Test
+    void commitAfterTheLoadIsAppliedInMemory() {
+        scorecardService.getWinRates(List.of(1L));
+
+        inTransaction(() -> scorecardService.onQuoteSubmitted(1L, null, LocalDateTime.now()));
+
+        // (5 + 1) / (11 + 4), without reading the table again
+        assertEquals(6.0 / 15, scorecardService.getWinRates(List.of(1L)).get(1L), 1e-9);
+        verify(scorecardRepository, times(1)).findWinCounts();
+    }
+
+    @Test
+    void commitBeforeTheFirstLoadIsLeftToTheLoad() {
+        inTransaction(() -> scorecardService.onQuoteSubmitted(1L, null, LocalDateTime.now()));
+
+        // The table already holds the quote, so the loaded counts are used as read
+        assertEquals(6.0 / 14, scorecardService.getWinRates(List.of(1L)).get(1L), 1e-9);
+    }
+
+    @Test
+    void commitOverlappingTheLoadReloadsTheCounts() {
+        TransactionSynchronizationManager.initSynchronization();
+        scorecardService.onQuoteSubmitted(1L, null, LocalDateTime.now());
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        // The load runs between the start and the end of the commit, so it may or may not see it
+        scorecardService.getWinRates(List.of(1L));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        scorecardService.getWinRates(List.of(1L));
+        verify(scorecardRepository, times(2)).findWinCounts();
+    }
+
+    @Test
+    void medianOfEmptyHistogramIsNull() {
+        assertNull(SupplierScorecardService.median(new long[SupplierScorecardService.HISTOGRAM_SIZE]));
+    }
+
+    @Test
+    void medianInterpolatesInsideFirstBucket() {
+        // Four samples in [0, 15): the middle one sits halfway through the bucket
+        assertEquals(7.5, SupplierScorecardService.median(histogram(0, 4)), 1e-9);
+    }
+
+    @Test
+    void medianInterpolatesInsideLaterBucket() {
+        // Two samples in [60, 120)
+        assertEquals(90.0, SupplierScorecardService.median(histogram(3, 2)), 1e-9);
+    }
+
+    @Test
+    void medianSkipsEmptyBuckets() {
+        // One sample in [0, 15), three in [240, 480): the middle of four is in the second group
+        assertEquals(240 + 240 * (1.0 / 3), SupplierScorecardService.median(histogram(0, 1, 5, 3)), 1e-9);
+    }
+
+    @Test
+    void medianInOpenEndedBucketIsItsLowerBound() {
+        assertEquals(10_080.0, SupplierScorecardService.median(histogram(SupplierScorecardService.HISTOGRAM_SIZE - 1, 3)), 1e-9);
+    }
+
+    // Runs the action in a simulated transaction and commits it
+    private static void inTransaction(Runnable action) {
+        TransactionSynchronizationManager.initSynchronization();
+        action.run();
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.beforeCommit(false));
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    // Histogram from (bucket, count) pairs
+    private static long[] histogram(int... bucketAndCount) {
+        long[] histogram = new long[SupplierScorecardService.HISTOGRAM_SIZE];
+        for (int i = 0; i < bucketAndCount.length; i += 2) {
+            histogram[bucketAndCount[i]] += bucketAndCount[i + 1];
+        }
+        return histogram;
+    }
+}
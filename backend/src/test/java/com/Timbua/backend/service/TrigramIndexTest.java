@@ -0,0 +1,104 @@
+package com.Timbua.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex(0.3);
+
+    @Test
+    void exactWordIsFound() {
+        index.put(1L, List.of(new TrigramIndex.Field("Kitengela Building Supplies", 1f)));
+
+        assertEquals(List.of(1L), ids(index.search("building")));
+    }
+
+    @Test
+    void misspeltWordMatchesBySharedTrigrams() {
+        index.put(1L, List.of(new TrigramIndex.Field("Kitengela Building Supplies", 1f)));
+        index.put(2L, List.of(new TrigramIndex.Field("Mombasa Hardware", 1f)));
+
+        List<TrigramIndex.Hit> hits = index.search("bulding");
+
+        assertEquals(List.of(1L), ids(hits));
+        assertTrue(hits.get(0).score() < 1);
+    }
+
+    @Test
+    void documentsMatchingMoreWordsRankFirst() {
+        index.put(1L, List.of(new TrigramIndex.Field("Cement Depot", 1f)));
+        index.put(2L, List.of(new TrigramIndex.Field("Cement and Steel Depot", 1f)));
+
+        List<TrigramIndex.Hit> hits = index.search("steel cement");
+
+        assertEquals(List.of(2L, 1L), ids(hits));
+        assertEquals(2, hits.get(0).matchedWords());
+    }
+
+    @Test
+    void primaryFieldOutranksSecondaryField() {
+        index.put(1L, List.of(new TrigramIndex.Field("Mombasa Hardware", 1f),
+                new TrigramIndex.Field("timber", 0.5f)));
+        index.put(2L, List.of(new TrigramIndex.Field("Timber Yard", 1f)));
+
+        assertEquals(List.of(2L, 1L), ids(index.search("timber")));
+    }
+
+    @Test
+    void reindexingReplacesTheOldWords() {
+        index.put(1L, List.of(new TrigramIndex.Field("Cement Depot", 1f)));
+        index.put(1L, List.of(new TrigramIndex.Field("Steel Yard", 1f)));
+
+        assertEquals(List.of(), index.search("cement"));
+        assertEquals(List.of(1L), ids(index.search("steel")));
+    }
+
+    @Test
+    void removedDocumentsAndTheirTermsAreGone() {
+        index.put(1L, List.of(new TrigramIndex.Field("Cement Depot", 1f)));
+        index.put(2L, List.of(new TrigramIndex.Field("Cement Works", 1f)));
+        index.remove(1L);
+
+        assertEquals(List.of(2L), ids(index.search("cement")));
+        assertEquals(List.of(), index.search("depot"));
+
+        index.remove(2L);
+        assertEquals(List.of(), index.search("cement"));
+    }
+
+    @Test
+    void clearEmptiesTheIndex() {
+        index.put(1L, List.of(new TrigramIndex.Field("Cement Depot", 1f)));
+        index.clear();
+
+        assertEquals(List.of(), index.search("cement"));
+    }
+
+    @Test
+    void blankQueryFindsNothing() {
+        index.put(1L, List.of(new TrigramIndex.Field("Cement Depot", 1f)));
+
+        assertEquals(List.of(), index.search("  "));
+        assertEquals(List.of(), index.search(null));
+    }
+
+    @Test
+    void wordsAreLowerCasedAndSplitOnPunctuation() {
+        assertEquals(List.of("ready", "mix", "c25"), TrigramIndex.words("Ready-Mix C25!"));
+    }
+
+    @Test
+    void trigramsArePaddedLikePgTrgm() {
+        assertEquals(Set.of("  a", " ab", "ab "), TrigramIndex.trigrams("ab"));
+    }
+
+    private static List<Long> ids(List<TrigramIndex.Hit> hits) {
+        return hits.stream().map(TrigramIndex.Hit::id).toList();
+    }
+}